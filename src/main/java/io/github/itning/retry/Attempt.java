@@ -83,4 +83,59 @@ public interface Attempt<V> {
      * @return the delay since the start of the first attempt, in milliseconds
      */
     long getDelaySinceFirstAttempt();
+
+    /**
+     * The reading of the retryer ticker, {@link System#nanoTime()} by default, taken when this
+     * attempt started. Only comparable with the other timestamps of the same call.
+     *
+     * @return the start time of this attempt, in nanoseconds, or 0 if unknown
+     * @since 3.1.0
+     */
+    default long getStartTimeNanos() {
+        return 0L;
+    }
+
+    /**
+     * The reading of the retryer ticker, {@link System#nanoTime()} by default, taken when this
+     * attempt ended. Only comparable with the other timestamps of the same call.
+     *
+     * @return the end time of this attempt, in nanoseconds, or 0 if unknown
+     * @since 3.1.0
+     */
+    default long getEndTimeNanos() {
+        return 0L;
+    }
+
+    /**
+     * The time this attempt itself took, excluding the time spent waiting before it.
+     *
+     * @return the duration of this attempt, in nanoseconds, or 0 if unknown
+     * @since 3.1.0
+     */
+    default long getAttemptDurationNanos() {
+        return getEndTimeNanos() - getStartTimeNanos();
+    }
+
+    /**
+     * The time spent between the previous attempts of the call, that is the time the retryer
+     * spent waiting and notifying the listeners before this attempt started.
+     *
+     * @return the time spent between the attempts preceding this one, in nanoseconds, or 0 if unknown
+     * @since 3.1.0
+     */
+    default long getCumulativeBackoffNanos() {
+        return 0L;
+    }
+
+    /**
+     * The time the retryer is going to sleep before the next attempt, as computed by the wait
+     * strategy. It is only known once the attempt has been rejected and the retryer decided to
+     * retry, i.e. from the {@link io.github.itning.retry.listener.RetryListener#onRetry listeners}.
+     *
+     * @return the time to sleep before the next attempt, in milliseconds, or -1 if there is no next attempt or it is unknown
+     * @since 3.1.0
+     */
+    default long getNextSleepTime() {
+        return -1L;
+    }
 }
@@ -0,0 +1,48 @@
+package io.github.itning.retry;
+
+import javax.annotation.Nullable;
+
+/**
+ * Describes the attempt about to be made, so that it can be tuned before it starts,
+ * for example by an {@link io.github.itning.retry.strategy.limit.AttemptTimeLimiter}.
+ * <p></p>
+ * A context is only valid during the attempt it was handed for and must not be retained.
+ *
+ * @param <V> The type returned by the wrapped callable.
+ * @author itning
+ * @since 3.1.0
+ */
+public interface AttemptContext<V> {
+
+    /**
+     * The number, starting from 1, of the attempt about to be made.
+     *
+     * @return the attempt number
+     */
+    long getAttemptNumber();
+
+    /**
+     * The delay since the start of the first attempt, in milliseconds.
+     *
+     * @return the delay since the start of the first attempt, in milliseconds
+     */
+    long getDelaySinceFirstAttempt();
+
+    /**
+     * The outcome of the previous attempt.
+     *
+     * @return the previous failed attempt, or <code>null</code> for the first attempt
+     */
+    @Nullable
+    Attempt<V> getPreviousAttempt();
+
+    /**
+     * The deadline of the whole call, which the attempt should not outlive.
+     *
+     * @return the deadline of the call, or <code>null</code> if the call has none
+     */
+    @Nullable
+    default Deadline getDeadline() {
+        return null;
+    }
+}
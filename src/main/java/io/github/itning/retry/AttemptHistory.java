@@ -0,0 +1,123 @@
+package io.github.itning.retry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The failed attempts of a single call, collapsed by fingerprint into a fixed number of entries.
+ * The entry of the first fingerprint, often the cause of the following failures, is pinned; when
+ * a new fingerprint shows up while all the entries are used, the oldest of the other entries is
+ * recycled, so that the memory used does not depend on the number of attempts. A history of a
+ * single entry only keeps the first fingerprint. Not thread-safe: a history
+ * is only used by the thread running the call.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class AttemptHistory {
+    /**
+     * The number of top stack frames taken into account in a fingerprint.
+     */
+    private static final int FINGERPRINT_FRAMES = 3;
+
+    private final Entry[] entries;
+    /**
+     * The oldest of the entries following the pinned first one.
+     */
+    private int oldest = 1;
+    private int size;
+
+    AttemptHistory(int capacity) {
+        this.entries = new Entry[capacity];
+    }
+
+    void record(Attempt<?> attempt) {
+        Class<?> type;
+        String messageTemplate;
+        StackTraceElement[] topFrames;
+        Throwable exception = null;
+        if (attempt.hasException()) {
+            exception = attempt.getExceptionCause();
+            type = exception.getClass();
+            messageTemplate = messageTemplate(exception.getMessage());
+            StackTraceElement[] stackTrace = exception.getStackTrace();
+            topFrames = Arrays.copyOf(stackTrace, Math.min(stackTrace.length, FINGERPRINT_FRAMES));
+        } else {
+            type = null;
+            Object result = attempt.getResult();
+            messageTemplate = result == null ? null : result.getClass().getName();
+            topFrames = null;
+        }
+
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries[i];
+            if (entry.type == type && Objects.equals(entry.messageTemplate, messageTemplate) && Arrays.equals(entry.topFrames, topFrames)) {
+                entry.lastAttemptNumber = attempt.getAttemptNumber();
+                entry.count++;
+                return;
+            }
+        }
+        Entry entry = new Entry(type, messageTemplate, topFrames, exception, attempt.getAttemptNumber());
+        if (size < entries.length) {
+            entries[size++] = entry;
+        } else if (entries.length > 1) {
+            entries[oldest] = entry;
+            oldest = oldest + 1 == entries.length ? 1 : oldest + 1;
+        }
+    }
+
+    /**
+     * @return the summaries, from the oldest fingerprint to the newest
+     */
+    List<AttemptSummary> toSummaries() {
+        List<AttemptSummary> summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Entry entry = i == 0 ? entries[0] : entries[1 + (oldest - 1 + i - 1) % (size - 1)];
+            summaries.add(new AttemptSummary(entry.type == null ? null : entry.type.getName(), entry.messageTemplate,
+                    entry.firstException, entry.firstAttemptNumber, entry.lastAttemptNumber, entry.count));
+        }
+        return Collections.unmodifiableList(summaries);
+    }
+
+    static String messageTemplate(String message) {
+        if (message == null) {
+            return null;
+        }
+        StringBuilder template = null;
+        boolean previousIsDigit = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            boolean isDigit = c >= '0' && c <= '9';
+            if (isDigit && template == null) {
+                template = new StringBuilder(message.length()).append(message, 0, i);
+            }
+            if (template != null && !(isDigit && previousIsDigit)) {
+                template.append(isDigit ? '#' : c);
+            }
+            previousIsDigit = isDigit;
+        }
+        return template == null ? message : template.toString();
+    }
+
+    private static final class Entry {
+        private final Class<?> type;
+        private final String messageTemplate;
+        private final StackTraceElement[] topFrames;
+        private final Throwable firstException;
+        private final long firstAttemptNumber;
+        private long lastAttemptNumber;
+        private long count = 1L;
+
+        Entry(Class<?> type, String messageTemplate, StackTraceElement[] topFrames, Throwable firstException, long attemptNumber) {
+            this.type = type;
+            this.messageTemplate = messageTemplate;
+            this.topFrames = topFrames;
+            this.firstException = firstException;
+            this.firstAttemptNumber = attemptNumber;
+            this.lastAttemptNumber = attemptNumber;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.itning.retry;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A summary of the failed attempts of a call sharing the same fingerprint: attempts which threw
+ * an exception of the same class, with the same message once digits are ignored, from the same
+ * top stack frames; or attempts which returned a rejected result of the same class.
+ *
+ * @author itning
+ * @see RetryerBuilder#withAttemptHistory(int)
+ * @see RetryException#getAttemptHistory()
+ * @since 3.1.0
+ */
+@Immutable
+public final class AttemptSummary {
+    private final String exceptionClassName;
+    private final String messageTemplate;
+    private final Throwable firstException;
+    private final long firstAttemptNumber;
+    private final long lastAttemptNumber;
+    private final long count;
+
+    AttemptSummary(String exceptionClassName, String messageTemplate, Throwable firstException,
+                   long firstAttemptNumber, long lastAttemptNumber, long count) {
+        this.exceptionClassName = exceptionClassName;
+        this.messageTemplate = messageTemplate;
+        this.firstException = firstException;
+        this.firstAttemptNumber = firstAttemptNumber;
+        this.lastAttemptNumber = lastAttemptNumber;
+        this.count = count;
+    }
+
+    /**
+     * @return the class name of the exception thrown by the attempts, or <code>null</code> if they returned a result
+     */
+    @Nullable
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+
+    /**
+     * @return the message of the exception with every run of digits replaced by <code>#</code>,
+     * or the class name of the rejected result, which is <code>null</code> for a <code>null</code> result
+     */
+    @Nullable
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    /**
+     * @return the exception thrown by the first attempt having this fingerprint, or <code>null</code> if they returned a result
+     */
+    @Nullable
+    public Throwable getFirstException() {
+        return firstException;
+    }
+
+    /**
+     * @return the number of the first attempt having this fingerprint
+     */
+    public long getFirstAttemptNumber() {
+        return firstAttemptNumber;
+    }
+
+    /**
+     * @return the number of the last attempt having this fingerprint
+     */
+    public long getLastAttemptNumber() {
+        return lastAttemptNumber;
+    }
+
+    /**
+     * @return the number of attempts having this fingerprint
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return (exceptionClassName != null ? exceptionClassName : "result") + ": " + messageTemplate
+                + " x" + count + " (attempts " + firstAttemptNumber + ".." + lastAttemptNumber + ")";
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.itning.retry;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An instant by which a whole {@link Retryer} call must be over, attempts and backoffs included.
+ * <p></p>
+ * While a call made with {@link Retryer#call(Callable, Deadline)} runs an attempt, its deadline
+ * is available to the callable through {@link #current()}, so it can be propagated downstream.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Returns a deadline expiring after the given duration from now.
+     *
+     * @param duration the time left before the deadline
+     * @param timeUnit the unit of the duration
+     * @return the deadline
+     */
+    public static Deadline after(long duration, @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "The time unit may not be null");
+        return new Deadline(System.nanoTime() + timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Returns the deadline of the retryer call whose attempt is running on this thread.
+     *
+     * @return the current deadline, or <code>null</code> if the attempt has none
+     */
+    @Nullable
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param timeUnit the unit of the result
+     * @return the time left before the deadline, negative once it expired
+     */
+    public long getRemaining(@Nonnull TimeUnit timeUnit) {
+        return timeUnit.convert(getRemainingNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the time left before the deadline in nanoseconds, negative once it expired
+     */
+    public long getRemainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * @return <code>true</code> if the deadline expired
+     */
+    public boolean isExpired() {
+        return getRemainingNanos() <= 0L;
+    }
+
+    /**
+     * Wraps the callable so that this deadline is {@link #current()} while it runs,
+     * on whichever thread runs it.
+     */
+    <V> Callable<V> bind(Callable<V> callable) {
+        return () -> {
+            Deadline previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return callable.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + getRemaining(TimeUnit.MILLISECONDS) + "ms}";
+    }
+}
@@ -18,6 +18,8 @@ package io.github.itning.retry;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -32,6 +34,7 @@ public final class RetryException extends Exception {
 
     private final int numberOfFailedAttempts;
     private final Attempt<?> lastFailedAttempt;
+    private final List<AttemptSummary> attemptHistory;
 
     /**
      * If the last {@link Attempt} had an Exception, ensure it is available in
@@ -41,7 +44,11 @@ public final class RetryException extends Exception {
      * @param lastFailedAttempt      what happened the last time we failed
      */
     public RetryException(int numberOfFailedAttempts, @Nonnull Attempt<?> lastFailedAttempt) {
-        this("Retrying failed to complete successfully after " + numberOfFailedAttempts + " attempts.", numberOfFailedAttempts, lastFailedAttempt);
+        this(numberOfFailedAttempts, lastFailedAttempt, Collections.emptyList());
+    }
+
+    RetryException(int numberOfFailedAttempts, Attempt<?> lastFailedAttempt, List<AttemptSummary> attemptHistory) {
+        this("Retrying failed to complete successfully after " + numberOfFailedAttempts + " attempts.", numberOfFailedAttempts, lastFailedAttempt, attemptHistory);
     }
 
     /**
@@ -53,9 +60,29 @@ public final class RetryException extends Exception {
      * @param lastFailedAttempt      what happened the last time we failed
      */
     public RetryException(String message, int numberOfFailedAttempts, Attempt<?> lastFailedAttempt) {
+        this(message, numberOfFailedAttempts, lastFailedAttempt, Collections.emptyList());
+    }
+
+    /**
+     * Besides the cause, the first exception of each other fingerprint of the history is added
+     * as a suppressed exception, so that it shows up in the stack trace.
+     *
+     * @param message                Exception description to be added to the stack trace
+     * @param numberOfFailedAttempts times we've tried and failed
+     * @param lastFailedAttempt      what happened the last time we failed
+     * @param attemptHistory         the summaries of the failed attempts
+     */
+    RetryException(String message, int numberOfFailedAttempts, Attempt<?> lastFailedAttempt, List<AttemptSummary> attemptHistory) {
         super(message, Objects.requireNonNull(lastFailedAttempt, "Last attempt was null").hasException() ? lastFailedAttempt.getExceptionCause() : null);
         this.numberOfFailedAttempts = numberOfFailedAttempts;
         this.lastFailedAttempt = lastFailedAttempt;
+        this.attemptHistory = attemptHistory;
+        for (AttemptSummary summary : attemptHistory) {
+            Throwable exception = summary.getFirstException();
+            if (exception != null && exception != getCause()) {
+                addSuppressed(exception);
+            }
+        }
     }
 
     /**
@@ -75,4 +102,17 @@ public final class RetryException extends Exception {
     public Attempt<?> getLastFailedAttempt() {
         return lastFailedAttempt;
     }
+
+    /**
+     * Returns the summaries of the failed attempts, one per distinct fingerprint, from the oldest
+     * to the newest. The history is only kept if the retryer was built with
+     * {@link RetryerBuilder#withAttemptHistory(int)}, and holds at most as many fingerprints as
+     * configured there, the oldest ones being dropped first.
+     *
+     * @return the summaries of the failed attempts, empty if no history was kept
+     * @since 3.1.0
+     */
+    public List<AttemptSummary> getAttemptHistory() {
+        return attemptHistory;
+    }
 }
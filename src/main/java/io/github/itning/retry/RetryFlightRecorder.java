@@ -0,0 +1,43 @@
+package io.github.itning.retry;
+
+/**
+ * Emits the Java Flight Recorder events of the calls made through a {@link Retryer}.
+ * <p></p>
+ * This is the Java 8 version, which does nothing: the <code>jdk.jfr</code> API only exists
+ * from Java 11 on, and the multi-release jar replaces this class with the one found under
+ * <code>src/main/java11</code> on those runtimes. Both must keep the same methods. The
+ * <code>begin</code> methods return an event handle, or <code>null</code> when the event
+ * is disabled, which the matching <code>end</code> method accepts.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class RetryFlightRecorder {
+
+    private RetryFlightRecorder() {
+    }
+
+    static Object beginCall() {
+        return null;
+    }
+
+    static void endCall(Object callEvent, String retryerName, long attempts, String outcome) {
+    }
+
+    static Object beginAttempt() {
+        return null;
+    }
+
+    static void endAttempt(Object attemptEvent, String retryerName, Attempt<?> attempt) {
+    }
+
+    static Object beginBackoff() {
+        return null;
+    }
+
+    static void endBackoff(Object backoffEvent, String retryerName, long attemptNumber, long sleepTime) {
+    }
+
+    static void giveUp(String retryerName, Attempt<?> lastAttempt, String reason) {
+    }
+}
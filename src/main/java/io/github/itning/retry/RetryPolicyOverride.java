@@ -0,0 +1,139 @@
+package io.github.itning.retry;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Runtime adjustments of the policy of a {@link Retryer}, applied on top of its stop and wait
+ * strategies: they can only make the retryer give up sooner, and scale or cap its sleep times.
+ * In particular the attempt and delay caps never replace the limits of the stop strategy: a cap
+ * higher than the limit of the stop strategy has no effect, and raising a limit requires
+ * rebuilding the retryer.
+ * A retryer reads its current override once when a call starts, so that a call runs under a
+ * single, consistent policy.
+ *
+ * @author itning
+ * @see Retryer#setPolicyOverride(RetryPolicyOverride)
+ * @since 3.1.0
+ */
+@Immutable
+public final class RetryPolicyOverride {
+    /**
+     * The override which changes nothing.
+     */
+    public static final RetryPolicyOverride NONE = new RetryPolicyOverride(0, 0L, 1.0d, 0L, false);
+
+    private final int attemptCap;
+    private final long delayCap;
+    private final double waitMultiplier;
+    private final long maxWait;
+    private final boolean retriesDisabled;
+
+    private RetryPolicyOverride(int attemptCap, long delayCap, double waitMultiplier, long maxWait, boolean retriesDisabled) {
+        this.attemptCap = attemptCap;
+        this.delayCap = delayCap;
+        this.waitMultiplier = waitMultiplier;
+        this.maxWait = maxWait;
+        this.retriesDisabled = retriesDisabled;
+    }
+
+    /**
+     * @param attemptCap the number of attempts after which a call gives up even if the stop strategy
+     *                   would retry, or 0 to leave it to the stop strategy
+     * @return a copy of this override with the given cap on the number of attempts
+     */
+    public RetryPolicyOverride withAttemptCap(int attemptCap) {
+        if (attemptCap < 0) {
+            throw new IllegalArgumentException("attemptCap must be >= 0 but is " + attemptCap);
+        }
+        return new RetryPolicyOverride(attemptCap, delayCap, waitMultiplier, maxWait, retriesDisabled);
+    }
+
+    /**
+     * @param delayCap the delay since the start of the first attempt after which a call gives up even
+     *                 if the stop strategy would retry, in milliseconds, or 0 to leave it to the stop strategy
+     * @return a copy of this override with the given cap on the delay
+     */
+    public RetryPolicyOverride withDelayCap(long delayCap) {
+        if (delayCap < 0L) {
+            throw new IllegalArgumentException("delayCap must be >= 0 but is " + delayCap);
+        }
+        return new RetryPolicyOverride(attemptCap, delayCap, waitMultiplier, maxWait, retriesDisabled);
+    }
+
+    /**
+     * @param waitMultiplier the factor the sleep times computed by the wait strategy are multiplied by
+     * @return a copy of this override with the given wait multiplier
+     */
+    public RetryPolicyOverride withWaitMultiplier(double waitMultiplier) {
+        if (!(waitMultiplier >= 0.0d) || Double.isInfinite(waitMultiplier)) {
+            throw new IllegalArgumentException("waitMultiplier must be >= 0 but is " + waitMultiplier);
+        }
+        return new RetryPolicyOverride(attemptCap, delayCap, waitMultiplier, maxWait, retriesDisabled);
+    }
+
+    /**
+     * @param maxWait the maximum sleep time between two attempts, in milliseconds, or 0 for no maximum
+     * @return a copy of this override with the given maximum sleep time
+     */
+    public RetryPolicyOverride withMaxWait(long maxWait) {
+        if (maxWait < 0L) {
+            throw new IllegalArgumentException("maxWait must be >= 0 but is " + maxWait);
+        }
+        return new RetryPolicyOverride(attemptCap, delayCap, waitMultiplier, maxWait, retriesDisabled);
+    }
+
+    /**
+     * @param retriesDisabled <code>true</code> to give up after the first rejected attempt of every call
+     * @return a copy of this override with retries enabled or disabled
+     */
+    public RetryPolicyOverride withRetriesDisabled(boolean retriesDisabled) {
+        return new RetryPolicyOverride(attemptCap, delayCap, waitMultiplier, maxWait, retriesDisabled);
+    }
+
+    public int getAttemptCap() {
+        return attemptCap;
+    }
+
+    public long getDelayCap() {
+        return delayCap;
+    }
+
+    public double getWaitMultiplier() {
+        return waitMultiplier;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public boolean isRetriesDisabled() {
+        return retriesDisabled;
+    }
+
+    /**
+     * Tells if the given rejected attempt must end its call, whatever the stop strategy says.
+     *
+     * @param failedAttempt the rejected attempt
+     * @return <code>true</code> if the call must give up
+     */
+    boolean shouldStop(Attempt<?> failedAttempt) {
+        return retriesDisabled
+                || (attemptCap != 0 && failedAttempt.getAttemptNumber() >= attemptCap)
+                || (delayCap != 0L && failedAttempt.getDelaySinceFirstAttempt() >= delayCap);
+    }
+
+    /**
+     * @param sleepTime the sleep time computed by the wait strategy, in milliseconds
+     * @return the sleep time scaled and capped by this override, in milliseconds
+     */
+    long adjustSleepTime(long sleepTime) {
+        long adjusted = waitMultiplier == 1.0d ? sleepTime : (long) (sleepTime * waitMultiplier);
+        return maxWait != 0L && adjusted > maxWait ? maxWait : adjusted;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicyOverride{attemptCap=" + attemptCap + ", delayCap=" + delayCap + ", waitMultiplier=" + waitMultiplier
+                + ", maxWait=" + maxWait + ", retriesDisabled=" + retriesDisabled + '}';
+    }
+}
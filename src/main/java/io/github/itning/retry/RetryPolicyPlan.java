@@ -0,0 +1,246 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.stop.StopStrategy;
+import io.github.itning.retry.strategy.wait.WaitStrategy;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinator;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The worst case of a retry policy: upper bounds of the number of attempts, of the time slept
+ * between them, and of the latency of a call whose every attempt fails.
+ * <p></p>
+ * The bounds are computed by enumerating the failing attempts against the stop strategy, in
+ * virtual time, along two paths. The number of attempts is bounded along the fastest path,
+ * where the attempts fail at once and the sleeps take the
+ * {@link WaitStrategy#computeMinimumSleepTime minimum sleep time} of the wait strategy. The
+ * latency is bounded along the slowest path, where every attempt runs for the attempt timeout,
+ * every sleep takes the {@link WaitStrategy#computeMaximumSleepTime maximum sleep time} plus
+ * the maximum deferral of the wake-up coordinator, and each retry happens at the latest delay
+ * the stop strategy still retries at, even if no single call could reach it. For instance, a
+ * policy stopping after a delay is bounded by that delay, plus the longest sleep, plus the
+ * attempt timeout.
+ * <p></p>
+ * The stop strategy is assumed to be monotonic: once it stops at an attempt number and a delay,
+ * it stops at any later attempt number or longer delay, as the strategies of
+ * {@link io.github.itning.retry.strategy.stop.StopStrategies} and their combinations do.
+ * A policy which does not stop within {@link #MAX_PLANNED_ATTEMPTS} attempts, or whose worst
+ * case latency exceeds a year, is reported as unbounded; so is a policy stopping after a delay
+ * without ever sleeping, whose attempts are only limited by how fast they fail. Strategies depending on the exception
+ * or the result of the attempts are evaluated against an attempt which threw an
+ * {@link Exception}.
+ *
+ * @author itning
+ * @see RetryerBuilder#plan(long, TimeUnit)
+ * @see RetryerBuilder#withLatencySlo(long, long, TimeUnit)
+ * @since 3.1.0
+ */
+@Immutable
+public final class RetryPolicyPlan {
+    /**
+     * The number of attempts beyond which a policy is considered unbounded.
+     */
+    public static final int MAX_PLANNED_ATTEMPTS = 1_000_000;
+
+    private static final long HORIZON_NANOS = TimeUnit.DAYS.toNanos(365L);
+    private static final Exception PLANNED_FAILURE = new Exception("planned failure", null, false, false) {
+    };
+
+    private final boolean bounded;
+    private final long attemptTimeoutMillis;
+    private final long worstCaseAttempts;
+    private final long worstCaseSleepMillis;
+    private final long worstCaseLatencyMillis;
+
+    private RetryPolicyPlan(boolean bounded, long attemptTimeoutMillis, long worstCaseAttempts, long worstCaseSleepMillis,
+                            long worstCaseLatencyMillis) {
+        this.bounded = bounded;
+        this.attemptTimeoutMillis = attemptTimeoutMillis;
+        this.worstCaseAttempts = worstCaseAttempts;
+        this.worstCaseSleepMillis = worstCaseSleepMillis;
+        this.worstCaseLatencyMillis = worstCaseLatencyMillis;
+    }
+
+    static RetryPolicyPlan of(StopStrategy stopStrategy, WaitStrategy waitStrategy, WakeUpCoordinator wakeUpCoordinator,
+                              long attemptTimeoutNanos) {
+        long attemptTimeoutMillis = TimeUnit.NANOSECONDS.toMillis(attemptTimeoutNanos);
+        long maximumDeferralNanos = TimeUnit.MILLISECONDS.toNanos(wakeUpCoordinator.getMaximumDeferral());
+        // the earliest and the latest end of the current attempt, and the sleeps before it along the fastest and the slowest paths
+        long earliestEnd = 0L;
+        long latestEnd = attemptTimeoutNanos;
+        long minimumSlept = 0L;
+        long maximumSlept = 0L;
+        long latency = latestEnd;
+        long retryDelay = -1L;
+        for (long attemptNumber = 1; attemptNumber <= MAX_PLANNED_ATTEMPTS && latestEnd <= HORIZON_NANOS; attemptNumber++) {
+            PlannedAttempt fastest = new PlannedAttempt(attemptNumber, earliestEnd, earliestEnd, minimumSlept);
+            if (stopStrategy.shouldStop(fastest)) {
+                return new RetryPolicyPlan(true, attemptTimeoutMillis, attemptNumber,
+                        ceilMillis(Math.min(maximumSlept, latency)), ceilMillis(latency));
+            }
+            retryDelay = latestRetryDelay(stopStrategy, attemptNumber, earliestEnd, latestEnd, maximumSlept, retryDelay);
+            PlannedAttempt slowest = new PlannedAttempt(attemptNumber, Math.max(0L, retryDelay - attemptTimeoutNanos), retryDelay, maximumSlept);
+            long minimumSleepTime = waitStrategy.computeMinimumSleepTime(fastest);
+            long maximumSleepTime = waitStrategy.computeMaximumSleepTime(slowest);
+            if (minimumSleepTime < 0L || maximumSleepTime < 0L || maximumSleepTime > TimeUnit.NANOSECONDS.toMillis(HORIZON_NANOS)) {
+                break;
+            }
+            long maximumSleepNanos = TimeUnit.MILLISECONDS.toNanos(maximumSleepTime) + maximumDeferralNanos;
+            minimumSlept += TimeUnit.MILLISECONDS.toNanos(minimumSleepTime);
+            maximumSlept += maximumSleepNanos;
+            earliestEnd += TimeUnit.MILLISECONDS.toNanos(minimumSleepTime);
+            latestEnd = retryDelay + maximumSleepNanos + attemptTimeoutNanos;
+            latency = Math.max(latency, latestEnd);
+        }
+        return new RetryPolicyPlan(false, attemptTimeoutMillis, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the latest end of the attempt, between its earliest and its latest end, at which
+     * the stop strategy retries, assumed to be monotonic in the delay
+     */
+    private static long latestRetryDelay(StopStrategy stopStrategy, long attemptNumber, long earliestEnd, long latestEnd,
+                                         long slept, long previous) {
+        if (!stopStrategy.shouldStop(new PlannedAttempt(attemptNumber, 0L, latestEnd, slept))) {
+            return latestEnd;
+        }
+        // the delay a delay-based stop strategy stops at does not change from an attempt to the next
+        if (previous >= earliestEnd && previous < latestEnd
+                && !stopStrategy.shouldStop(new PlannedAttempt(attemptNumber, 0L, previous, slept))
+                && stopStrategy.shouldStop(new PlannedAttempt(attemptNumber, 0L, previous + 1L, slept))) {
+            return previous;
+        }
+        long retried = earliestEnd;
+        long stopped = latestEnd;
+        while (stopped - retried > 1L) {
+            long middle = retried + (stopped - retried) / 2L;
+            if (stopStrategy.shouldStop(new PlannedAttempt(attemptNumber, 0L, middle, slept))) {
+                stopped = middle;
+            } else {
+                retried = middle;
+            }
+        }
+        return retried;
+    }
+
+    private static long ceilMillis(long nanos) {
+        return (nanos + 999_999L) / 1_000_000L;
+    }
+
+    /**
+     * @return <code>true</code> if the policy stops after a bounded number of attempts and time
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * @return the attempt timeout the plan assumes, in milliseconds
+     */
+    public long getAttemptTimeoutMillis() {
+        return attemptTimeoutMillis;
+    }
+
+    /**
+     * @return the maximum number of attempts of a call, or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long getWorstCaseAttempts() {
+        return worstCaseAttempts;
+    }
+
+    /**
+     * @return the maximum time a call sleeps between its attempts, in milliseconds, or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long getWorstCaseSleepMillis() {
+        return worstCaseSleepMillis;
+    }
+
+    /**
+     * @return the maximum latency of a call, in milliseconds, or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long getWorstCaseLatencyMillis() {
+        return worstCaseLatencyMillis;
+    }
+
+    @Override
+    public String toString() {
+        if (!bounded) {
+            return "RetryPolicyPlan{unbounded, attemptTimeoutMillis=" + attemptTimeoutMillis + '}';
+        }
+        return "RetryPolicyPlan{" +
+                "attemptTimeoutMillis=" + attemptTimeoutMillis +
+                ", worstCaseAttempts=" + worstCaseAttempts +
+                ", worstCaseSleepMillis=" + worstCaseSleepMillis +
+                ", worstCaseLatencyMillis=" + worstCaseLatencyMillis +
+                '}';
+    }
+
+    /**
+     * A failed attempt of the worst case, cheaper to create than the attempts of a call.
+     */
+    private static final class PlannedAttempt implements Attempt<Object> {
+        private final long attemptNumber;
+        private final long startTimeNanos;
+        private final long endTimeNanos;
+        private final long cumulativeBackoffNanos;
+
+        PlannedAttempt(long attemptNumber, long startTimeNanos, long endTimeNanos, long cumulativeBackoffNanos) {
+            this.attemptNumber = attemptNumber;
+            this.startTimeNanos = startTimeNanos;
+            this.endTimeNanos = endTimeNanos;
+            this.cumulativeBackoffNanos = cumulativeBackoffNanos;
+        }
+
+        @Override
+        public Object get() throws ExecutionException {
+            throw new ExecutionException(PLANNED_FAILURE);
+        }
+
+        @Override
+        public boolean hasResult() {
+            return false;
+        }
+
+        @Override
+        public boolean hasException() {
+            return true;
+        }
+
+        @Override
+        public Object getResult() throws IllegalStateException {
+            throw new IllegalStateException("The attempt resulted in an exception, not in a result");
+        }
+
+        @Override
+        public Throwable getExceptionCause() throws IllegalStateException {
+            return PLANNED_FAILURE;
+        }
+
+        @Override
+        public long getAttemptNumber() {
+            return attemptNumber;
+        }
+
+        @Override
+        public long getDelaySinceFirstAttempt() {
+            return TimeUnit.NANOSECONDS.toMillis(endTimeNanos);
+        }
+
+        @Override
+        public long getStartTimeNanos() {
+            return startTimeNanos;
+        }
+
+        @Override
+        public long getEndTimeNanos() {
+            return endTimeNanos;
+        }
+
+        @Override
+        public long getCumulativeBackoffNanos() {
+            return cumulativeBackoffNanos;
+        }
+    }
+}
@@ -16,18 +16,33 @@
 
 package io.github.itning.retry;
 
+import io.github.itning.retry.diagnostics.InFlightCall;
+import io.github.itning.retry.diagnostics.InFlightRegistry;
+import io.github.itning.retry.listener.RetryLifecycleListener;
 import io.github.itning.retry.listener.RetryListener;
 import io.github.itning.retry.strategy.block.BlockStrategies;
 import io.github.itning.retry.strategy.block.BlockStrategy;
 import io.github.itning.retry.strategy.limit.AttemptTimeLimiter;
 import io.github.itning.retry.strategy.limit.AttemptTimeLimiters;
+import io.github.itning.retry.strategy.limit.InterruptTimer;
 import io.github.itning.retry.strategy.stop.StopStrategy;
 import io.github.itning.retry.strategy.wait.WaitStrategy;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinator;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinators;
+import io.github.itning.retry.ticker.Ticker;
+import io.github.itning.retry.ticker.Tickers;
+import io.github.itning.retry.trace.RetrySpan;
+import io.github.itning.retry.trace.RetryTracer;
+import io.github.itning.retry.trace.RetryTracers;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -50,12 +65,25 @@ import java.util.function.Predicate;
  * @author Jason Dunkelberger (dirkraft)
  */
 public final class Retryer<V> {
+    private static final String COMPLETED = "completed";
+    private static final String GIVE_UP_STOP = "stop strategy";
+    private static final String GIVE_UP_DEADLINE = "deadline exceeded";
+    private static final String GIVE_UP_INTERRUPTED = "interrupted";
+    private static final String GIVE_UP_ABORTED = "aborted";
+
+    private final String name;
     private final StopStrategy stopStrategy;
     private final WaitStrategy waitStrategy;
     private final BlockStrategy blockStrategy;
     private final AttemptTimeLimiter<V> attemptTimeLimiter;
     private final Predicate<Attempt<V>> rejectionPredicate;
-    private final Collection<RetryListener<V>> listeners;
+    private volatile Listeners<V> listeners;
+    private volatile RetryPolicyOverride policyOverride = RetryPolicyOverride.NONE;
+    private final WakeUpCoordinator wakeUpCoordinator;
+    private final RetryTracer tracer;
+    private final InFlightRegistry inFlightRegistry;
+    private final Ticker ticker;
+    private final int attemptHistoryCapacity;
 
     /**
      * Constructor
@@ -127,26 +155,53 @@ public final class Retryer<V> {
                    @Nonnull BlockStrategy blockStrategy,
                    @Nonnull Predicate<Attempt<V>> rejectionPredicate,
                    @Nonnull Collection<RetryListener<V>> listeners) {
+        this(attemptTimeLimiter, stopStrategy, waitStrategy, blockStrategy, rejectionPredicate, listeners, WakeUpCoordinators.noCoordination(), 0, null, RetryTracers.noop(), null, Tickers.systemTicker());
+    }
+
+    Retryer(@Nonnull AttemptTimeLimiter<V> attemptTimeLimiter,
+            @Nonnull StopStrategy stopStrategy,
+            @Nonnull WaitStrategy waitStrategy,
+            @Nonnull BlockStrategy blockStrategy,
+            @Nonnull Predicate<Attempt<V>> rejectionPredicate,
+            @Nonnull Collection<RetryListener<V>> listeners,
+            @Nonnull WakeUpCoordinator wakeUpCoordinator,
+            int attemptHistoryCapacity,
+            @Nullable String name,
+            @Nonnull RetryTracer tracer,
+            @Nullable InFlightRegistry inFlightRegistry,
+            @Nonnull Ticker ticker) {
         Objects.requireNonNull(attemptTimeLimiter, "timeLimiter may not be null");
         Objects.requireNonNull(stopStrategy, "stopStrategy may not be null");
         Objects.requireNonNull(waitStrategy, "waitStrategy may not be null");
         Objects.requireNonNull(blockStrategy, "blockStrategy may not be null");
         Objects.requireNonNull(rejectionPredicate, "rejectionPredicate may not be null");
         Objects.requireNonNull(listeners, "listeners may not null");
+        Objects.requireNonNull(wakeUpCoordinator, "wakeUpCoordinator may not be null");
+        Objects.requireNonNull(tracer, "tracer may not be null");
+        Objects.requireNonNull(ticker, "ticker may not be null");
+        if (attemptHistoryCapacity < 0) {
+            throw new IllegalArgumentException("attemptHistoryCapacity must be >= 0 but is " + attemptHistoryCapacity);
+        }
 
         this.attemptTimeLimiter = attemptTimeLimiter;
         this.stopStrategy = stopStrategy;
         this.waitStrategy = waitStrategy;
         this.blockStrategy = blockStrategy;
         this.rejectionPredicate = rejectionPredicate;
-        this.listeners = listeners;
+        this.listeners = Listeners.of(listeners);
+        this.wakeUpCoordinator = wakeUpCoordinator;
+        this.attemptHistoryCapacity = attemptHistoryCapacity;
+        this.name = name;
+        this.tracer = tracer;
+        this.inFlightRegistry = inFlightRegistry;
+        this.ticker = ticker;
     }
 
     /**
      * Executes the given callable. If the rejection predicate
      * accepts the attempt, the stop strategy is used to decide if a new attempt
-     * must be made. Then the wait strategy is used to decide how much time to sleep
-     * and a new attempt is made.
+     * must be made. Then the wait strategy is used to decide how much time to sleep,
+     * the wake-up coordinator may defer that instant, and a new attempt is made.
      *
      * @param callable the callable task to be executed
      * @return the computed result of the given callable
@@ -158,38 +213,322 @@ public final class Retryer<V> {
      *                            this exception is thrown and the thread's interrupt status is set.
      */
     public V call(Callable<V> callable) throws ExecutionException, RetryException {
-        long startTime = System.nanoTime();
-        for (int attemptNumber = 1; ; attemptNumber++) {
-            Attempt<V> attempt;
-            try {
-                V result = attemptTimeLimiter.call(callable);
-                attempt = new ResultAttempt<>(result, attemptNumber, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
-            } catch (Throwable t) {
-                attempt = new ExceptionAttempt<>(t, attemptNumber, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
-            }
+        return doCall(callable, null, null);
+    }
 
-            if (!rejectionPredicate.test(attempt)) {
-                return attempt.get();
-            }
-            if (stopStrategy.shouldStop(attempt)) {
-                throw new RetryException(attemptNumber, attempt);
-            } else {
+    /**
+     * Executes the given callable like {@link #call(Callable)}, within an overall time budget.
+     *
+     * @param callable the callable task to be executed
+     * @param duration the time budget of the whole call, attempts and backoffs included
+     * @param timeUnit the unit of the duration
+     * @return the computed result of the given callable
+     * @throws ExecutionException if the given callable throws an exception, and the
+     *                            rejection predicate considers the attempt as successful. The original exception
+     *                            is wrapped into an ExecutionException.
+     * @throws RetryException     if all the attempts failed before the stop strategy decided
+     *                            to abort, the time budget was exhausted, or the thread was interrupted.
+     * @see #call(Callable, Deadline)
+     */
+    public V call(Callable<V> callable, long duration, @Nonnull TimeUnit timeUnit) throws ExecutionException, RetryException {
+        return call(callable, Deadline.after(duration, timeUnit));
+    }
 
-                for (RetryListener<V> listener : listeners) {
-                    listener.onRetry(attempt);
+    /**
+     * Executes the given callable like {@link #call(Callable)}, enforcing the deadline end-to-end:
+     * each attempt's time limit is clamped to the remaining time, a backoff which would end after
+     * the deadline gives up immediately, and an attempt still running when the deadline expires is
+     * interrupted. While an attempt runs, the deadline is available through {@link Deadline#current()}.
+     *
+     * @param callable the callable task to be executed
+     * @param deadline the instant by which the call must be over, or <code>null</code> for no deadline
+     * @return the computed result of the given callable
+     * @throws ExecutionException if the given callable throws an exception, and the
+     *                            rejection predicate considers the attempt as successful. The original exception
+     *                            is wrapped into an ExecutionException.
+     * @throws RetryException     if all the attempts failed before the stop strategy decided
+     *                            to abort, the deadline expired, or the thread was interrupted. Note that if the
+     *                            thread is interrupted, this exception is thrown and the thread's interrupt status is set.
+     */
+    public V call(Callable<V> callable, @Nullable Deadline deadline) throws ExecutionException, RetryException {
+        if (deadline == null) {
+            return doCall(callable, null, null);
+        }
+        InterruptTimer.Timeout deadlineTimeout = InterruptTimer.shared().schedule(Thread.currentThread(), deadline.getRemainingNanos(), TimeUnit.NANOSECONDS);
+        try {
+            return doCall(deadline.bind(callable), deadline, deadlineTimeout);
+        } finally {
+            deadlineTimeout.cancel();
+        }
+    }
+
+    private V doCall(Callable<V> callable, Deadline deadline, InterruptTimer.Timeout deadlineTimeout) throws ExecutionException, RetryException {
+        InFlightRegistry registry = inFlightRegistry;
+        if (registry == null) {
+            return doCall(callable, deadline, deadlineTimeout, null);
+        }
+        // the registry and its watchdog compare the progress of the calls with System.nanoTime(), not with the ticker
+        InFlightCall inFlightCall = registry.enter(name, System.nanoTime());
+        try {
+            return doCall(callable, deadline, deadlineTimeout, inFlightCall);
+        } finally {
+            registry.leave(inFlightCall);
+        }
+    }
+
+    private V doCall(Callable<V> callable, Deadline deadline, InterruptTimer.Timeout deadlineTimeout,
+                     InFlightCall inFlightCall) throws ExecutionException, RetryException {
+        Object callEvent = RetryFlightRecorder.beginCall();
+        RetrySpan callSpan = tracer.startCall(name);
+        Ticker ticker = this.ticker;
+        long startTime = ticker.read();
+        CallContext<V> context = new CallContext<>(ticker, startTime, deadline);
+        Listeners<V> listeners = this.listeners;
+        RetryPolicyOverride policyOverride = this.policyOverride;
+        RetryLifecycleListener<V>[] lifecycleListeners = listeners.lifecycle;
+        // what a strategy or a listener throwing leaves open, for abort to end it
+        AbstractAttempt<V> attempt = null;
+        RetrySpan openSpan = null;
+        Object backoffEvent = null;
+        long sleepTime = 0L;
+        boolean ended = false;
+        try {
+            for (RetryLifecycleListener<V> listener : lifecycleListeners) {
+                listener.onCallStart(startTime);
+            }
+            AttemptHistory history = attemptHistoryCapacity == 0 ? null : new AttemptHistory(attemptHistoryCapacity);
+            long cumulativeBackoff = 0L;
+            long previousAttemptEndTime = startTime;
+            for (int attemptNumber = 1; ; attemptNumber++) {
+                context.attemptNumber = attemptNumber;
+                long attemptStartTime = attemptNumber == 1 ? startTime : ticker.read();
+                cumulativeBackoff += attemptStartTime - previousAttemptEndTime;
+                for (RetryLifecycleListener<V> listener : lifecycleListeners) {
+                    listener.onAttemptStart(attemptNumber, attemptStartTime);
+                }
+                if (inFlightCall != null) {
+                    inFlightCall.attemptStarted(attemptNumber, System.nanoTime());
+                }
+                long attemptEndTime;
+                Object attemptEvent = RetryFlightRecorder.beginAttempt();
+                RetrySpan attemptSpan = callSpan.startAttempt(attemptNumber);
+                openSpan = attemptSpan;
+                try {
+                    V result = attemptTimeLimiter.call(callable, context);
+                    attemptEndTime = ticker.read();
+                    attempt = new ResultAttempt<>(result, attemptNumber, startTime, attemptStartTime, attemptEndTime, cumulativeBackoff);
+                } catch (Throwable t) {
+                    attemptEndTime = ticker.read();
+                    attempt = new ExceptionAttempt<>(t, attemptNumber, startTime, attemptStartTime, attemptEndTime, cumulativeBackoff);
+                }
+                previousAttemptEndTime = attemptEndTime;
+                RetryFlightRecorder.endAttempt(attemptEvent, name, attempt);
+                if (attempt.hasException()) {
+                    attemptSpan.setTag(RetrySpan.EXCEPTION_CLASS, attempt.getExceptionCause().getClass().getName());
+                }
+                for (RetryLifecycleListener<V> listener : lifecycleListeners) {
+                    listener.onAttemptEnd(attempt, attemptEndTime);
                 }
 
-                long sleepTime = waitStrategy.computeSleepTime(attempt);
+                context.previousAttempt = attempt;
+                boolean deadlineExpired = deadlineTimeout != null && (deadlineTimeout.hasFired() || deadline.getRemainingNanos() <= 0L);
+                boolean rejected = rejectionPredicate.test(attempt);
+                if (!rejected && !(deadlineExpired && attempt.hasException())) {
+                    attemptSpan.end();
+                    openSpan = null;
+                    ended = true;
+                    endCall(callEvent, callSpan, attemptNumber, COMPLETED);
+                    for (RetryLifecycleListener<V> listener : lifecycleListeners) {
+                        listener.onComplete(attempt, attemptEndTime);
+                    }
+                    return attempt.get();
+                }
+                attemptSpan.setTag(RetrySpan.REJECTION_REASON, !rejected ? GIVE_UP_DEADLINE : attempt.hasException() ? "exception" : "result");
+                attemptSpan.end();
+                openSpan = null;
+                if (history != null) {
+                    history.record(attempt);
+                }
+                if (deadlineExpired) {
+                    ended = true;
+                    giveUp(lifecycleListeners, callEvent, callSpan, attempt, attemptEndTime, GIVE_UP_DEADLINE);
+                    throw deadlineExceeded(attemptNumber, attempt, history);
+                }
+                if (stopStrategy.shouldStop(attempt) || policyOverride.shouldStop(attempt)) {
+                    ended = true;
+                    giveUp(lifecycleListeners, callEvent, callSpan, attempt, attemptEndTime, GIVE_UP_STOP);
+                    throw new RetryException(attemptNumber, attempt, summaries(history));
+                } else {
+                    sleepTime = wakeUpCoordinator.coordinate(policyOverride.adjustSleepTime(waitStrategy.computeSleepTime(attempt)));
+                    if (deadline != null && TimeUnit.MILLISECONDS.toNanos(sleepTime) >= deadline.getRemainingNanos()) {
+                        ended = true;
+                        giveUp(lifecycleListeners, callEvent, callSpan, attempt, attemptEndTime, GIVE_UP_DEADLINE);
+                        throw deadlineExceeded(attemptNumber, attempt, history);
+                    }
+                    attempt.nextSleepTime = sleepTime;
+
+                    for (RetryListener<V> listener : listeners.all) {
+                        listener.onRetry(attempt);
+                    }
+
+                    if (inFlightCall != null) {
+                        inFlightCall.backoffStarted(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sleepTime));
+                    }
+                    backoffEvent = RetryFlightRecorder.beginBackoff();
+                    RetrySpan backoffSpan = callSpan.startBackoff(attemptNumber, sleepTime);
+                    openSpan = backoffSpan;
+                    try {
+                        blockStrategy.block(sleepTime);
+                    } catch (InterruptedException e) {
+                        RetryFlightRecorder.endBackoff(backoffEvent, name, attemptNumber, sleepTime);
+                        backoffEvent = null;
+                        backoffSpan.end();
+                        openSpan = null;
+                        ended = true;
+                        if (deadlineTimeout != null && deadlineTimeout.hasFired()) {
+                            giveUp(lifecycleListeners, callEvent, callSpan, attempt, ticker.read(), GIVE_UP_DEADLINE);
+                            throw deadlineExceeded(attemptNumber, attempt, history);
+                        }
+                        Thread.currentThread().interrupt();
+                        long interruptedTime = ticker.read();
+                        RetryFlightRecorder.giveUp(name, attempt, GIVE_UP_INTERRUPTED);
+                        endCall(callEvent, callSpan, attemptNumber, GIVE_UP_INTERRUPTED);
+                        for (RetryLifecycleListener<V> listener : lifecycleListeners) {
+                            listener.onInterrupted(attempt, interruptedTime);
+                        }
+                        throw new RetryException(attemptNumber, attempt, summaries(history));
+                    }
+                    RetryFlightRecorder.endBackoff(backoffEvent, name, attemptNumber, sleepTime);
+                    backoffEvent = null;
+                    backoffSpan.end();
+                    openSpan = null;
+                }
+            }
+        } catch (Throwable t) {
+            if (!ended) {
                 try {
-                    blockStrategy.block(sleepTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RetryException(attemptNumber, attempt);
+                    abort(lifecycleListeners, callEvent, callSpan, openSpan, backoffEvent, attempt, sleepTime);
+                } catch (Throwable suppressed) {
+                    t.addSuppressed(suppressed);
                 }
             }
+            throw t;
         }
     }
 
+    /**
+     * Ends a call left by a strategy or a listener throwing: the open events and spans are ended,
+     * and the call gives up on its last attempt, if any.
+     */
+    private void abort(RetryLifecycleListener<V>[] lifecycleListeners, Object callEvent, RetrySpan callSpan, RetrySpan openSpan,
+                       Object backoffEvent, Attempt<V> lastAttempt, long sleepTime) {
+        long attempts = lastAttempt == null ? 0L : lastAttempt.getAttemptNumber();
+        if (backoffEvent != null) {
+            RetryFlightRecorder.endBackoff(backoffEvent, name, attempts, sleepTime);
+        }
+        if (openSpan != null) {
+            openSpan.end();
+        }
+        if (lastAttempt == null) {
+            endCall(callEvent, callSpan, 0L, GIVE_UP_ABORTED);
+        } else {
+            giveUp(lifecycleListeners, callEvent, callSpan, lastAttempt, ticker.read(), GIVE_UP_ABORTED);
+        }
+    }
+
+    /**
+     * Ends the events and the span of the call, then notifies the listeners, so that a listener
+     * throwing leaves nothing open.
+     */
+    private void giveUp(RetryLifecycleListener<V>[] lifecycleListeners, Object callEvent, RetrySpan callSpan,
+                        Attempt<V> lastAttempt, long endTime, String reason) {
+        RetryFlightRecorder.giveUp(name, lastAttempt, reason);
+        endCall(callEvent, callSpan, lastAttempt.getAttemptNumber(), reason);
+        for (RetryLifecycleListener<V> listener : lifecycleListeners) {
+            listener.onGiveUp(lastAttempt, endTime);
+        }
+    }
+
+    private void endCall(Object callEvent, RetrySpan callSpan, long attempts, String outcome) {
+        RetryFlightRecorder.endCall(callEvent, name, attempts, outcome);
+        callSpan.setTag(RetrySpan.ATTEMPT_NUMBER, attempts);
+        callSpan.setTag(RetrySpan.OUTCOME, outcome);
+        callSpan.end();
+    }
+
+    /**
+     * Returns the name of this retryer, which identifies it in the events it emits, such as
+     * the Java Flight Recorder events recorded on Java 11 and later.
+     *
+     * @return the name of this retryer, or <code>null</code> if it has none
+     * @see RetryerBuilder#withName(String)
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the runtime adjustments currently applied on top of the strategies of this retryer.
+     *
+     * @return the current policy override, {@link RetryPolicyOverride#NONE} unless one was set
+     */
+    public RetryPolicyOverride getPolicyOverride() {
+        return policyOverride;
+    }
+
+    /**
+     * Replaces the runtime adjustments applied on top of the strategies of this retryer. Calls
+     * which are already running keep the override they started with.
+     *
+     * @param policyOverride the new policy override
+     */
+    public void setPolicyOverride(@Nonnull RetryPolicyOverride policyOverride) {
+        this.policyOverride = Objects.requireNonNull(policyOverride, "policyOverride may not be null");
+    }
+
+    /**
+     * Registers a listener on this retryer. Calls which are already running keep notifying
+     * the listeners which were registered when they started.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addListener(@Nonnull RetryListener<V> listener) {
+        Objects.requireNonNull(listener, "listener may not be null");
+        RetryListener<V>[] all = listeners.all;
+        RetryListener<V>[] newAll = Arrays.copyOf(all, all.length + 1);
+        newAll[all.length] = listener;
+        listeners = Listeners.of(Arrays.asList(newAll));
+    }
+
+    /**
+     * Unregisters a listener from this retryer. Calls which are already running keep notifying
+     * the listeners which were registered when they started.
+     *
+     * @param listener the listener to remove
+     * @return <code>true</code> if the listener was registered on this retryer
+     */
+    public synchronized boolean removeListener(@Nullable RetryListener<V> listener) {
+        RetryListener<V>[] all = listeners.all;
+        for (int i = 0; i < all.length; i++) {
+            if (all[i] == listener) {
+                List<RetryListener<V>> newAll = new ArrayList<>(Arrays.asList(all));
+                newAll.remove(i);
+                listeners = Listeners.of(newAll);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static RetryException deadlineExceeded(int attemptNumber, Attempt<?> attempt, AttemptHistory history) {
+        return new RetryException("Deadline exceeded after " + attemptNumber + " attempts.", attemptNumber, attempt, summaries(history));
+    }
+
+    private static List<AttemptSummary> summaries(AttemptHistory history) {
+        return history == null ? Collections.emptyList() : history.toSummaries();
+    }
+
     /**
      * A call with no return value
      *
@@ -221,16 +560,68 @@ public final class Retryer<V> {
         return new RetryerCallable<>(this, callable);
     }
 
-    @Immutable
-    static final class ResultAttempt<R> implements Attempt<R> {
-        private final R result;
+    /**
+     * The timing data shared by both kinds of attempts. All of it is final but the next sleep
+     * time, which the retryer sets once, before notifying the listeners of the attempt.
+     */
+    abstract static class AbstractAttempt<R> implements Attempt<R> {
         private final long attemptNumber;
         private final long delaySinceFirstAttempt;
+        private final long startTimeNanos;
+        private final long endTimeNanos;
+        private final long cumulativeBackoffNanos;
+        long nextSleepTime = -1L;
 
-        public ResultAttempt(R result, long attemptNumber, long delaySinceFirstAttempt) {
-            this.result = result;
+        AbstractAttempt(long attemptNumber, long delaySinceFirstAttempt, long startTimeNanos, long endTimeNanos, long cumulativeBackoffNanos) {
             this.attemptNumber = attemptNumber;
             this.delaySinceFirstAttempt = delaySinceFirstAttempt;
+            this.startTimeNanos = startTimeNanos;
+            this.endTimeNanos = endTimeNanos;
+            this.cumulativeBackoffNanos = cumulativeBackoffNanos;
+        }
+
+        @Override
+        public long getAttemptNumber() {
+            return attemptNumber;
+        }
+
+        @Override
+        public long getDelaySinceFirstAttempt() {
+            return delaySinceFirstAttempt;
+        }
+
+        @Override
+        public long getStartTimeNanos() {
+            return startTimeNanos;
+        }
+
+        @Override
+        public long getEndTimeNanos() {
+            return endTimeNanos;
+        }
+
+        @Override
+        public long getCumulativeBackoffNanos() {
+            return cumulativeBackoffNanos;
+        }
+
+        @Override
+        public long getNextSleepTime() {
+            return nextSleepTime;
+        }
+    }
+
+    static final class ResultAttempt<R> extends AbstractAttempt<R> {
+        private final R result;
+
+        public ResultAttempt(R result, long attemptNumber, long delaySinceFirstAttempt) {
+            super(attemptNumber, delaySinceFirstAttempt, 0L, 0L, 0L);
+            this.result = result;
+        }
+
+        ResultAttempt(R result, long attemptNumber, long callStartTimeNanos, long startTimeNanos, long endTimeNanos, long cumulativeBackoffNanos) {
+            super(attemptNumber, TimeUnit.NANOSECONDS.toMillis(endTimeNanos - callStartTimeNanos), startTimeNanos, endTimeNanos, cumulativeBackoffNanos);
+            this.result = result;
         }
 
         @Override
@@ -257,28 +648,19 @@ public final class Retryer<V> {
         public Throwable getExceptionCause() throws IllegalStateException {
             throw new IllegalStateException("The attempt resulted in a result, not in an exception");
         }
-
-        @Override
-        public long getAttemptNumber() {
-            return attemptNumber;
-        }
-
-        @Override
-        public long getDelaySinceFirstAttempt() {
-            return delaySinceFirstAttempt;
-        }
     }
 
-    @Immutable
-    static final class ExceptionAttempt<R> implements Attempt<R> {
+    static final class ExceptionAttempt<R> extends AbstractAttempt<R> {
         private final ExecutionException e;
-        private final long attemptNumber;
-        private final long delaySinceFirstAttempt;
 
         public ExceptionAttempt(Throwable cause, long attemptNumber, long delaySinceFirstAttempt) {
+            super(attemptNumber, delaySinceFirstAttempt, 0L, 0L, 0L);
+            this.e = new ExecutionException(cause);
+        }
+
+        ExceptionAttempt(Throwable cause, long attemptNumber, long callStartTimeNanos, long startTimeNanos, long endTimeNanos, long cumulativeBackoffNanos) {
+            super(attemptNumber, TimeUnit.NANOSECONDS.toMillis(endTimeNanos - callStartTimeNanos), startTimeNanos, endTimeNanos, cumulativeBackoffNanos);
             this.e = new ExecutionException(cause);
-            this.attemptNumber = attemptNumber;
-            this.delaySinceFirstAttempt = delaySinceFirstAttempt;
         }
 
         @Override
@@ -305,6 +687,50 @@ public final class Retryer<V> {
         public Throwable getExceptionCause() throws IllegalStateException {
             return e.getCause();
         }
+    }
+
+    /**
+     * An immutable snapshot of the listeners of a retryer, replaced as a whole when a listener
+     * is added or removed, so that a call iterates over plain arrays without any locking.
+     */
+    @Immutable
+    private static final class Listeners<R> {
+        private final RetryListener<R>[] all;
+        private final RetryLifecycleListener<R>[] lifecycle;
+
+        private Listeners(RetryListener<R>[] all, RetryLifecycleListener<R>[] lifecycle) {
+            this.all = all;
+            this.lifecycle = lifecycle;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <R> Listeners<R> of(Collection<RetryListener<R>> listeners) {
+            RetryListener<R>[] all = listeners.toArray(new RetryListener[0]);
+            List<RetryLifecycleListener<R>> lifecycle = new ArrayList<>();
+            for (RetryListener<R> listener : all) {
+                if (listener instanceof RetryLifecycleListener) {
+                    lifecycle.add((RetryLifecycleListener<R>) listener);
+                }
+            }
+            return new Listeners<>(all, lifecycle.toArray(new RetryLifecycleListener[0]));
+        }
+    }
+
+    /**
+     * The {@link AttemptContext} of a call, updated in place before each attempt.
+     */
+    static final class CallContext<R> implements AttemptContext<R> {
+        private final Ticker ticker;
+        private final long startTime;
+        private final Deadline deadline;
+        private long attemptNumber;
+        private Attempt<R> previousAttempt;
+
+        CallContext(Ticker ticker, long startTime, Deadline deadline) {
+            this.ticker = ticker;
+            this.startTime = startTime;
+            this.deadline = deadline;
+        }
 
         @Override
         public long getAttemptNumber() {
@@ -313,7 +739,17 @@ public final class Retryer<V> {
 
         @Override
         public long getDelaySinceFirstAttempt() {
-            return delaySinceFirstAttempt;
+            return TimeUnit.NANOSECONDS.toMillis(ticker.read() - startTime);
+        }
+
+        @Override
+        public Attempt<R> getPreviousAttempt() {
+            return previousAttempt;
+        }
+
+        @Override
+        public Deadline getDeadline() {
+            return deadline;
         }
     }
 
@@ -16,6 +16,7 @@
 
 package io.github.itning.retry;
 
+import io.github.itning.retry.diagnostics.InFlightRegistry;
 import io.github.itning.retry.listener.RetryListener;
 import io.github.itning.retry.strategy.block.BlockStrategies;
 import io.github.itning.retry.strategy.block.BlockStrategy;
@@ -25,11 +26,18 @@ import io.github.itning.retry.strategy.stop.StopStrategies;
 import io.github.itning.retry.strategy.stop.StopStrategy;
 import io.github.itning.retry.strategy.wait.WaitStrategies;
 import io.github.itning.retry.strategy.wait.WaitStrategy;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinator;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinators;
+import io.github.itning.retry.ticker.Ticker;
+import io.github.itning.retry.ticker.Tickers;
+import io.github.itning.retry.trace.RetryTracer;
+import io.github.itning.retry.trace.RetryTracers;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
@@ -44,7 +52,16 @@ public class RetryerBuilder<V> {
     private StopStrategy stopStrategy;
     private WaitStrategy waitStrategy;
     private BlockStrategy blockStrategy;
+    private WakeUpCoordinator wakeUpCoordinator;
+    private int attemptHistoryCapacity;
+    private String name;
+    private RetryTracer tracer;
+    private InFlightRegistry inFlightRegistry;
+    private Ticker ticker;
+    private long latencySloNanos = -1L;
+    private long sloAttemptTimeoutNanos;
     private Predicate<Attempt<V>> rejectionPredicate = vAttempt -> false;
+    private Predicate<Attempt<V>> vetoPredicate;
     private final List<RetryListener<V>> listeners = new ArrayList<>();
 
     private RetryerBuilder() {
@@ -122,6 +139,125 @@ public class RetryerBuilder<V> {
         return this;
     }
 
+    /**
+     * Sets the coordinator used to desynchronize the wake-up instants of retryers sharing
+     * the same dependency. The coordinator operates on the sleep time computed by the wait
+     * strategy and may only defer it. The default is to not coordinate at all.
+     *
+     * @param wakeUpCoordinator the coordinator shared by the retryers calling the same dependency
+     * @return <code>this</code>
+     * @throws IllegalStateException if a wake-up coordinator has already been set.
+     */
+    public RetryerBuilder<V> withWakeUpCoordinator(@Nonnull WakeUpCoordinator wakeUpCoordinator) throws IllegalStateException {
+        Objects.requireNonNull(wakeUpCoordinator, "wakeUpCoordinator may not be null");
+        if (this.wakeUpCoordinator != null) {
+            throw new IllegalStateException("a wake-up coordinator has already been set " + this.wakeUpCoordinator);
+        }
+        this.wakeUpCoordinator = wakeUpCoordinator;
+        return this;
+    }
+
+    /**
+     * Sets the name of the retryer, which identifies it in the events it emits. On Java 11 and
+     * later, the retryer records the <code>io.github.itning.retry.RetryCall</code>,
+     * <code>RetryAttempt</code>, <code>RetryBackoff</code> and <code>RetryGiveUp</code>
+     * Java Flight Recorder events, which are disabled unless a recording enables them.
+     *
+     * @param name the name of the retryer
+     * @return <code>this</code>
+     * @throws IllegalStateException if a name has already been set.
+     */
+    public RetryerBuilder<V> withName(@Nonnull String name) throws IllegalStateException {
+        Objects.requireNonNull(name, "name may not be null");
+        if (this.name != null) {
+            throw new IllegalStateException("a name has already been set " + this.name);
+        }
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Sets the tracer the retryer opens a span with per call, and child spans with per attempt
+     * and per backoff. The default is to not trace at all.
+     *
+     * @param tracer the tracer bridging the retryer to a tracing library
+     * @return <code>this</code>
+     * @throws IllegalStateException if a tracer has already been set.
+     */
+    public RetryerBuilder<V> withTracer(@Nonnull RetryTracer tracer) throws IllegalStateException {
+        Objects.requireNonNull(tracer, "tracer may not be null");
+        if (this.tracer != null) {
+            throw new IllegalStateException("a tracer has already been set " + this.tracer);
+        }
+        this.tracer = tracer;
+        return this;
+    }
+
+    /**
+     * Sets the registry the retryer enters its calls in while they run, so that they can be
+     * inspected with {@link InFlightRegistry#snapshot()}. The default is to not register calls.
+     *
+     * @param inFlightRegistry the registry to enter the calls in, e.g. {@link InFlightRegistry#shared()}
+     * @return <code>this</code>
+     * @throws IllegalStateException if an in-flight registry has already been set.
+     */
+    public RetryerBuilder<V> withInFlightRegistry(@Nonnull InFlightRegistry inFlightRegistry) throws IllegalStateException {
+        Objects.requireNonNull(inFlightRegistry, "inFlightRegistry may not be null");
+        if (this.inFlightRegistry != null) {
+            throw new IllegalStateException("an in-flight registry has already been set " + this.inFlightRegistry);
+        }
+        this.inFlightRegistry = inFlightRegistry;
+        return this;
+    }
+
+    /**
+     * Sets the ticker the retryer measures time with: the timings of its attempts, the delay
+     * since the first attempt its stop strategy sees, and the timestamps passed to its
+     * listeners. The default is {@link Tickers#systemTicker()}.
+     * <p></p>
+     * A {@link io.github.itning.retry.ticker.ManualTicker} combined with
+     * {@link BlockStrategies#virtualTimeBlockStrategy} runs the retryer in virtual time, for
+     * tests and simulations. Deadlines, attempt time limiters and the tools comparing the
+     * in-flight calls with the current time keep measuring real time, so they should not be
+     * used with a virtual ticker.
+     *
+     * @param ticker the ticker to read the time from, e.g. {@link Tickers#cachedTicker}
+     * @return <code>this</code>
+     * @throws IllegalStateException if a ticker has already been set.
+     */
+    public RetryerBuilder<V> withTicker(@Nonnull Ticker ticker) throws IllegalStateException {
+        Objects.requireNonNull(ticker, "ticker may not be null");
+        if (this.ticker != null) {
+            throw new IllegalStateException("a ticker has already been set " + this.ticker);
+        }
+        this.ticker = ticker;
+        return this;
+    }
+
+    /**
+     * Configures the retryer to keep a history of the failed attempts of each call, available
+     * through {@link RetryException#getAttemptHistory()} when the call gives up. Attempts which
+     * threw the same exception (same class, same message once digits are ignored, same top
+     * stack frames) are collapsed into one summary with a count, and at most
+     * <code>capacity</code> summaries are kept: the first one, often the cause of the following
+     * failures, is always kept, and the oldest of the others is dropped first. No history is
+     * kept by default.
+     *
+     * @param capacity the maximum number of distinct summaries kept per call
+     * @return <code>this</code>
+     * @throws IllegalArgumentException if the capacity is &lt; 1
+     * @throws IllegalStateException    if an attempt history has already been set.
+     */
+    public RetryerBuilder<V> withAttemptHistory(int capacity) throws IllegalStateException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1 but is " + capacity);
+        }
+        if (attemptHistoryCapacity > 0) {
+            throw new IllegalStateException("an attempt history has already been set " + attemptHistoryCapacity);
+        }
+        this.attemptHistoryCapacity = capacity;
+        return this;
+    }
 
     /**
      * Configures the retryer to limit the duration of any particular attempt by the given duration.
@@ -196,18 +332,95 @@ public class RetryerBuilder<V> {
         return this;
     }
 
+    /**
+     * Prevents the retry of the attempts satisfying the given predicate, whatever the retry
+     * predicates, so that their failure is returned at once. Used by the
+     * {@link RetryerRegistry} to stop its retryers from retrying once it is closed.
+     *
+     * @param vetoPredicate the predicate which prevents a retry if satisfied
+     * @return <code>this</code>
+     */
+    RetryerBuilder<V> neverRetryIf(@Nonnull Predicate<Attempt<V>> vetoPredicate) {
+        Objects.requireNonNull(vetoPredicate, "vetoPredicate may not be null");
+        this.vetoPredicate = this.vetoPredicate == null ? vetoPredicate : this.vetoPredicate.or(vetoPredicate);
+        return this;
+    }
+
+    /**
+     * Makes {@link #build()} reject the policy if a call could take longer than the given
+     * latency objective, according to the {@link #plan worst case} of its stop and wait
+     * strategies. This catches unbounded policies such as never stopping while waiting
+     * exponentially longer.
+     *
+     * @param latencySlo     the maximum latency a call may take
+     * @param attemptTimeout the time a single attempt may take, as enforced by the attempt time limiter
+     * @param timeUnit       the unit of the latency objective and of the attempt timeout
+     * @return <code>this</code>
+     * @throws IllegalStateException if a latency objective has already been set.
+     */
+    public RetryerBuilder<V> withLatencySlo(long latencySlo, long attemptTimeout, @Nonnull TimeUnit timeUnit) throws IllegalStateException {
+        Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+        if (latencySlo < 0L) {
+            throw new IllegalArgumentException("latencySlo must be >= 0 but is " + latencySlo);
+        }
+        if (attemptTimeout < 0L) {
+            throw new IllegalArgumentException("attemptTimeout must be >= 0 but is " + attemptTimeout);
+        }
+        if (latencySloNanos >= 0L) {
+            throw new IllegalStateException("a latency objective has already been set " + TimeUnit.NANOSECONDS.toMillis(latencySloNanos) + "ms");
+        }
+        this.latencySloNanos = timeUnit.toNanos(latencySlo);
+        this.sloAttemptTimeoutNanos = timeUnit.toNanos(attemptTimeout);
+        return this;
+    }
+
+    /**
+     * Computes the worst case of the policy configured so far: how many attempts a call
+     * failing every attempt makes, how long it sleeps, and how long it takes.
+     *
+     * @param attemptTimeout the time a single attempt may take, as enforced by the attempt time limiter
+     * @param timeUnit       the unit of the attempt timeout
+     * @return the worst case of the policy
+     */
+    public RetryPolicyPlan plan(long attemptTimeout, @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+        if (attemptTimeout < 0L) {
+            throw new IllegalArgumentException("attemptTimeout must be >= 0 but is " + attemptTimeout);
+        }
+        return plan(timeUnit.toNanos(attemptTimeout));
+    }
+
+    private RetryPolicyPlan plan(long attemptTimeoutNanos) {
+        return RetryPolicyPlan.of(stopStrategy == null ? StopStrategies.neverStop() : stopStrategy,
+                waitStrategy == null ? WaitStrategies.noWait() : waitStrategy,
+                wakeUpCoordinator == null ? WakeUpCoordinators.noCoordination() : wakeUpCoordinator,
+                attemptTimeoutNanos);
+    }
+
     /**
      * Builds the retryer.
      *
      * @return the built retryer.
+     * @throws IllegalStateException if the worst case latency of the policy exceeds the latency objective set.
      */
     public Retryer<V> build() {
+        if (latencySloNanos >= 0L) {
+            RetryPolicyPlan plan = plan(sloAttemptTimeoutNanos);
+            if (plan.getWorstCaseLatencyMillis() > TimeUnit.NANOSECONDS.toMillis(latencySloNanos)) {
+                throw new IllegalStateException("the worst case latency of the policy exceeds the latency objective of "
+                        + TimeUnit.NANOSECONDS.toMillis(latencySloNanos) + "ms: " + plan);
+            }
+        }
         AttemptTimeLimiter<V> theAttemptTimeLimiter = attemptTimeLimiter == null ? AttemptTimeLimiters.noTimeLimit() : attemptTimeLimiter;
         StopStrategy theStopStrategy = stopStrategy == null ? StopStrategies.neverStop() : stopStrategy;
         WaitStrategy theWaitStrategy = waitStrategy == null ? WaitStrategies.noWait() : waitStrategy;
         BlockStrategy theBlockStrategy = blockStrategy == null ? BlockStrategies.threadSleepStrategy() : blockStrategy;
+        WakeUpCoordinator theWakeUpCoordinator = wakeUpCoordinator == null ? WakeUpCoordinators.noCoordination() : wakeUpCoordinator;
+        RetryTracer theTracer = tracer == null ? RetryTracers.noop() : tracer;
+        Ticker theTicker = ticker == null ? Tickers.systemTicker() : ticker;
+        Predicate<Attempt<V>> theRejectionPredicate = vetoPredicate == null ? rejectionPredicate : rejectionPredicate.and(vetoPredicate.negate());
 
-        return new Retryer<>(theAttemptTimeLimiter, theStopStrategy, theWaitStrategy, theBlockStrategy, rejectionPredicate, listeners);
+        return new Retryer<>(theAttemptTimeLimiter, theStopStrategy, theWaitStrategy, theBlockStrategy, theRejectionPredicate, listeners, theWakeUpCoordinator, attemptHistoryCapacity, name, theTracer, inFlightRegistry, theTicker);
     }
 
     private static final class ExceptionClassPredicate<V> implements Predicate<Attempt<V>> {
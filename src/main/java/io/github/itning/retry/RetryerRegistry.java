@@ -0,0 +1,362 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.diagnostics.InFlightRegistry;
+import io.github.itning.retry.spec.RetrySpec;
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiter;
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiters;
+import io.github.itning.retry.strategy.limit.InterruptTimer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Creates and caches named retryers from shared defaults, so that a service with many retryers
+ * configures them in one place and shares the threads they need instead of creating its own
+ * for each of them.
+ * <p>
+ * The registry owns an {@link InterruptTimer}, which enforces the attempt timeouts of the
+ * {@link RetrySpec specs}, and an executor for the time limiters running attempts on another
+ * thread, both backed by daemon threads created on first use. Every retryer enters its calls in
+ * the same {@link InFlightRegistry}, and {@link #getRetryers()} enumerates them for metrics.
+ * <p>
+ * A retryer is built the first time its name is asked for, from the spec configured for that
+ * name or else from the default spec, then from the defaults and from the customizer given
+ * with that first request. Later requests return the same retryer. The type of a retryer is
+ * not checked: a name must always be used with the same type.
+ * <p>
+ * Once the registry is closed, its timer and executor reject the attempts, and the retryers
+ * fail with the {@link RejectedExecutionException} at once instead of retrying it.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class RetryerRegistry implements AutoCloseable {
+    /**
+     * The spec of the retryers which have none of their own, unless another default spec is
+     * set: a few attempts, spaced out so that they do not hammer a failing dependency.
+     */
+    public static final String DEFAULT_SPEC = "attempts=3,wait=fixed(100ms)";
+
+    private final RetrySpec defaultSpec;
+    private final Map<String, RetrySpec> specs;
+    private final Consumer<RetryerBuilder<?>> defaults;
+    private final InFlightRegistry inFlightRegistry;
+    private final ScheduledThreadPoolExecutor timerExecutor;
+    private final InterruptTimer interruptTimer;
+    private final ThreadPoolExecutor attemptExecutor;
+    private final ConcurrentMap<String, Retryer<?>> retryers = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private RetryerRegistry(Builder builder) {
+        this.defaultSpec = builder.defaultSpec;
+        this.specs = Collections.unmodifiableMap(new HashMap<>(builder.specs));
+        this.defaults = builder.defaults;
+        this.inFlightRegistry = builder.inFlightRegistry == null ? new InFlightRegistry() : builder.inFlightRegistry;
+        this.timerExecutor = new ScheduledThreadPoolExecutor(builder.timerThreads, threadFactory("guava-retrying-registry-timer-"));
+        this.timerExecutor.setRemoveOnCancelPolicy(true);
+        this.interruptTimer = new InterruptTimer(timerExecutor);
+        int queueCapacity = builder.attemptQueueCapacity < 0 ? builder.attemptThreads : builder.attemptQueueCapacity;
+        this.attemptExecutor = new ThreadPoolExecutor(builder.attemptThreads, builder.attemptThreads, 60L, TimeUnit.SECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory("guava-retrying-registry-attempt-"));
+        this.attemptExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the retryer of the given name, building it the first time.
+     *
+     * @param name the name of the retryer
+     * @param <V>  the type returned by the retryer callable
+     * @return the retryer of the given name
+     * @throws IllegalStateException if the registry is closed, or if the worst case of the spec exceeds its latency objective
+     */
+    public <V> Retryer<V> retryer(@Nonnull String name) {
+        return retryer(name, builder -> {
+        });
+    }
+
+    /**
+     * Returns the retryer of the given name, building it the first time with the given customizer.
+     * The customizer is applied after the defaults, and is ignored if the retryer already exists.
+     * It must not use the registry.
+     *
+     * @param name       the name of the retryer
+     * @param customizer applied to the builder of the retryer if it does not exist yet
+     * @param <V>        the type returned by the retryer callable
+     * @return the retryer of the given name
+     * @throws IllegalStateException if the registry is closed, or if the worst case of the spec exceeds its latency objective
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Retryer<V> retryer(@Nonnull String name, @Nonnull Consumer<RetryerBuilder<V>> customizer) {
+        Objects.requireNonNull(name, "name may not be null");
+        Objects.requireNonNull(customizer, "customizer may not be null");
+        Retryer<?> retryer = retryers.get(name);
+        if (retryer == null) {
+            checkOpen();
+            retryer = retryers.computeIfAbsent(name, key -> build(key, customizer));
+        }
+        return (Retryer<V>) retryer;
+    }
+
+    private <V> Retryer<V> build(String name, Consumer<RetryerBuilder<V>> customizer) {
+        RetrySpec spec = specs.getOrDefault(name, defaultSpec);
+        RetryerBuilder<V> builder = spec.toBuilder(interruptTimer);
+        if (spec.getName() == null) {
+            builder.withName(name);
+        }
+        builder.withInFlightRegistry(inFlightRegistry);
+        builder.neverRetryIf(attempt -> closed && attempt.hasException() && attempt.getExceptionCause() instanceof RejectedExecutionException);
+        defaults.accept(builder);
+        customizer.accept(builder);
+        return builder.build();
+    }
+
+    /**
+     * @return the retryers built so far, by name, in the order of their names
+     */
+    public Map<String, Retryer<?>> getRetryers() {
+        return Collections.unmodifiableMap(new TreeMap<>(retryers));
+    }
+
+    /**
+     * Creates a time limiter running each attempt on the calling thread, interrupted by the timer of the registry.
+     *
+     * @param duration that an attempt may persist before being interrupted
+     * @param timeUnit of the duration
+     * @param <V>      the type of the computation result
+     * @return an {@link AttemptTimeLimiter} with a fixed time limit for each attempt
+     */
+    public <V> AttemptTimeLimiter<V> sameThreadTimeLimit(long duration, @Nonnull TimeUnit timeUnit) {
+        return AttemptTimeLimiters.sameThreadTimeLimit(duration, timeUnit, interruptTimer);
+    }
+
+    /**
+     * Creates a time limiter running each attempt on the executor of the registry. The time an
+     * attempt waits for a thread counts in its time limit. The executor is shared by all the
+     * retryers and its queue is bounded: once all the attempt threads are busy and the queue is
+     * full, an attempt fails at once with a {@link RejectedExecutionException} instead of waiting
+     * for a thread, so that a slow dependency holding the threads does not make the attempts of
+     * the other retryers time out in the queue.
+     *
+     * @param duration that an attempt may persist before being interrupted
+     * @param timeUnit of the duration
+     * @param <V>      the type of the computation result
+     * @return an {@link AttemptTimeLimiter} with a fixed time limit for each attempt
+     */
+    public <V> AttemptTimeLimiter<V> fixedTimeLimit(long duration, @Nonnull TimeUnit timeUnit) {
+        return AttemptTimeLimiters.fixedTimeLimit(duration, timeUnit, attemptExecutor);
+    }
+
+    /**
+     * @return the timer enforcing the attempt timeouts of the retryers
+     */
+    public InterruptTimer getInterruptTimer() {
+        return interruptTimer;
+    }
+
+    /**
+     * @return the executor running the attempts of the time limiters created by {@link #fixedTimeLimit}
+     */
+    public ExecutorService getAttemptExecutor() {
+        return attemptExecutor;
+    }
+
+    /**
+     * @return the registry all the retryers enter their calls in
+     */
+    public InFlightRegistry getInFlightRegistry() {
+        return inFlightRegistry;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the registry: no retryer can be built any more, and the timer and the executor
+     * stop accepting work once the tasks already submitted are over. The retryers must not be
+     * used any more: an attempt they cannot time fails the call without being retried.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        attemptExecutor.shutdown();
+        timerExecutor.shutdown();
+    }
+
+    /**
+     * Waits for the tasks submitted before {@link #close()} to be over.
+     *
+     * @param timeout  the maximum time to wait
+     * @param timeUnit the unit of the timeout
+     * @return <code>true</code> if the threads of the registry terminated, <code>false</code> if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, @Nonnull TimeUnit timeUnit) throws InterruptedException {
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        return attemptExecutor.awaitTermination(timeout, timeUnit)
+                && timerExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("the registry is closed");
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static final class Builder {
+        private RetrySpec defaultSpec = RetrySpec.parse(DEFAULT_SPEC);
+        private final Map<String, RetrySpec> specs = new HashMap<>();
+        private Consumer<RetryerBuilder<?>> defaults = builder -> {
+        };
+        private InFlightRegistry inFlightRegistry;
+        private int timerThreads = 1;
+        private int attemptThreads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        private int attemptQueueCapacity = -1;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the spec of the retryers which have none of their own. It may not name a retryer.
+         * Defaults to {@value RetryerRegistry#DEFAULT_SPEC}.
+         *
+         * @param spec the default spec
+         * @return <code>this</code>
+         * @throws IllegalArgumentException if the spec is invalid or names a retryer
+         */
+        public Builder withDefaultSpec(@Nonnull String spec) {
+            RetrySpec parsed = RetrySpec.parse(spec);
+            if (parsed.getName() != null) {
+                throw new IllegalArgumentException("the default spec may not name a retryer but names " + parsed.getName());
+            }
+            this.defaultSpec = parsed;
+            return this;
+        }
+
+        /**
+         * Sets the spec of the retryer of the given name, in place of the default spec.
+         *
+         * @param name the name of the retryer
+         * @param spec its spec, which may only name the same retryer
+         * @return <code>this</code>
+         * @throws IllegalArgumentException if the spec is invalid or names another retryer
+         */
+        public Builder withSpec(@Nonnull String name, @Nonnull String spec) {
+            Objects.requireNonNull(name, "name may not be null");
+            RetrySpec parsed = RetrySpec.parse(spec);
+            if (parsed.getName() != null && !parsed.getName().equals(name)) {
+                throw new IllegalArgumentException("the spec of " + name + " may not name another retryer but names " + parsed.getName());
+            }
+            specs.put(name, parsed);
+            return this;
+        }
+
+        /**
+         * Sets the settings applied to every retryer after its spec, such as a shared tracer or
+         * wake-up coordinator. They may not set the name nor the in-flight registry.
+         *
+         * @param defaults applied to the builder of every retryer
+         * @return <code>this</code>
+         */
+        public Builder withDefaults(@Nonnull Consumer<RetryerBuilder<?>> defaults) {
+            this.defaults = Objects.requireNonNull(defaults, "defaults may not be null");
+            return this;
+        }
+
+        /**
+         * Sets the registry the retryers enter their calls in. Defaults to a registry of its own.
+         *
+         * @param inFlightRegistry the in-flight registry
+         * @return <code>this</code>
+         */
+        public Builder withInFlightRegistry(@Nonnull InFlightRegistry inFlightRegistry) {
+            this.inFlightRegistry = Objects.requireNonNull(inFlightRegistry, "inFlightRegistry may not be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of threads firing the attempt timeouts. Defaults to 1, which is enough
+         * unless thousands of timeouts expire every second.
+         *
+         * @param timerThreads the number of timer threads
+         * @return <code>this</code>
+         */
+        public Builder withTimerThreads(int timerThreads) {
+            if (timerThreads <= 0) {
+                throw new IllegalArgumentException("timerThreads must be > 0 but is " + timerThreads);
+            }
+            this.timerThreads = timerThreads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of threads running attempts for the time limiters created by
+         * {@link RetryerRegistry#fixedTimeLimit}. Idle threads stop after a minute. Defaults to twice the number
+         * of processors, and at least 4.
+         *
+         * @param attemptThreads the maximum number of attempt threads
+         * @return <code>this</code>
+         */
+        public Builder withAttemptThreads(int attemptThreads) {
+            if (attemptThreads <= 0) {
+                throw new IllegalArgumentException("attemptThreads must be > 0 but is " + attemptThreads);
+            }
+            this.attemptThreads = attemptThreads;
+            return this;
+        }
+
+        /**
+         * Sets the number of attempts of the time limiters created by {@link RetryerRegistry#fixedTimeLimit}
+         * which may wait for an attempt thread; further attempts are rejected. Defaults to the number
+         * of attempt threads. The threads and the queue should be sized for the concurrent attempts
+         * of all the retryers using these time limiters: an attempt may wait in the queue for as long
+         * as the attempts ahead of it, which counts in its own time limit.
+         *
+         * @param attemptQueueCapacity the capacity of the queue, 0 to reject the attempts as soon as all the threads are busy
+         * @return <code>this</code>
+         */
+        public Builder withAttemptQueueCapacity(int attemptQueueCapacity) {
+            if (attemptQueueCapacity < 0) {
+                throw new IllegalArgumentException("attemptQueueCapacity must be >= 0 but is " + attemptQueueCapacity);
+            }
+            this.attemptQueueCapacity = attemptQueueCapacity;
+            return this;
+        }
+
+        public RetryerRegistry build() {
+            return new RetryerRegistry(this);
+        }
+    }
+}
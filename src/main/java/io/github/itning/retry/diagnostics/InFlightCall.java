@@ -0,0 +1,105 @@
+package io.github.itning.retry.diagnostics;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A call running through a {@link io.github.itning.retry.Retryer}, entered in an
+ * {@link InFlightRegistry} for as long as it runs. The retryer running the call records its
+ * progress with plain volatile writes; any thread may read it.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class InFlightCall {
+    final InFlightRegistry.Stripe stripe;
+    InFlightCall previous;
+    InFlightCall next;
+
+    private final String retryerName;
+    private final Thread thread;
+    private final long startNanos;
+    private volatile long attemptNumber;
+    private volatile long attemptStartNanos;
+    private volatile long wakeUpNanos;
+    private volatile boolean backingOff;
+    /**
+     * The attempt the watchdog last reported as stuck, only accessed by the watchdog thread.
+     */
+    long reportedAttemptNumber;
+
+    InFlightCall(InFlightRegistry.Stripe stripe, String retryerName, Thread thread, long startNanos) {
+        this.stripe = stripe;
+        this.retryerName = retryerName;
+        this.thread = thread;
+        this.startNanos = startNanos;
+        this.attemptStartNanos = startNanos;
+    }
+
+    /**
+     * Records that an attempt starts.
+     *
+     * @param attemptNumber the number of the attempt, starting from 1
+     * @param startNanos    the {@link System#nanoTime()} the attempt starts at
+     */
+    public void attemptStarted(long attemptNumber, long startNanos) {
+        this.backingOff = false;
+        this.attemptStartNanos = startNanos;
+        this.attemptNumber = attemptNumber;
+    }
+
+    /**
+     * Records that the retryer blocks until the next attempt.
+     *
+     * @param wakeUpNanos the {@link System#nanoTime()} the retryer expects to wake up at
+     */
+    public void backoffStarted(long wakeUpNanos) {
+        this.wakeUpNanos = wakeUpNanos;
+        this.backingOff = true;
+    }
+
+    @Nullable
+    public String getRetryerName() {
+        return retryerName;
+    }
+
+    /**
+     * @return the thread running the call
+     */
+    public Thread getThread() {
+        return thread;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return the number of the current attempt, or of the last one if the call is backing off, 0 before the first attempt
+     */
+    public long getAttemptNumber() {
+        return attemptNumber;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the current or last attempt started at
+     */
+    public long getAttemptStartNanos() {
+        return attemptStartNanos;
+    }
+
+    /**
+     * @return <code>true</code> if the call is blocking between two attempts
+     */
+    public boolean isBackingOff() {
+        return backingOff;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the call expects to wake up at, only meaningful while it {@link #isBackingOff() backs off}
+     */
+    public long getWakeUpNanos() {
+        return wakeUpNanos;
+    }
+}
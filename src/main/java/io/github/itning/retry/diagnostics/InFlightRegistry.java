@@ -0,0 +1,162 @@
+package io.github.itning.retry.diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A registry of the calls currently running through the retryers built with it, to find out
+ * during an incident how many calls are backing off on which retryer, on which attempt and
+ * until when.
+ * <p></p>
+ * Calls are kept in intrusive doubly linked lists, striped by thread so that concurrent calls
+ * rarely contend: entering and leaving a call is a short critical section on the stripe of the
+ * calling thread, and updating its progress is a volatile write. A retryer built without a
+ * registry does not pay anything.
+ *
+ * @author itning
+ * @see io.github.itning.retry.RetryerBuilder#withInFlightRegistry(InFlightRegistry)
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class InFlightRegistry {
+    private static final InFlightRegistry SHARED = new InFlightRegistry();
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    /**
+     * Creates a registry with a stripe per available processor, rounded up to a power of two.
+     */
+    public InFlightRegistry() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param stripes the number of stripes, rounded up to a power of two
+     */
+    public InFlightRegistry(int stripes) {
+        if (stripes < 1 || stripes > (1 << 16)) {
+            throw new IllegalArgumentException("stripes must be in [1, 65536] but is " + stripes);
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the registry shared by the whole JVM
+     */
+    public static InFlightRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Enters a call started by the current thread.
+     *
+     * @param retryerName the name of the retryer running the call
+     * @param startNanos  the {@link System#nanoTime()} the call started at
+     * @return the entered call, to {@link #leave} once it ends
+     */
+    public InFlightCall enter(@Nullable String retryerName, long startNanos) {
+        Thread thread = Thread.currentThread();
+        long id = thread.getId();
+        Stripe stripe = stripes[(int) (id ^ (id >>> 16)) & mask];
+        InFlightCall call = new InFlightCall(stripe, retryerName, thread, startNanos);
+        synchronized (stripe) {
+            call.next = stripe.head;
+            if (stripe.head != null) {
+                stripe.head.previous = call;
+            }
+            stripe.head = call;
+        }
+        return call;
+    }
+
+    /**
+     * Leaves a call, once it has ended.
+     *
+     * @param call a call entered in this registry
+     */
+    public void leave(@Nonnull InFlightCall call) {
+        Stripe stripe = call.stripe;
+        synchronized (stripe) {
+            if (call.previous != null) {
+                call.previous.next = call.next;
+            } else if (stripe.head == call) {
+                stripe.head = call.next;
+            }
+            if (call.next != null) {
+                call.next.previous = call.previous;
+            }
+            call.previous = null;
+            call.next = null;
+        }
+    }
+
+    /**
+     * @return the calls currently in flight
+     */
+    public List<InFlightCall> getCalls() {
+        List<InFlightCall> calls = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (InFlightCall call = stripe.head; call != null; call = call.next) {
+                    calls.add(call);
+                }
+            }
+        }
+        return calls;
+    }
+
+    /**
+     * Summarizes the calls in flight, grouped by retryer name.
+     *
+     * @return the snapshot of each retryer name having calls in flight, the <code>null</code> key
+     * grouping the unnamed retryers
+     */
+    public Map<String, InFlightSnapshot> snapshot() {
+        long now = System.nanoTime();
+        Map<String, Accumulator> accumulators = new LinkedHashMap<>();
+        for (InFlightCall call : getCalls()) {
+            accumulators.computeIfAbsent(call.getRetryerName(), name -> new Accumulator()).add(call, now);
+        }
+        Map<String, InFlightSnapshot> snapshots = new LinkedHashMap<>();
+        for (Map.Entry<String, Accumulator> entry : accumulators.entrySet()) {
+            Accumulator a = entry.getValue();
+            snapshots.put(entry.getKey(), new InFlightSnapshot(entry.getKey(), a.count, a.backingOff, a.countByAttemptNumber,
+                    a.oldestCallAgeNanos, a.wakeUpHistogram));
+        }
+        return snapshots;
+    }
+
+    static final class Stripe {
+        private InFlightCall head;
+    }
+
+    private static final class Accumulator {
+        private final TreeMap<Long, Integer> countByAttemptNumber = new TreeMap<>();
+        private final int[] wakeUpHistogram = new int[InFlightSnapshot.WAKE_UP_BUCKET_BOUNDS_MILLIS.length + 1];
+        private int count;
+        private int backingOff;
+        private long oldestCallAgeNanos;
+
+        void add(InFlightCall call, long now) {
+            count++;
+            countByAttemptNumber.merge(call.getAttemptNumber(), 1, Integer::sum);
+            oldestCallAgeNanos = Math.max(oldestCallAgeNanos, now - call.getStartNanos());
+            if (call.isBackingOff()) {
+                backingOff++;
+                wakeUpHistogram[InFlightSnapshot.wakeUpBucket(Math.max(0L, call.getWakeUpNanos() - now))]++;
+            }
+        }
+    }
+}
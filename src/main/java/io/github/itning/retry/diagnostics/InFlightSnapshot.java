@@ -0,0 +1,99 @@
+package io.github.itning.retry.diagnostics;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The calls in flight on the retryers of a given name, at the time of an
+ * {@link InFlightRegistry#snapshot() InFlightRegistry snapshot}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class InFlightSnapshot {
+    /**
+     * The upper bounds, in milliseconds, of the buckets of the wake-up histogram; the last
+     * bucket holds the calls waking up later than the last bound.
+     */
+    public static final long[] WAKE_UP_BUCKET_BOUNDS_MILLIS = {10L, 100L, 1_000L, 10_000L};
+
+    private final String retryerName;
+    private final int count;
+    private final int backingOff;
+    private final SortedMap<Long, Integer> countByAttemptNumber;
+    private final long oldestCallAgeNanos;
+    private final int[] wakeUpHistogram;
+
+    InFlightSnapshot(String retryerName, int count, int backingOff, SortedMap<Long, Integer> countByAttemptNumber,
+                     long oldestCallAgeNanos, int[] wakeUpHistogram) {
+        this.retryerName = retryerName;
+        this.count = count;
+        this.backingOff = backingOff;
+        this.countByAttemptNumber = Collections.unmodifiableSortedMap(countByAttemptNumber);
+        this.oldestCallAgeNanos = oldestCallAgeNanos;
+        this.wakeUpHistogram = wakeUpHistogram;
+    }
+
+    static int wakeUpBucket(long nanosUntilWakeUp) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanosUntilWakeUp);
+        for (int i = 0; i < WAKE_UP_BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (millis < WAKE_UP_BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return WAKE_UP_BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    @Nullable
+    public String getRetryerName() {
+        return retryerName;
+    }
+
+    /**
+     * @return the number of calls in flight
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of calls blocking between two attempts
+     */
+    public int getBackingOff() {
+        return backingOff;
+    }
+
+    /**
+     * @return the number of calls in flight, by number of their current or last attempt
+     */
+    public SortedMap<Long, Integer> getCountByAttemptNumber() {
+        return countByAttemptNumber;
+    }
+
+    /**
+     * @return the time elapsed since the oldest call in flight started, in nanoseconds
+     */
+    public long getOldestCallAgeNanos() {
+        return oldestCallAgeNanos;
+    }
+
+    /**
+     * @return the number of calls backing off, by time left until their wake-up, bucketed by
+     * {@link #WAKE_UP_BUCKET_BOUNDS_MILLIS}
+     */
+    public int[] getWakeUpHistogram() {
+        return wakeUpHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return retryerName + "{count=" + count + ", backingOff=" + backingOff + ", byAttempt=" + countByAttemptNumber
+                + ", oldestCallAgeMillis=" + TimeUnit.NANOSECONDS.toMillis(oldestCallAgeNanos)
+                + ", wakeUpHistogram=" + Arrays.toString(wakeUpHistogram) + '}';
+    }
+}
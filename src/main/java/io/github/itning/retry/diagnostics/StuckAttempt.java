@@ -0,0 +1,80 @@
+package io.github.itning.retry.diagnostics;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An attempt which ran for longer than the threshold of a {@link StuckAttemptWatchdog}, with the
+ * stack trace of its thread sampled when it was detected.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class StuckAttempt {
+    private final String retryerName;
+    private final Thread thread;
+    private final long attemptNumber;
+    private final long elapsedNanos;
+    private final StackTraceElement[] stackTrace;
+    private final boolean interrupted;
+
+    StuckAttempt(String retryerName, Thread thread, long attemptNumber, long elapsedNanos, StackTraceElement[] stackTrace, boolean interrupted) {
+        this.retryerName = retryerName;
+        this.thread = thread;
+        this.attemptNumber = attemptNumber;
+        this.elapsedNanos = elapsedNanos;
+        this.stackTrace = stackTrace;
+        this.interrupted = interrupted;
+    }
+
+    @Nullable
+    public String getRetryerName() {
+        return retryerName;
+    }
+
+    /**
+     * @return the thread running the attempt
+     */
+    public Thread getThread() {
+        return thread;
+    }
+
+    public long getAttemptNumber() {
+        return attemptNumber;
+    }
+
+    /**
+     * @return the time the attempt had been running for when it was detected, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the stack trace of the thread, sampled when the attempt was detected
+     */
+    public StackTraceElement[] getStackTrace() {
+        return stackTrace.clone();
+    }
+
+    /**
+     * @return <code>true</code> if the watchdog interrupts the thread, right after reporting the attempt
+     */
+    public boolean isInterrupted() {
+        return interrupted;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append("Attempt ").append(attemptNumber).append(" of retryer ").append(retryerName)
+                .append(" stuck for ").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms on thread ")
+                .append(thread.getName()).append(interrupted ? ", interrupted" : "");
+        for (StackTraceElement element : stackTrace) {
+            builder.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+        return builder.toString();
+    }
+}
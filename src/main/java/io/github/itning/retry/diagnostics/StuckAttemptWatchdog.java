@@ -0,0 +1,103 @@
+package io.github.itning.retry.diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A watchdog detecting the attempts which run for longer than a threshold, typically because the
+ * retryer has no {@link io.github.itning.retry.strategy.limit.AttemptTimeLimiter}. It covers all
+ * the retryers entering their calls in the given {@link InFlightRegistry}; the retryers only pay
+ * the volatile writes recording the start of each attempt.
+ * <p></p>
+ * A single daemon thread scans the registry four times per threshold. Each stuck attempt is
+ * reported once, with a sample of its thread's stack trace, and its thread is optionally
+ * interrupted. The thread may have moved on between the scan and the interruption, in which
+ * case the interruption hits whatever it runs next.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class StuckAttemptWatchdog implements AutoCloseable {
+    private static final long MIN_SCAN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+
+    private final InFlightRegistry registry;
+    private final long thresholdNanos;
+    private final Consumer<StuckAttempt> handler;
+    private final boolean interruptStuckAttempts;
+    private final ScheduledExecutorService scanner;
+
+    /**
+     * Creates a watchdog and starts scanning.
+     *
+     * @param registry               the registry the watched retryers enter their calls in
+     * @param threshold              the duration after which an attempt is reported as stuck
+     * @param timeUnit               the unit of the threshold
+     * @param handler                the handler the stuck attempts are reported to, on the watchdog thread
+     * @param interruptStuckAttempts <code>true</code> to interrupt the threads running stuck attempts
+     */
+    public StuckAttemptWatchdog(@Nonnull InFlightRegistry registry, long threshold, @Nonnull TimeUnit timeUnit,
+                                @Nonnull Consumer<StuckAttempt> handler, boolean interruptStuckAttempts) {
+        Objects.requireNonNull(registry, "registry may not be null");
+        Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+        Objects.requireNonNull(handler, "handler may not be null");
+        if (threshold <= 0L) {
+            throw new IllegalArgumentException("threshold must be > 0 but is " + threshold);
+        }
+        this.registry = registry;
+        this.thresholdNanos = timeUnit.toNanos(threshold);
+        this.handler = handler;
+        this.interruptStuckAttempts = interruptStuckAttempts;
+        this.scanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "guava-retrying-stuck-attempt-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(thresholdNanos / 4L, MIN_SCAN_INTERVAL_NANOS);
+        this.scanner.scheduleWithFixedDelay(this::scan, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Scans the registry once for stuck attempts, on the watchdog thread.
+     */
+    private void scan() {
+        long now = System.nanoTime();
+        for (InFlightCall call : registry.getCalls()) {
+            long attemptNumber = call.getAttemptNumber();
+            if (call.isBackingOff() || attemptNumber == 0L || call.reportedAttemptNumber == attemptNumber) {
+                continue;
+            }
+            long elapsed = now - call.getAttemptStartNanos();
+            if (elapsed < thresholdNanos) {
+                continue;
+            }
+            StackTraceElement[] stackTrace = call.getThread().getStackTrace();
+            boolean interrupt = interruptStuckAttempts && !call.isBackingOff() && call.getAttemptNumber() == attemptNumber;
+            call.reportedAttemptNumber = attemptNumber;
+            try {
+                handler.accept(new StuckAttempt(call.getRetryerName(), call.getThread(), attemptNumber, elapsed, stackTrace, interrupt));
+            } catch (Throwable e) {
+                // an exception escaping a scan would cancel the following ones
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, e);
+            }
+            // interrupt after reporting, so that the report happens before the attempt fails
+            if (interrupt && !call.isBackingOff() && call.getAttemptNumber() == attemptNumber) {
+                call.getThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the watchdog thread.
+     */
+    @Override
+    public void close() {
+        scanner.shutdownNow();
+    }
+}
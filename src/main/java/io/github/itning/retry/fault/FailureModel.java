@@ -0,0 +1,19 @@
+package io.github.itning.retry.fault;
+
+/**
+ * Decides which invocations of a {@link FaultInjector} fail.
+ *
+ * @author itning
+ * @see FailureModels
+ * @since 3.1.0
+ */
+@FunctionalInterface
+public interface FailureModel {
+
+    /**
+     * @param invocation the number of the invocation, starting from 0
+     * @param seed       the seed of the injector, for the models drawing random numbers
+     * @return <code>true</code> if the invocation must fail
+     */
+    boolean shouldFail(long invocation, long seed);
+}
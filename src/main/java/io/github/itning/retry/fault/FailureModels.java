@@ -0,0 +1,86 @@
+package io.github.itning.retry.fault;
+
+/**
+ * Factory class for {@link FailureModel} instances.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class FailureModels {
+    private static final int BERNOULLI_STREAM = 3;
+
+    private static final FailureModel NEVER = (invocation, seed) -> false;
+    private static final FailureModel ALWAYS = (invocation, seed) -> true;
+
+    private FailureModels() {
+    }
+
+    /**
+     * @return a model where no invocation fails
+     */
+    public static FailureModel never() {
+        return NEVER;
+    }
+
+    /**
+     * @return a model where every invocation fails
+     */
+    public static FailureModel always() {
+        return ALWAYS;
+    }
+
+    /**
+     * Returns a model where each invocation fails independently with the given probability.
+     * The failures only depend on the seed and the invocation number, whatever the threads.
+     *
+     * @param probability the probability an invocation fails
+     * @return a Bernoulli failure model
+     */
+    public static FailureModel bernoulli(double probability) {
+        checkProbability(probability, "probability");
+        return (invocation, seed) -> FaultRandom.uniform(seed, invocation, BERNOULLI_STREAM) < probability;
+    }
+
+    /**
+     * Returns a model where the invocations fail in bursts, following the Gilbert-Elliott model.
+     * The mean length of an outage is <code>1 / badToGood</code> invocations, and the mean time
+     * between outages <code>1 / goodToBad</code> invocations.
+     *
+     * @param goodToBad     the probability to enter an outage at each invocation
+     * @param badToGood     the probability to leave an outage at each invocation
+     * @param failureInGood the probability an invocation fails out of an outage
+     * @param failureInBad  the probability an invocation fails during an outage
+     * @return a new Gilbert-Elliott failure model, whose state must not be shared between runs
+     */
+    public static GilbertElliottFailureModel gilbertElliott(double goodToBad, double badToGood, double failureInGood, double failureInBad) {
+        checkProbability(goodToBad, "goodToBad");
+        checkProbability(badToGood, "badToGood");
+        checkProbability(failureInGood, "failureInGood");
+        checkProbability(failureInBad, "failureInBad");
+        return new GilbertElliottFailureModel(goodToBad, badToGood, failureInGood, failureInBad);
+    }
+
+    /**
+     * Returns a model where the invocations fail during a window of invocation numbers, e.g.
+     * to script an outage in a test.
+     *
+     * @param fromInvocation the first failing invocation, starting from 0
+     * @param toInvocation   the first invocation succeeding again
+     * @return a window failure model
+     */
+    public static FailureModel window(long fromInvocation, long toInvocation) {
+        if (fromInvocation < 0L) {
+            throw new IllegalArgumentException("fromInvocation must be >= 0 but is " + fromInvocation);
+        }
+        if (toInvocation < fromInvocation) {
+            throw new IllegalArgumentException("toInvocation must be >= " + fromInvocation + " but is " + toInvocation);
+        }
+        return (invocation, seed) -> invocation >= fromInvocation && invocation < toInvocation;
+    }
+
+    static void checkProbability(double probability, String name) {
+        if (!(probability >= 0.0 && probability <= 1.0)) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1 but is " + probability);
+        }
+    }
+}
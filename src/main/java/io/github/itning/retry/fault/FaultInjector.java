@@ -0,0 +1,243 @@
+package io.github.itning.retry.fault;
+
+import io.github.itning.retry.ticker.ManualTicker;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Wraps callables so that they fail and slow down in a controlled way, to test and benchmark
+ * retry policies. Every invocation of a wrapped callable is numbered, and the models decide
+ * from the number and the seed of the injector whether it is delayed, times out or fails, so
+ * that a run can be reproduced:
+ * <pre>
+ * FaultInjector injector = FaultInjector.newBuilder()
+ *         .withSeed(42L)
+ *         .withLatencyModel(LatencyModels.exponential(5, TimeUnit.MILLISECONDS))
+ *         .withFailureModel(FailureModels.gilbertElliott(0.01, 0.2, 0.001, 0.9))
+ *         .withException(IOException::new)
+ *         .build();
+ * retryer.call(injector.wrap(callable));
+ * </pre>
+ * An invocation is first delayed, then may time out, and otherwise may fail before reaching
+ * the wrapped callable. The overhead of an invocation which is neither delayed nor failed is
+ * an atomic increment and a few arithmetic operations per model.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class FaultInjector {
+    private static final int TIMEOUT_STREAM = 7;
+
+    private final long seed;
+    private final FailureModel failureModel;
+    private final LongFunction<? extends Exception> exceptionFactory;
+    private final LatencyModel latencyModel;
+    private final FailureModel timeoutModel;
+    private final long timeoutNanos;
+    private final ManualTicker virtualTicker;
+    private final AtomicLong invocations = new AtomicLong();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private FaultInjector(Builder builder) {
+        this.seed = builder.seed;
+        this.failureModel = builder.failureModel;
+        this.exceptionFactory = builder.exceptionFactory;
+        this.latencyModel = builder.latencyModel;
+        this.timeoutModel = builder.timeoutModel;
+        this.timeoutNanos = builder.timeoutNanos;
+        this.virtualTicker = builder.virtualTicker;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Wraps a callable so that its invocations are subject to the faults of this injector.
+     * All the callables wrapped by the same injector share its invocation numbers.
+     *
+     * @param callable the callable to wrap
+     * @param <V>      the type returned by the callable
+     * @return the faulty callable
+     */
+    public <V> Callable<V> wrap(@Nonnull Callable<V> callable) {
+        Objects.requireNonNull(callable, "callable may not be null");
+        return () -> {
+            inject();
+            return callable.call();
+        };
+    }
+
+    /**
+     * Makes an invocation: delays it, and throws if it must time out or fail. Benchmarks can
+     * call it directly around their own code.
+     *
+     * @throws Exception the exception of a failing invocation, a {@link TimeoutException} if it
+     *                   timed out, or an {@link InterruptedException} if interrupted while delayed
+     */
+    public void inject() throws Exception {
+        long invocation = invocations.getAndIncrement();
+        pause(latencyModel.latencyNanos(invocation, seed));
+        if (timeoutModel.shouldFail(invocation, seed ^ TIMEOUT_STREAM)) {
+            timeouts.increment();
+            pause(timeoutNanos);
+            throw new TimeoutException("injected timeout for invocation " + invocation);
+        }
+        if (failureModel.shouldFail(invocation, seed)) {
+            failures.increment();
+            throw exceptionFactory.apply(invocation);
+        }
+    }
+
+    private void pause(long nanos) throws InterruptedException {
+        if (nanos <= 0L) {
+            return;
+        }
+        if (virtualTicker != null) {
+            virtualTicker.advance(nanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0L; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * @return the number of invocations made so far
+     */
+    public long getInvocationCount() {
+        return invocations.get();
+    }
+
+    /**
+     * @return the number of invocations which failed so far, excluding the timeouts
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the number of invocations which timed out so far
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Restarts the invocation numbers from 0 and clears the counts, to replay the same faults.
+     * The state of a Gilbert-Elliott model is not reset.
+     */
+    public void reset() {
+        invocations.set(0L);
+        failures.reset();
+        timeouts.reset();
+    }
+
+    /**
+     * Builds a {@link FaultInjector}. By default, no invocation is delayed, times out or fails.
+     */
+    public static final class Builder {
+        private long seed;
+        private FailureModel failureModel = FailureModels.never();
+        private LongFunction<? extends Exception> exceptionFactory = InjectedFaultException::new;
+        private LatencyModel latencyModel = LatencyModels.none();
+        private FailureModel timeoutModel = FailureModels.never();
+        private long timeoutNanos;
+        private ManualTicker virtualTicker;
+
+        private Builder() {
+        }
+
+        /**
+         * @param seed the seed the random models draw from
+         * @return <code>this</code>
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param failureModel the model deciding which invocations fail
+         * @return <code>this</code>
+         */
+        public Builder withFailureModel(@Nonnull FailureModel failureModel) {
+            this.failureModel = Objects.requireNonNull(failureModel, "failureModel may not be null");
+            return this;
+        }
+
+        /**
+         * Sets the exceptions the failing invocations throw, an {@link InjectedFaultException} by
+         * default. Creating an exception with a stack trace costs microseconds.
+         *
+         * @param exceptionSupplier the supplier of the exceptions to throw
+         * @return <code>this</code>
+         */
+        public Builder withException(@Nonnull Supplier<? extends Exception> exceptionSupplier) {
+            Objects.requireNonNull(exceptionSupplier, "exceptionSupplier may not be null");
+            this.exceptionFactory = invocation -> exceptionSupplier.get();
+            return this;
+        }
+
+        /**
+         * @param latencyModel the model deciding how long invocations are delayed
+         * @return <code>this</code>
+         */
+        public Builder withLatencyModel(@Nonnull LatencyModel latencyModel) {
+            this.latencyModel = Objects.requireNonNull(latencyModel, "latencyModel may not be null");
+            return this;
+        }
+
+        /**
+         * Makes some invocations hang for a while, then throw a {@link TimeoutException}.
+         *
+         * @param timeoutModel the model deciding which invocations time out
+         * @param timeout      the time a timing out invocation hangs for
+         * @param timeUnit     the unit of the timeout
+         * @return <code>this</code>
+         */
+        public Builder withTimeouts(@Nonnull FailureModel timeoutModel, long timeout, @Nonnull TimeUnit timeUnit) {
+            Objects.requireNonNull(timeoutModel, "timeoutModel may not be null");
+            Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+            if (timeout < 0L) {
+                throw new IllegalArgumentException("timeout must be >= 0 but is " + timeout);
+            }
+            this.timeoutModel = timeoutModel;
+            this.timeoutNanos = timeUnit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Advances the given ticker by the injected delays instead of parking the thread, to
+         * test a retryer reading the same ticker in virtual time.
+         *
+         * @param ticker the ticker to advance
+         * @return <code>this</code>
+         * @see io.github.itning.retry.RetryerBuilder#withTicker
+         */
+        public Builder withVirtualTime(@Nonnull ManualTicker ticker) {
+            this.virtualTicker = Objects.requireNonNull(ticker, "ticker may not be null");
+            return this;
+        }
+
+        public FaultInjector build() {
+            return new FaultInjector(this);
+        }
+    }
+}
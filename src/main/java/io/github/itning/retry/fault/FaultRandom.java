@@ -0,0 +1,33 @@
+package io.github.itning.retry.fault;
+
+/**
+ * Counter-based random numbers: the value drawn for an invocation only depends on the seed,
+ * the invocation number and the stream, so that the faults injected are reproducible whatever
+ * the threads making the invocations, without any shared mutable state.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class FaultRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private FaultRandom() {
+    }
+
+    /**
+     * @return a uniformly distributed value in [0, 1)
+     */
+    static double uniform(long seed, long invocation, int stream) {
+        return (mix(seed + (invocation + 1L) * GOLDEN_GAMMA + stream * 0xD1B54A32D192ED03L) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * The finalizer of SplitMix64.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
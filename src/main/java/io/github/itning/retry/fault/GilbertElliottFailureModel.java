@@ -0,0 +1,54 @@
+package io.github.itning.retry.fault;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Gilbert-Elliott model of bursty failures: a two-state Markov chain alternating between
+ * a good state, where invocations rarely fail, and a bad state, an outage, where they mostly
+ * do. The chain moves once per invocation, so the sequence of failures is only reproducible
+ * when the invocations are made by a single thread.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class GilbertElliottFailureModel implements FailureModel {
+    private static final int GOOD = 0;
+    private static final int BAD = 1;
+    private static final int TRANSITION_STREAM = 1;
+    private static final int FAILURE_STREAM = 2;
+
+    private final double goodToBad;
+    private final double badToGood;
+    private final double failureInGood;
+    private final double failureInBad;
+    private final AtomicInteger state = new AtomicInteger(GOOD);
+
+    GilbertElliottFailureModel(double goodToBad, double badToGood, double failureInGood, double failureInBad) {
+        this.goodToBad = goodToBad;
+        this.badToGood = badToGood;
+        this.failureInGood = failureInGood;
+        this.failureInBad = failureInBad;
+    }
+
+    @Override
+    public boolean shouldFail(long invocation, long seed) {
+        double transition = FaultRandom.uniform(seed, invocation, TRANSITION_STREAM);
+        int current;
+        int next;
+        do {
+            current = state.get();
+            next = current == GOOD ? (transition < goodToBad ? BAD : GOOD) : (transition < badToGood ? GOOD : BAD);
+        } while (next != current && !state.compareAndSet(current, next));
+        double failure = next == GOOD ? failureInGood : failureInBad;
+        return FaultRandom.uniform(seed, invocation, FAILURE_STREAM) < failure;
+    }
+
+    /**
+     * @return <code>true</code> if the model is currently in its bad state
+     */
+    public boolean isInOutage() {
+        return state.get() == BAD;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.itning.retry.fault;
+
+/**
+ * The exception a {@link FaultInjector} throws by default for a failing invocation. It has
+ * no stack trace, which keeps it cheap enough not to distort benchmarks.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class InjectedFaultException extends RuntimeException {
+    private final long invocation;
+
+    InjectedFaultException(long invocation) {
+        super("injected fault for invocation " + invocation, null, false, false);
+        this.invocation = invocation;
+    }
+
+    /**
+     * @return the number of the failing invocation, starting from 0
+     */
+    public long getInvocation() {
+        return invocation;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.itning.retry.fault;
+
+/**
+ * Decides how long the invocations of a {@link FaultInjector} are delayed.
+ *
+ * @author itning
+ * @see LatencyModels
+ * @since 3.1.0
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    /**
+     * @param invocation the number of the invocation, starting from 0
+     * @param seed       the seed of the injector, for the models drawing random numbers
+     * @return the delay to add to the invocation, in nanoseconds
+     */
+    long latencyNanos(long invocation, long seed);
+}
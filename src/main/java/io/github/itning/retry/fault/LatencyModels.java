@@ -0,0 +1,91 @@
+package io.github.itning.retry.fault;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory class for {@link LatencyModel} instances. The random latencies only depend on the
+ * seed and the invocation number, whatever the threads.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class LatencyModels {
+    private static final int UNIFORM_STREAM = 4;
+    private static final int EXPONENTIAL_STREAM = 5;
+    private static final int SPIKE_STREAM = 6;
+
+    private static final LatencyModel NONE = (invocation, seed) -> 0L;
+
+    private LatencyModels() {
+    }
+
+    /**
+     * @return a model adding no latency
+     */
+    public static LatencyModel none() {
+        return NONE;
+    }
+
+    /**
+     * @param latency  the latency added to every invocation
+     * @param timeUnit the unit of the latency
+     * @return a constant latency model
+     */
+    public static LatencyModel fixed(long latency, @Nonnull TimeUnit timeUnit) {
+        long nanos = toNanos(latency, timeUnit, "latency");
+        return (invocation, seed) -> nanos;
+    }
+
+    /**
+     * @param minimum  the minimum latency
+     * @param maximum  the maximum latency
+     * @param timeUnit the unit of the latencies
+     * @return a model adding a latency uniformly distributed between the minimum and the maximum
+     */
+    public static LatencyModel uniform(long minimum, long maximum, @Nonnull TimeUnit timeUnit) {
+        long min = toNanos(minimum, timeUnit, "minimum");
+        long max = toNanos(maximum, timeUnit, "maximum");
+        if (max < min) {
+            throw new IllegalArgumentException("maximum must be >= " + minimum + " but is " + maximum);
+        }
+        return (invocation, seed) -> min + (long) (FaultRandom.uniform(seed, invocation, UNIFORM_STREAM) * (max - min));
+    }
+
+    /**
+     * @param mean     the mean latency
+     * @param timeUnit the unit of the mean
+     * @return a model adding an exponentially distributed latency, as in a queue
+     */
+    public static LatencyModel exponential(long mean, @Nonnull TimeUnit timeUnit) {
+        double meanNanos = toNanos(mean, timeUnit, "mean");
+        return (invocation, seed) -> (long) (-Math.log(1.0 - FaultRandom.uniform(seed, invocation, EXPONENTIAL_STREAM)) * meanNanos);
+    }
+
+    /**
+     * Returns a model adding a base latency to every invocation, and a spike to some of them,
+     * for a tail latency much higher than the median.
+     *
+     * @param base             the latency added to every invocation
+     * @param spike            the latency added to the spiking invocations
+     * @param spikeProbability the probability an invocation spikes
+     * @param timeUnit         the unit of the latencies
+     * @return a spiking latency model
+     */
+    public static LatencyModel spiking(long base, long spike, double spikeProbability, @Nonnull TimeUnit timeUnit) {
+        long baseNanos = toNanos(base, timeUnit, "base");
+        long spikeNanos = toNanos(spike, timeUnit, "spike");
+        FailureModels.checkProbability(spikeProbability, "spikeProbability");
+        return (invocation, seed) -> FaultRandom.uniform(seed, invocation, SPIKE_STREAM) < spikeProbability
+                ? baseNanos + spikeNanos : baseNanos;
+    }
+
+    private static long toNanos(long duration, TimeUnit timeUnit, String name) {
+        Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+        if (duration < 0L) {
+            throw new IllegalArgumentException(name + " must be >= 0 but is " + duration);
+        }
+        return timeUnit.toNanos(duration);
+    }
+}
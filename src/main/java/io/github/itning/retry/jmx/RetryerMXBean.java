@@ -0,0 +1,87 @@
+package io.github.itning.retry.jmx;
+
+/**
+ * The management interface of a named {@link io.github.itning.retry.Retryer}: its statistics
+ * since registration, and the runtime overrides of its policy. Setting an attribute replaces
+ * the {@link io.github.itning.retry.RetryPolicyOverride} of the retryer, which the calls
+ * started afterwards run under.
+ *
+ * @author itning
+ * @see RetryerMXBeans#register(io.github.itning.retry.Retryer)
+ * @since 3.1.0
+ */
+public interface RetryerMXBean {
+
+    String getName();
+
+    long getCalls();
+
+    long getInFlight();
+
+    long getAttempts();
+
+    long getRetries();
+
+    long getCompleted();
+
+    long getGivenUp();
+
+    long getInterrupted();
+
+    /**
+     * @return the mean duration of an attempt, in milliseconds
+     */
+    double getMeanAttemptTimeMillis();
+
+    /**
+     * @return the mean time a call spent between attempts, in milliseconds
+     */
+    double getMeanBackoffTimeMillis();
+
+    /**
+     * @return the number of attempts after which a call gives up even if the stop strategy would retry,
+     * or 0 if left to the stop strategy; it can lower the limit of the stop strategy but not raise it
+     */
+    int getAttemptCap();
+
+    void setAttemptCap(int attemptCap);
+
+    /**
+     * @return the delay since the first attempt after which a call gives up even if the stop strategy would
+     * retry, in milliseconds, or 0 if left to the stop strategy; it can lower the limit of the stop strategy but not raise it
+     */
+    long getDelayCapMillis();
+
+    void setDelayCapMillis(long delayCapMillis);
+
+    /**
+     * @return the factor the sleep times computed by the wait strategy are multiplied by
+     */
+    double getWaitMultiplier();
+
+    void setWaitMultiplier(double waitMultiplier);
+
+    /**
+     * @return the maximum sleep time between two attempts, in milliseconds, or 0 for no maximum
+     */
+    long getMaxWaitMillis();
+
+    void setMaxWaitMillis(long maxWaitMillis);
+
+    /**
+     * @return <code>true</code> if every call gives up after its first rejected attempt
+     */
+    boolean isRetriesDisabled();
+
+    void setRetriesDisabled(boolean retriesDisabled);
+
+    /**
+     * Removes all the overrides, restoring the policy the retryer was built with.
+     */
+    void resetPolicyOverride();
+
+    /**
+     * Resets the statistics.
+     */
+    void resetStatistics();
+}
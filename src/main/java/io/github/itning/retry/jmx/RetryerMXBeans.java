@@ -0,0 +1,78 @@
+package io.github.itning.retry.jmx;
+
+import io.github.itning.retry.Retryer;
+
+import javax.annotation.Nonnull;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+
+/**
+ * Registers named retryers as {@link RetryerMXBean}s, under
+ * <code>io.github.itning.retry:type=Retryer,name=&lt;name&gt;</code>.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class RetryerMXBeans {
+    public static final String DOMAIN = "io.github.itning.retry";
+
+    private RetryerMXBeans() {
+    }
+
+    /**
+     * Registers the given retryer in the platform MBean server.
+     *
+     * @param retryer the retryer to register, which must have a name
+     * @param <V>     the type returned by the retryer callable
+     * @return the registered MBean, to close to unregister it
+     * @throws IllegalArgumentException if the retryer has no name
+     * @throws IllegalStateException    if the MBean could not be registered, e.g. because a retryer of the same name already is
+     * @see io.github.itning.retry.RetryerBuilder#withName(String)
+     */
+    public static <V> RetryerManagement<V> register(@Nonnull Retryer<V> retryer) {
+        return register(retryer, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Registers the given retryer in the given MBean server.
+     *
+     * @param retryer the retryer to register, which must have a name
+     * @param server  the MBean server to register the retryer in
+     * @param <V>     the type returned by the retryer callable
+     * @return the registered MBean, to close to unregister it
+     * @throws IllegalArgumentException if the retryer has no name
+     * @throws IllegalStateException    if the MBean could not be registered, e.g. because a retryer of the same name already is
+     */
+    public static <V> RetryerManagement<V> register(@Nonnull Retryer<V> retryer, @Nonnull MBeanServer server) {
+        Objects.requireNonNull(retryer, "retryer may not be null");
+        Objects.requireNonNull(server, "server may not be null");
+        RetryerManagement<V> management = new RetryerManagement<>(retryer, server, objectName(retryer));
+        try {
+            management.register();
+        } catch (JMException e) {
+            throw new IllegalStateException("could not register retryer " + retryer.getName(), e);
+        }
+        return management;
+    }
+
+    /**
+     * @param retryer a named retryer
+     * @return the name the MBean of the given retryer is registered under
+     * @throws IllegalArgumentException if the retryer has no name
+     */
+    public static ObjectName objectName(@Nonnull Retryer<?> retryer) {
+        String name = retryer.getName();
+        if (name == null) {
+            throw new IllegalArgumentException("only a named retryer can be registered");
+        }
+        try {
+            return new ObjectName(DOMAIN + ":type=Retryer,name=" + ObjectName.quote(name));
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("invalid retryer name " + name, e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.itning.retry.jmx;
+
+import io.github.itning.retry.RetryPolicyOverride;
+import io.github.itning.retry.Retryer;
+import io.github.itning.retry.metrics.RetryStatistics;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link RetryerMXBean} of a retryer, registered by {@link RetryerMXBeans#register}.
+ * It counts the calls with a {@link RetryStatistics} listener added to the retryer, and
+ * closing it unregisters the MBean and removes that listener.
+ *
+ * @param <V> the type returned by the retryer callable
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class RetryerManagement<V> implements RetryerMXBean, AutoCloseable {
+    private final Retryer<V> retryer;
+    private final RetryStatistics<V> statistics = new RetryStatistics<>();
+    private final MBeanServer server;
+    private final ObjectName objectName;
+
+    RetryerManagement(Retryer<V> retryer, MBeanServer server, ObjectName objectName) {
+        this.retryer = retryer;
+        this.server = server;
+        this.objectName = objectName;
+    }
+
+    void register() throws JMException {
+        retryer.addListener(statistics);
+        try {
+            server.registerMBean(this, objectName);
+        } catch (JMException | RuntimeException e) {
+            retryer.removeListener(statistics);
+            throw e;
+        }
+    }
+
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    public RetryStatistics<V> getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String getName() {
+        return retryer.getName();
+    }
+
+    @Override
+    public long getCalls() {
+        return statistics.getCalls();
+    }
+
+    @Override
+    public long getInFlight() {
+        return statistics.getInFlight();
+    }
+
+    @Override
+    public long getAttempts() {
+        return statistics.getAttempts();
+    }
+
+    @Override
+    public long getRetries() {
+        return statistics.getRetries();
+    }
+
+    @Override
+    public long getCompleted() {
+        return statistics.getCompleted();
+    }
+
+    @Override
+    public long getGivenUp() {
+        return statistics.getGivenUp();
+    }
+
+    @Override
+    public long getInterrupted() {
+        return statistics.getInterrupted();
+    }
+
+    @Override
+    public double getMeanAttemptTimeMillis() {
+        return mean(statistics.getTotalAttemptNanos(), statistics.getAttempts());
+    }
+
+    @Override
+    public double getMeanBackoffTimeMillis() {
+        return mean(statistics.getTotalBackoffNanos(), statistics.getCalls() - statistics.getInFlight());
+    }
+
+    private static double mean(long totalNanos, long count) {
+        return count <= 0L ? 0.0d : (double) totalNanos / count / TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+
+    @Override
+    public int getAttemptCap() {
+        return retryer.getPolicyOverride().getAttemptCap();
+    }
+
+    @Override
+    public synchronized void setAttemptCap(int attemptCap) {
+        retryer.setPolicyOverride(retryer.getPolicyOverride().withAttemptCap(attemptCap));
+    }
+
+    @Override
+    public long getDelayCapMillis() {
+        return retryer.getPolicyOverride().getDelayCap();
+    }
+
+    @Override
+    public synchronized void setDelayCapMillis(long delayCapMillis) {
+        retryer.setPolicyOverride(retryer.getPolicyOverride().withDelayCap(delayCapMillis));
+    }
+
+    @Override
+    public double getWaitMultiplier() {
+        return retryer.getPolicyOverride().getWaitMultiplier();
+    }
+
+    @Override
+    public synchronized void setWaitMultiplier(double waitMultiplier) {
+        retryer.setPolicyOverride(retryer.getPolicyOverride().withWaitMultiplier(waitMultiplier));
+    }
+
+    @Override
+    public long getMaxWaitMillis() {
+        return retryer.getPolicyOverride().getMaxWait();
+    }
+
+    @Override
+    public synchronized void setMaxWaitMillis(long maxWaitMillis) {
+        retryer.setPolicyOverride(retryer.getPolicyOverride().withMaxWait(maxWaitMillis));
+    }
+
+    @Override
+    public boolean isRetriesDisabled() {
+        return retryer.getPolicyOverride().isRetriesDisabled();
+    }
+
+    @Override
+    public synchronized void setRetriesDisabled(boolean retriesDisabled) {
+        retryer.setPolicyOverride(retryer.getPolicyOverride().withRetriesDisabled(retriesDisabled));
+    }
+
+    @Override
+    public synchronized void resetPolicyOverride() {
+        retryer.setPolicyOverride(RetryPolicyOverride.NONE);
+    }
+
+    @Override
+    public void resetStatistics() {
+        statistics.reset();
+    }
+
+    /**
+     * Unregisters the MBean and removes the statistics listener from the retryer. The policy
+     * override set through the MBean is left in place.
+     */
+    @Override
+    public void close() {
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            // already unregistered
+        } finally {
+            retryer.removeListener(statistics);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package io.github.itning.retry.journal;
+
+import io.github.itning.retry.Attempt;
+import io.github.itning.retry.listener.RetryLifecycleListener;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static io.github.itning.retry.journal.JournalLayout.*;
+
+/**
+ * A journal of the outcome of every attempt, appended as fixed-size binary records to a
+ * rotating set of memory-mapped segment files, for post-incident analysis with an
+ * {@link AttemptJournalReader}. Retryer names and exception class names are interned into a
+ * dictionary section repeated in every segment, so that a record only holds their ids.
+ * <p></p>
+ * Appending a record claims a sequence number with a single atomic increment, which
+ * determines the segment and the slot of the record; no lock is taken and nothing is
+ * allocated, but when a name is seen for the first time. Once all the segments are full, the
+ * oldest records are overwritten; a slot is owned by one writer at a time, tracked by an
+ * in-memory array of 8 bytes per record, so that a writer lapped by a newer one drops its
+ * record instead of interleaving with it. The sequence is written last, behind a release
+ * fence, so that a reader can tell a complete record. Records are timestamped with {@link System#nanoTime()} when they are appended.
+ *
+ * @author itning
+ * @see #listener(String)
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class AttemptJournal implements AutoCloseable {
+    /**
+     * The id recorded when the dictionary section is full.
+     */
+    public static final int UNKNOWN_ID = -2;
+
+    private final FileChannel[] channels;
+    private final MappedByteBuffer[] segments;
+    private final int recordsPerSegment;
+    private final int dictionaryCapacity;
+    private final long recordsOffset;
+    private final long epochNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    /**
+     * Per slot, <code>2 * seq + 1</code> while the record of sequence <code>seq</code> is being
+     * written, then <code>2 * seq + 2</code>.
+     */
+    private final AtomicLongArray slotOwners;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final ClassValue<Integer> exceptionClassIds = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return intern(KIND_EXCEPTION_CLASS, type.getName());
+        }
+    };
+    private int nextId;
+    private int dictionaryEnd;
+    private volatile boolean closed;
+
+    private AttemptJournal(FileChannel[] channels, MappedByteBuffer[] segments, int recordsPerSegment, int dictionaryCapacity, long epochNanos) {
+        this.channels = channels;
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+        this.dictionaryCapacity = dictionaryCapacity;
+        this.recordsOffset = JournalLayout.recordsOffset(dictionaryCapacity);
+        this.epochNanos = epochNanos;
+        this.slotOwners = new AtomicLongArray(segments.length * recordsPerSegment);
+    }
+
+    /**
+     * Creates the segment files in the given directory, overwriting a previous journal.
+     *
+     * @param directory          the directory to create the segments in
+     * @param segments           the number of segment files, at least 2
+     * @param recordsPerSegment  the number of records a segment holds
+     * @param dictionaryCapacity the size of the dictionary section, in bytes
+     * @return a new, empty journal
+     * @throws IOException if a segment cannot be created or mapped
+     */
+    public static AttemptJournal create(@Nonnull Path directory, int segments, int recordsPerSegment, int dictionaryCapacity) throws IOException {
+        Objects.requireNonNull(directory, "directory may not be null");
+        if (segments < 2) {
+            throw new IllegalArgumentException("segments must be >= 2 but is " + segments);
+        }
+        if (recordsPerSegment < 1) {
+            throw new IllegalArgumentException("recordsPerSegment must be >= 1 but is " + recordsPerSegment);
+        }
+        if (dictionaryCapacity < 64 || dictionaryCapacity % 8 != 0) {
+            throw new IllegalArgumentException("dictionaryCapacity must be a multiple of 8 >= 64 but is " + dictionaryCapacity);
+        }
+        if ((long) segments * recordsPerSegment > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("a journal may not hold more than " + (Integer.MAX_VALUE - 8) + " records but holds "
+                    + (long) segments * recordsPerSegment);
+        }
+        long fileLength = fileLength(dictionaryCapacity, recordsPerSegment);
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("a segment may not exceed 2 GiB but is " + fileLength + " bytes long");
+        }
+        Files.createDirectories(directory);
+        long epochMillis = System.currentTimeMillis();
+        long epochNanos = System.nanoTime();
+        FileChannel[] channels = new FileChannel[segments];
+        MappedByteBuffer[] buffers = new MappedByteBuffer[segments];
+        try {
+            for (int i = 0; i < segments; i++) {
+                channels[i] = FileChannel.open(directory.resolve(fileName(i)), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                MappedByteBuffer buffer = channels[i].map(FileChannel.MapMode.READ_WRITE, 0L, fileLength);
+                buffer.order(ByteOrder.nativeOrder());
+                buffer.putInt(VERSION_OFFSET, VERSION);
+                buffer.putInt(SEGMENTS_OFFSET, segments);
+                buffer.putInt(SEGMENT_INDEX_OFFSET, i);
+                buffer.putInt(RECORDS_PER_SEGMENT_OFFSET, recordsPerSegment);
+                buffer.putInt(DICTIONARY_CAPACITY_OFFSET, dictionaryCapacity);
+                buffer.putLong(EPOCH_MILLIS_OFFSET, epochMillis);
+                buffer.putLong(EPOCH_NANOS_OFFSET, epochNanos);
+                buffer.putInt(MAGIC_OFFSET, MAGIC);
+                buffers[i] = buffer;
+            }
+        } catch (IOException | RuntimeException e) {
+            for (FileChannel channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            throw e;
+        }
+        return new AttemptJournal(channels, buffers, recordsPerSegment, dictionaryCapacity, epochNanos);
+    }
+
+    /**
+     * Returns a listener journaling the attempts of a retryer. Register it on the retryer with
+     * {@link io.github.itning.retry.RetryerBuilder#withRetryListener} or
+     * {@link io.github.itning.retry.Retryer#addListener}.
+     *
+     * @param retryerName the name the attempts are journaled under
+     * @param <V>         the type returned by the retryer callable
+     * @return a listener appending a record for each attempt
+     */
+    public <V> RetryLifecycleListener<V> listener(@Nonnull String retryerName) {
+        Objects.requireNonNull(retryerName, "retryerName may not be null");
+        return new JournalListener<>(this, intern(KIND_RETRYER, retryerName));
+    }
+
+    /**
+     * @return the number of records appended so far, including the overwritten ones
+     */
+    public long getAppendedCount() {
+        return sequence.get();
+    }
+
+    void append(int retryerId, Attempt<?> attempt, JournalOutcome outcome) {
+        if (closed) {
+            return;
+        }
+        long time = System.nanoTime() - epochNanos;
+        int exceptionClassId = attempt.hasException() ? exceptionClassIds.get(attempt.getExceptionCause().getClass()) : -1;
+        long seq = sequence.getAndIncrement();
+        int slot = (int) (seq % slotOwners.length());
+        if (!claim(slot, seq)) {
+            return;
+        }
+        MappedByteBuffer segment = segments[(int) ((seq / recordsPerSegment) % segments.length)];
+        int offset = (int) (recordsOffset + (seq % recordsPerSegment) * RECORD_LENGTH);
+
+        segment.putLong(offset + SEQUENCE_OFFSET, 0L);
+        MemoryFences.releaseFence();
+        segment.putLong(offset + TIME_OFFSET, time);
+        segment.putLong(offset + DURATION_OFFSET, attempt.getAttemptDurationNanos());
+        segment.putLong(offset + SLEEP_TIME_OFFSET, attempt.getNextSleepTime());
+        segment.putLong(offset + ATTEMPT_NUMBER_OFFSET, attempt.getAttemptNumber());
+        segment.putInt(offset + RETRYER_ID_OFFSET, retryerId);
+        segment.putInt(offset + EXCEPTION_CLASS_ID_OFFSET, exceptionClassId);
+        segment.putInt(offset + OUTCOME_OFFSET, outcome.ordinal());
+        MemoryFences.releaseFence();
+        segment.putLong(offset + SEQUENCE_OFFSET, seq + 1L);
+        slotOwners.set(slot, 2L * seq + 2L);
+    }
+
+    /**
+     * Waits for an older writer of the slot to finish.
+     *
+     * @return <code>false</code> if a newer writer already claimed the slot
+     */
+    private boolean claim(int slot, long seq) {
+        for (; ; ) {
+            long state = slotOwners.get(slot);
+            if (state != 0L && (state - 1L) / 2L > seq) {
+                return false;
+            }
+            if ((state & 1L) != 0L) {
+                Thread.yield();
+            } else if (slotOwners.compareAndSet(slot, state, 2L * seq + 1L)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Interns a name into the dictionary section of every segment.
+     *
+     * @return the id of the name, or {@link #UNKNOWN_ID} if the dictionary section is full
+     */
+    private synchronized int intern(int kind, String name) {
+        String key = kind + ":" + name;
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int entryLength = DICTIONARY_ENTRY_HEADER_LENGTH + bytes.length;
+        if (dictionaryEnd + entryLength > dictionaryCapacity) {
+            return UNKNOWN_ID;
+        }
+        int newId = nextId++;
+        for (MappedByteBuffer segment : segments) {
+            int offset = HEADER_LENGTH + dictionaryEnd;
+            segment.putInt(offset, newId);
+            segment.putInt(offset + 4, kind);
+            segment.putInt(offset + 8, bytes.length);
+            for (int i = 0; i < bytes.length; i++) {
+                segment.put(offset + DICTIONARY_ENTRY_HEADER_LENGTH + i, bytes[i]);
+            }
+        }
+        dictionaryEnd += entryLength;
+        MemoryFences.releaseFence();
+        for (MappedByteBuffer segment : segments) {
+            segment.putInt(DICTIONARY_END_OFFSET, dictionaryEnd);
+        }
+        ids.put(key, newId);
+        return newId;
+    }
+
+    /**
+     * Stops journaling and flushes the segments to disk. Listeners still registered stop appending.
+     *
+     * @throws IOException if a segment cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException failure = null;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i].force();
+            try {
+                channels[i].close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static final class JournalListener<V> implements RetryLifecycleListener<V> {
+        private final AttemptJournal journal;
+        private final int retryerId;
+
+        JournalListener(AttemptJournal journal, int retryerId) {
+            this.journal = journal;
+            this.retryerId = retryerId;
+        }
+
+        @Override
+        public void onRetry(Attempt<V> attempt) {
+            journal.append(retryerId, attempt, JournalOutcome.RETRIED);
+        }
+
+        @Override
+        public void onComplete(Attempt<V> attempt, long endNanos) {
+            journal.append(retryerId, attempt, JournalOutcome.COMPLETED);
+        }
+
+        @Override
+        public void onGiveUp(Attempt<V> lastAttempt, long endNanos) {
+            journal.append(retryerId, lastAttempt, JournalOutcome.GAVE_UP);
+        }
+
+        @Override
+        public void onInterrupted(Attempt<V> lastAttempt, long endNanos) {
+            journal.append(retryerId, lastAttempt, JournalOutcome.INTERRUPTED);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.github.itning.retry.journal;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static io.github.itning.retry.journal.JournalLayout.*;
+
+/**
+ * Reads the records of an {@link AttemptJournal}, possibly from another process or after the
+ * writing process died. Its {@link #main} method dumps the records, or aggregates them per
+ * retryer:
+ * <pre>
+ * java -cp guava-retrying3.jar io.github.itning.retry.journal.AttemptJournalReader &lt;directory&gt; [dump|aggregate]
+ * </pre>
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class AttemptJournalReader implements AutoCloseable {
+    private final List<FileChannel> channels = new ArrayList<>();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final int recordsPerSegment;
+    private final long recordsOffset;
+    private final long epochMillis;
+    private final long epochNanos;
+    private int tornRecordCount;
+
+    /**
+     * Maps the segment files of the given directory.
+     *
+     * @param directory a directory written by an {@link AttemptJournal}
+     * @throws IOException if a segment cannot be mapped or was not written by a journal
+     */
+    public AttemptJournalReader(@Nonnull Path directory) throws IOException {
+        Objects.requireNonNull(directory, "directory may not be null");
+        try {
+            MappedByteBuffer first = map(directory.resolve(fileName(0)));
+            int segmentCount = first.getInt(SEGMENTS_OFFSET);
+            this.recordsPerSegment = first.getInt(RECORDS_PER_SEGMENT_OFFSET);
+            this.recordsOffset = JournalLayout.recordsOffset(first.getInt(DICTIONARY_CAPACITY_OFFSET));
+            this.epochMillis = first.getLong(EPOCH_MILLIS_OFFSET);
+            this.epochNanos = first.getLong(EPOCH_NANOS_OFFSET);
+            for (int i = 1; i < segmentCount; i++) {
+                MappedByteBuffer segment = map(directory.resolve(fileName(i)));
+                if (segment.getLong(EPOCH_NANOS_OFFSET) != epochNanos) {
+                    throw new IOException(directory + " holds segments of different journals");
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channels.add(channel);
+        if (channel.size() < HEADER_LENGTH) {
+            throw new IOException(file + " is not an attempt journal segment");
+        }
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+        segment.order(ByteOrder.nativeOrder());
+        if (segment.getInt(MAGIC_OFFSET) != MAGIC || segment.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException(file + " is not an attempt journal segment of version " + VERSION);
+        }
+        if (channel.size() < fileLength(segment.getInt(DICTIONARY_CAPACITY_OFFSET), segment.getInt(RECORDS_PER_SEGMENT_OFFSET))) {
+            throw new IOException(file + " is truncated");
+        }
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Reads all the complete records still held by the segments. A record being written when
+     * read is skipped and counted by {@link #getTornRecordCount()}.
+     *
+     * @return the records, in the order they were appended
+     */
+    public List<JournalRecord> read() {
+        tornRecordCount = 0;
+        Map<Integer, String> retryerNames = new HashMap<>();
+        Map<Integer, String> exceptionClassNames = new HashMap<>();
+        for (MappedByteBuffer segment : segments) {
+            readDictionary(segment, retryerNames, exceptionClassNames);
+        }
+        List<JournalRecord> records = new ArrayList<>();
+        for (MappedByteBuffer segment : segments) {
+            for (int i = 0; i < recordsPerSegment; i++) {
+                int offset = (int) (recordsOffset + (long) i * RECORD_LENGTH);
+                long sequence = segment.getLong(offset + SEQUENCE_OFFSET);
+                if (sequence == 0L) {
+                    continue;
+                }
+                MemoryFences.acquireFence();
+                long time = segment.getLong(offset + TIME_OFFSET);
+                long duration = segment.getLong(offset + DURATION_OFFSET);
+                long sleepTime = segment.getLong(offset + SLEEP_TIME_OFFSET);
+                long attemptNumber = segment.getLong(offset + ATTEMPT_NUMBER_OFFSET);
+                int retryerId = segment.getInt(offset + RETRYER_ID_OFFSET);
+                int exceptionClassId = segment.getInt(offset + EXCEPTION_CLASS_ID_OFFSET);
+                JournalOutcome outcome = JournalOutcome.of(segment.getInt(offset + OUTCOME_OFFSET));
+                MemoryFences.acquireFence();
+                if (segment.getLong(offset + SEQUENCE_OFFSET) != sequence || outcome == null) {
+                    tornRecordCount++;
+                    continue;
+                }
+                String exceptionClassName = exceptionClassId == -1 ? null
+                        : exceptionClassNames.getOrDefault(exceptionClassId, "<unknown>");
+                records.add(new JournalRecord(sequence - 1L, epochMillis + time / 1_000_000L, duration, sleepTime, attemptNumber,
+                        retryerNames.getOrDefault(retryerId, "<unknown>"), exceptionClassName, outcome));
+            }
+        }
+        records.sort(Comparator.comparingLong(JournalRecord::getSequence));
+        return records;
+    }
+
+    /**
+     * @return the number of records the last {@link #read()} skipped because they were being
+     * written, or were left half written by a writing process that died
+     */
+    public int getTornRecordCount() {
+        return tornRecordCount;
+    }
+
+    private static void readDictionary(MappedByteBuffer segment, Map<Integer, String> retryerNames, Map<Integer, String> exceptionClassNames) {
+        int end = Math.min(segment.getInt(DICTIONARY_END_OFFSET), segment.getInt(DICTIONARY_CAPACITY_OFFSET));
+        MemoryFences.acquireFence();
+        int position = 0;
+        while (position + DICTIONARY_ENTRY_HEADER_LENGTH <= end) {
+            int offset = HEADER_LENGTH + position;
+            int id = segment.getInt(offset);
+            int kind = segment.getInt(offset + 4);
+            int length = segment.getInt(offset + 8);
+            if (length < 0 || position + DICTIONARY_ENTRY_HEADER_LENGTH + length > end) {
+                break;
+            }
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = segment.get(offset + DICTIONARY_ENTRY_HEADER_LENGTH + i);
+            }
+            (kind == KIND_RETRYER ? retryerNames : exceptionClassNames).put(id, new String(bytes, StandardCharsets.UTF_8));
+            position += DICTIONARY_ENTRY_HEADER_LENGTH + length;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String command = args.length == 2 ? args[1] : "dump";
+        if (args.length < 1 || args.length > 2 || !("dump".equals(command) || "aggregate".equals(command))) {
+            System.err.println("usage: AttemptJournalReader <directory> [dump|aggregate]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[0]);
+        if (!Files.isDirectory(directory)) {
+            System.err.println(directory + " is not a directory");
+            System.exit(2);
+        }
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            List<JournalRecord> records = reader.read();
+            if ("dump".equals(command)) {
+                System.out.printf("%12s %14s %-40s %8s %-12s %14s %10s %s%n", "sequence", "timestamp", "retryer", "attempt",
+                        "outcome", "durationMicros", "sleepMillis", "exception");
+                for (JournalRecord r : records) {
+                    System.out.printf("%12d %14d %-40s %8d %-12s %14d %10d %s%n", r.getSequence(), r.getTimestampMillis(),
+                            r.getRetryerName(), r.getAttemptNumber(), r.getOutcome(), r.getDurationNanos() / 1_000L,
+                            r.getSleepTime(), r.getExceptionClassName() == null ? "" : r.getExceptionClassName());
+                }
+            } else {
+                aggregate(records);
+            }
+            if (reader.getTornRecordCount() > 0) {
+                System.err.println(reader.getTornRecordCount() + " records could not be read consistently");
+            }
+        }
+    }
+
+    private static void aggregate(List<JournalRecord> records) {
+        Map<String, long[]> outcomes = new TreeMap<>();
+        Map<String, Long> durations = new HashMap<>();
+        Map<String, Map<String, Long>> exceptions = new TreeMap<>();
+        for (JournalRecord r : records) {
+            outcomes.computeIfAbsent(r.getRetryerName(), k -> new long[JournalOutcome.values().length])[r.getOutcome().ordinal()]++;
+            if (r.getOutcome() == JournalOutcome.INTERRUPTED) {
+                // the attempt was already recorded as retried
+                continue;
+            }
+            durations.merge(r.getRetryerName(), r.getDurationNanos(), Long::sum);
+            if (r.getExceptionClassName() != null) {
+                exceptions.computeIfAbsent(r.getRetryerName(), k -> new TreeMap<>()).merge(r.getExceptionClassName(), 1L, Long::sum);
+            }
+        }
+        System.out.printf("%-40s %10s %10s %10s %10s %10s %16s%n", "retryer", "attempts", "completed", "retried", "gaveUp",
+                "interrupted", "meanMicros");
+        for (Map.Entry<String, long[]> e : outcomes.entrySet()) {
+            long[] counts = e.getValue();
+            long attempts = counts[JournalOutcome.COMPLETED.ordinal()] + counts[JournalOutcome.RETRIED.ordinal()]
+                    + counts[JournalOutcome.GAVE_UP.ordinal()];
+            System.out.printf("%-40s %10d %10d %10d %10d %10d %16d%n", e.getKey(), attempts,
+                    counts[JournalOutcome.COMPLETED.ordinal()], counts[JournalOutcome.RETRIED.ordinal()],
+                    counts[JournalOutcome.GAVE_UP.ordinal()], counts[JournalOutcome.INTERRUPTED.ordinal()],
+                    attempts == 0L ? 0L : durations.getOrDefault(e.getKey(), 0L) / attempts / 1_000L);
+            for (Map.Entry<String, Long> exception : exceptions.getOrDefault(e.getKey(), new TreeMap<>()).entrySet()) {
+                System.out.printf("    %-76s %10d%n", exception.getKey(), exception.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.itning.retry.journal;
+
+/**
+ * The binary layout of the segment files of an {@link AttemptJournal}, in native byte order.
+ * Every segment starts with the same header and dictionary, followed by its records:
+ * <pre>
+ * header, 64 bytes:
+ *   0  int  magic, "RJNL"
+ *   4  int  layout version
+ *   8  int  number of segments
+ *   12 int  index of this segment
+ *   16 int  number of records per segment
+ *   20 int  capacity of the dictionary, in bytes
+ *   24 int  end of the dictionary entries written so far, relative to the dictionary
+ *   32 long wall clock time of the journal epoch, in milliseconds
+ *   40 long {@link System#nanoTime()} of the journal epoch
+ * dictionary, entries of:
+ *   int id, int kind, int length, UTF-8 bytes
+ * record i, 64 bytes:
+ *   0  long sequence + 1, written last, 0 for a record never written
+ *   8  long time since the journal epoch, in nanoseconds
+ *   16 long attempt duration, in nanoseconds
+ *   24 long sleep time chosen before the next attempt, in milliseconds, -1 if none
+ *   32 long attempt number
+ *   40 int  retryer id
+ *   44 int  exception class id, -1 if the attempt returned a result
+ *   48 int  outcome code
+ * </pre>
+ * A record belongs to segment <code>(sequence / recordsPerSegment) % segments</code>, at index
+ * <code>sequence % recordsPerSegment</code>; once all the segments are full, the oldest records
+ * are overwritten.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class JournalLayout {
+    static final int MAGIC = 0x4C4E4A52;
+    static final int VERSION = 1;
+
+    static final int HEADER_LENGTH = 64;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int SEGMENTS_OFFSET = 8;
+    static final int SEGMENT_INDEX_OFFSET = 12;
+    static final int RECORDS_PER_SEGMENT_OFFSET = 16;
+    static final int DICTIONARY_CAPACITY_OFFSET = 20;
+    static final int DICTIONARY_END_OFFSET = 24;
+    static final int EPOCH_MILLIS_OFFSET = 32;
+    static final int EPOCH_NANOS_OFFSET = 40;
+
+    static final int DICTIONARY_ENTRY_HEADER_LENGTH = 12;
+    static final int KIND_RETRYER = 0;
+    static final int KIND_EXCEPTION_CLASS = 1;
+
+    static final int RECORD_LENGTH = 64;
+    static final int SEQUENCE_OFFSET = 0;
+    static final int TIME_OFFSET = 8;
+    static final int DURATION_OFFSET = 16;
+    static final int SLEEP_TIME_OFFSET = 24;
+    static final int ATTEMPT_NUMBER_OFFSET = 32;
+    static final int RETRYER_ID_OFFSET = 40;
+    static final int EXCEPTION_CLASS_ID_OFFSET = 44;
+    static final int OUTCOME_OFFSET = 48;
+
+    static final String FILE_PREFIX = "attempts-";
+    static final String FILE_SUFFIX = ".journal";
+
+    private JournalLayout() {
+    }
+
+    static String fileName(int segmentIndex) {
+        return FILE_PREFIX + segmentIndex + FILE_SUFFIX;
+    }
+
+    static long recordsOffset(int dictionaryCapacity) {
+        return HEADER_LENGTH + (long) dictionaryCapacity;
+    }
+
+    static long fileLength(int dictionaryCapacity, int recordsPerSegment) {
+        return recordsOffset(dictionaryCapacity) + (long) recordsPerSegment * RECORD_LENGTH;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.itning.retry.journal;
+
+/**
+ * What became of an attempt recorded in an {@link AttemptJournal}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public enum JournalOutcome {
+    /**
+     * The attempt was accepted, and the call returned.
+     */
+    COMPLETED,
+    /**
+     * The attempt was rejected, and the call retried.
+     */
+    RETRIED,
+    /**
+     * The attempt was rejected, and the call gave up, because of the stop strategy or the deadline.
+     */
+    GAVE_UP,
+    /**
+     * The attempt was rejected, and the call was interrupted before the next attempt. The attempt
+     * was already recorded as {@link #RETRIED} before the call started waiting, so this record
+     * marks the end of the call rather than another attempt.
+     */
+    INTERRUPTED;
+
+    private static final JournalOutcome[] VALUES = values();
+
+    static JournalOutcome of(int code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+}
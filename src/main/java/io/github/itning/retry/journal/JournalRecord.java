@@ -0,0 +1,93 @@
+package io.github.itning.retry.journal;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An attempt read back from an {@link AttemptJournal} by an {@link AttemptJournalReader}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class JournalRecord {
+    private final long sequence;
+    private final long timestampMillis;
+    private final long durationNanos;
+    private final long sleepTime;
+    private final long attemptNumber;
+    private final String retryerName;
+    private final String exceptionClassName;
+    private final JournalOutcome outcome;
+
+    JournalRecord(long sequence, long timestampMillis, long durationNanos, long sleepTime, long attemptNumber,
+                  String retryerName, @Nullable String exceptionClassName, JournalOutcome outcome) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.durationNanos = durationNanos;
+        this.sleepTime = sleepTime;
+        this.attemptNumber = attemptNumber;
+        this.retryerName = retryerName;
+        this.exceptionClassName = exceptionClassName;
+        this.outcome = outcome;
+    }
+
+    /**
+     * @return the order the record was appended in, starting from 0
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the wall clock time the attempt ended at, in milliseconds since the epoch
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return the sleep time chosen before the next attempt, in milliseconds, or -1 if there was none
+     */
+    public long getSleepTime() {
+        return sleepTime;
+    }
+
+    public long getAttemptNumber() {
+        return attemptNumber;
+    }
+
+    public String getRetryerName() {
+        return retryerName;
+    }
+
+    /**
+     * @return the class name of the exception thrown by the attempt, or <code>null</code> if it returned a result
+     */
+    @Nullable
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+
+    public JournalOutcome getOutcome() {
+        return outcome;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{" +
+                "sequence=" + sequence +
+                ", timestampMillis=" + timestampMillis +
+                ", durationNanos=" + durationNanos +
+                ", sleepTime=" + sleepTime +
+                ", attemptNumber=" + attemptNumber +
+                ", retryerName='" + retryerName + '\'' +
+                ", exceptionClassName='" + exceptionClassName + '\'' +
+                ", outcome=" + outcome +
+                '}';
+    }
+}
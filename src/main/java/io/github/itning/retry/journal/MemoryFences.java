@@ -0,0 +1,40 @@
+package io.github.itning.retry.journal;
+
+/**
+ * The memory fences ordering the plain accesses to the memory-mapped files written by the
+ * {@link AttemptJournal} and read by the {@link AttemptJournalReader}, whose records are guarded by a sequence number read before and after
+ * the record, a seqlock. A writer issues a {@link #releaseFence()} after marking the record as
+ * being written and before publishing its new sequence; a reader issues an
+ * {@link #acquireFence()} after reading the sequence and before reading it again to validate
+ * the record.
+ * <p></p>
+ * This is the Java 8 version, which has no standalone fences: they are approximated by
+ * accesses to a volatile field, which HotSpot compiles to full fences on the writing side.
+ * The multi-release jar replaces this class with the one found under
+ * <code>src/main/java11</code>, relying on the fences of
+ * <code>java.lang.invoke.VarHandle</code>. Both must keep the same methods.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class MemoryFences {
+    private static volatile int fence;
+
+    private MemoryFences() {
+    }
+
+    /**
+     * Keeps the loads and stores before the fence from being reordered with the stores after it.
+     */
+    static void releaseFence() {
+        fence = 0;
+    }
+
+    /**
+     * Keeps the loads before the fence from being reordered with the loads and stores after it.
+     */
+    @SuppressWarnings("unused")
+    static void acquireFence() {
+        int ignored = fence;
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.itning.retry.listener;
+
+import io.github.itning.retry.Attempt;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A listener which hands the attempts over to a dedicated thread invoking the delegate
+ * listener, so a slow listener no longer adds latency to the retries.
+ * <p></p>
+ * Attempts are published into a preallocated ring buffer: a slot is claimed with a CAS on
+ * the tail sequence, then filled and marked as published. Publishing never allocates and
+ * never locks; what happens when the buffer is full depends on the {@link OverflowPolicy}.
+ * Exceptions and errors thrown by the delegate are reported to the consumer thread's uncaught
+ * exception handler and do not stop the dispatch. The idle consumer thread parks until an
+ * attempt is published. Should it die anyway, blocked publishers drop their attempts.
+ * <p></p>
+ * Once closed, the consumer thread retires the tail sequence after the last published attempt,
+ * so that an attempt racing {@link #close()} is either dispatched or counted as dropped.
+ * Only {@link RetryListener#onRetry} is dispatched, so the delegate may not be a
+ * {@link RetryLifecycleListener}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class AsyncRetryListener<V> implements RetryListener<V>, AutoCloseable {
+    private static final long FULL_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+    /**
+     * The tail sequence once the consumer thread stopped, no slot can be claimed any more.
+     */
+    private static final long RETIRED = -1L;
+
+    private final RetryListener<V> delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Attempt<V>> slots;
+    private final AtomicLongArray published;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread consumer;
+    private volatile long head;
+    private volatile boolean consumerWaiting;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate       the listener invoked on the dispatch thread
+     * @param capacity       the number of events the buffer holds, rounded up to a power of two
+     * @param overflowPolicy what to do with an event published while the buffer is full
+     * @param sampleRate     with {@link OverflowPolicy#SAMPLE}, 1 in {@code sampleRate} events are admitted once the buffer is half full
+     */
+    public AsyncRetryListener(@Nonnull RetryListener<V> delegate, int capacity, @Nonnull OverflowPolicy overflowPolicy, int sampleRate) {
+        Objects.requireNonNull(delegate, "delegate may not be null");
+        Objects.requireNonNull(overflowPolicy, "overflowPolicy may not be null");
+        if (delegate instanceof RetryLifecycleListener) {
+            throw new IllegalArgumentException("delegate may not be a RetryLifecycleListener, only onRetry is dispatched asynchronously");
+        }
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in [2, 2^30] but is " + capacity);
+        }
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be >= 1 but is " + sampleRate);
+        }
+        this.delegate = delegate;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            published.set(i, -1L);
+        }
+        this.consumer = new Thread(this::dispatch, "guava-retrying-async-listener");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public void onRetry(Attempt<V> attempt) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+        for (; ; ) {
+            long sequence = tail.get();
+            if (sequence == RETIRED) {
+                dropped.incrementAndGet();
+                return;
+            }
+            long used = sequence - head;
+            if (used >= capacity) {
+                if (overflowPolicy == OverflowPolicy.BLOCK && !closed && consumer.isAlive()) {
+                    wakeConsumer();
+                    LockSupport.parkNanos(this, FULL_PARK_NANOS);
+                    continue;
+                }
+                dropped.incrementAndGet();
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.SAMPLE && used >= capacity >> 1
+                    && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                int index = (int) (sequence & mask);
+                slots.lazySet(index, attempt);
+                published.set(index, sequence);
+                wakeConsumer();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the number of events dropped because the buffer was full, sampled out, or published after closing
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting events, then waits for the already published ones to be dispatched.
+     *
+     * @throws InterruptedException if interrupted while waiting for the dispatch thread
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(consumer);
+        consumer.join();
+    }
+
+    private void wakeConsumer() {
+        if (consumerWaiting) {
+            consumerWaiting = false;
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void dispatch() {
+        long next = head;
+        for (; ; ) {
+            int index = (int) (next & mask);
+            if (published.get(index) == next) {
+                Attempt<V> attempt = slots.get(index);
+                slots.lazySet(index, null);
+                head = ++next;
+                try {
+                    delegate.onRetry(attempt);
+                } catch (Throwable e) {
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                }
+            } else if (closed && tail.compareAndSet(next, RETIRED)) {
+                return;
+            } else {
+                consumerWaiting = true;
+                if (published.get(index) != next && !closed) {
+                    LockSupport.park(this);
+                }
+                consumerWaiting = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.itning.retry.listener;
+
+import io.github.itning.retry.Attempt;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+
+/**
+ * A lifecycle listener forwarding to the delegate listener the events of the first attempt of
+ * each call, and the event ending the call, which carries its final attempt. The events of the
+ * intermediate attempts are discarded; the decision only looks at the attempt number.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class FirstAndLastRetryListener<V> implements RetryLifecycleListener<V> {
+    private final RetryLifecycleListener<V> delegate;
+
+    public FirstAndLastRetryListener(@Nonnull RetryLifecycleListener<V> delegate) {
+        Objects.requireNonNull(delegate, "delegate may not be null");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onCallStart(long startNanos) {
+        delegate.onCallStart(startNanos);
+    }
+
+    @Override
+    public void onAttemptStart(long attemptNumber, long startNanos) {
+        if (attemptNumber == 1L) {
+            delegate.onAttemptStart(attemptNumber, startNanos);
+        }
+    }
+
+    @Override
+    public void onAttemptEnd(Attempt<V> attempt, long endNanos) {
+        if (attempt.getAttemptNumber() == 1L) {
+            delegate.onAttemptEnd(attempt, endNanos);
+        }
+    }
+
+    @Override
+    public void onRetry(Attempt<V> attempt) {
+        if (attempt.getAttemptNumber() == 1L) {
+            delegate.onRetry(attempt);
+        }
+    }
+
+    @Override
+    public void onComplete(Attempt<V> attempt, long endNanos) {
+        delegate.onComplete(attempt, endNanos);
+    }
+
+    @Override
+    public void onGiveUp(Attempt<V> lastAttempt, long endNanos) {
+        delegate.onGiveUp(lastAttempt, endNanos);
+    }
+
+    @Override
+    public void onInterrupted(Attempt<V> lastAttempt, long endNanos) {
+        delegate.onInterrupted(lastAttempt, endNanos);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.itning.retry.listener;
+
+/**
+ * What an {@link AsyncRetryListener} does with an event published while its buffer is full.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public enum OverflowPolicy {
+    /**
+     * Drops the event and counts it as dropped.
+     */
+    DROP,
+    /**
+     * Makes the retrying thread wait until the buffer has room for the event.
+     */
+    BLOCK,
+    /**
+     * Once the buffer is half full, only admits a random sample of the events, and drops the
+     * event if the buffer is full. Dropped events are counted.
+     */
+    SAMPLE
+}
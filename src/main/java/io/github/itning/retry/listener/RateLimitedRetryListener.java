@@ -0,0 +1,107 @@
+package io.github.itning.retry.listener;
+
+import io.github.itning.retry.Attempt;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A listener invoking the delegate listener for at most N retried attempts per second,
+ * the excess being discarded.
+ * <p></p>
+ * The current one-second window and the number of permits handed out in it are packed into a
+ * single {@link AtomicLong}. Each thread leases the permits of the current window in batches of
+ * N / {@value #LEASES_PER_WINDOW}, and spends them from a thread-local lease without touching the
+ * shared state, so that a CAS is only needed once per batch rather than once per attempt. A
+ * permit leased by a thread which does not retry again in the window is lost, so that fewer than
+ * N attempts may be admitted while many threads retry. Once the window is exhausted, discarding
+ * an attempt is a plain read.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class RateLimitedRetryListener<V> implements RetryListener<V> {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1L);
+    private static final int LEASES_PER_WINDOW = 64;
+
+    private final RetryListener<V> delegate;
+    private final int permitsPerSecond;
+    private final int leaseSize;
+    private final long origin = System.nanoTime();
+    /**
+     * The index of the current window in the high 32 bits, the number of leased permits in the low 32 bits.
+     */
+    private final AtomicLong state = new AtomicLong();
+    private final ThreadLocal<Lease> leases = ThreadLocal.withInitial(Lease::new);
+
+    public RateLimitedRetryListener(@Nonnull RetryListener<V> delegate, int permitsPerSecond) {
+        Objects.requireNonNull(delegate, "delegate may not be null");
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be >= 1 but is " + permitsPerSecond);
+        }
+        this.delegate = delegate;
+        this.permitsPerSecond = permitsPerSecond;
+        this.leaseSize = Math.max(1, permitsPerSecond / LEASES_PER_WINDOW);
+    }
+
+    @Override
+    public void onRetry(Attempt<V> attempt) {
+        if (tryAcquire()) {
+            delegate.onRetry(attempt);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long window = (System.nanoTime() - origin) / WINDOW_NANOS;
+        Lease lease = leases.get();
+        if (lease.window == window && lease.permits > 0) {
+            lease.permits--;
+            return true;
+        }
+        long granted = lease(window);
+        if (granted == 0L) {
+            return false;
+        }
+        lease.window = window;
+        lease.permits = granted - 1L;
+        return true;
+    }
+
+    /**
+     * @return the number of permits leased from the given window, 0 if it is exhausted
+     */
+    private long lease(long window) {
+        for (; ; ) {
+            long current = state.get();
+            long currentWindow = current >>> 32;
+            long leased = current & 0xFFFFFFFFL;
+            long granted;
+            long next;
+            if (currentWindow == window) {
+                if (leased >= permitsPerSecond) {
+                    return 0L;
+                }
+                granted = Math.min(leaseSize, permitsPerSecond - leased);
+                next = current + granted;
+            } else if (currentWindow < window) {
+                granted = leaseSize;
+                next = (window << 32) | granted;
+            } else {
+                // another thread already moved to a later window
+                return 0L;
+            }
+            if (state.compareAndSet(current, next)) {
+                return granted;
+            }
+        }
+    }
+
+    private static final class Lease {
+        private long window = -1L;
+        private long permits;
+    }
+}
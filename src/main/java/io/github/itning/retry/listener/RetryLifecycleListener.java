@@ -0,0 +1,89 @@
+package io.github.itning.retry.listener;
+
+import io.github.itning.retry.Attempt;
+import io.github.itning.retry.Retryer;
+
+/**
+ * A {@link RetryListener} notified of every phase of a {@link Retryer} call, not only of the
+ * retries. All the methods do nothing by default, so that an implementation only overrides
+ * the phases it is interested in.
+ * <p>
+ * The callbacks are invoked on the calling thread, and receive the reading of the retryer
+ * ticker, {@link System#nanoTime()} by default, taken at that phase, so that listeners measuring latencies do not need
+ * to read the clock again. The timestamps of a call are only comparable with each other.
+ * Exactly one of {@link #onComplete}, {@link #onGiveUp} and {@link #onInterrupted} ends a call
+ * which made at least one attempt, even if a strategy or another listener throws; a listener
+ * throwing only skips the listeners after it for the same phase.
+ *
+ * @param <V> the type returned by the retryer callable
+ * @author itning
+ * @since 3.1.0
+ */
+public interface RetryLifecycleListener<V> extends RetryListener<V> {
+
+    /**
+     * Invoked when the call starts, before the first attempt.
+     *
+     * @param startNanos the time the call started at
+     */
+    default void onCallStart(long startNanos) {
+    }
+
+    /**
+     * Invoked before each attempt.
+     *
+     * @param attemptNumber the number of the attempt about to be made, starting from 1
+     * @param startNanos    the time the attempt starts at
+     */
+    default void onAttemptStart(long attemptNumber, long startNanos) {
+    }
+
+    /**
+     * Invoked after each attempt, whatever its outcome, before it is judged.
+     *
+     * @param attempt  the attempt which just ended
+     * @param endNanos the time the attempt ended at
+     */
+    default void onAttemptEnd(Attempt<V> attempt, long endNanos) {
+    }
+
+    /**
+     * Invoked when an attempt was rejected and the retryer is about to sleep before the next one.
+     *
+     * @param attempt the rejected {@link Attempt}
+     */
+    @Override
+    default void onRetry(Attempt<V> attempt) {
+    }
+
+    /**
+     * Invoked when an attempt is accepted and the call is about to return its result, or to
+     * throw its exception wrapped into an <code>ExecutionException</code>.
+     *
+     * @param attempt  the accepted attempt
+     * @param endNanos the time the call ended at
+     */
+    default void onComplete(Attempt<V> attempt, long endNanos) {
+    }
+
+    /**
+     * Invoked when the call gives up because the stop strategy decided to stop retrying,
+     * the deadline of the call was exceeded, or a strategy or a listener threw an exception,
+     * which the call then rethrows.
+     *
+     * @param lastAttempt the last, rejected attempt
+     * @param endNanos    the time the call ended at
+     */
+    default void onGiveUp(Attempt<V> lastAttempt, long endNanos) {
+    }
+
+    /**
+     * Invoked when the call gives up because the thread was interrupted while blocking
+     * before the next attempt.
+     *
+     * @param lastAttempt the last, rejected attempt
+     * @param endNanos    the time the call ended at
+     */
+    default void onInterrupted(Attempt<V> lastAttempt, long endNanos) {
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.itning.retry.listener;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * Factory class for {@link RetryListener} decorators.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class RetryListeners {
+
+    private static final int DEFAULT_SAMPLE_RATE = 10;
+
+    private RetryListeners() {
+    }
+
+    /**
+     * Returns a listener invoking the given listener on a dedicated thread, through a bounded
+     * ring buffer, so that a slow listener does not slow down the retries. With
+     * {@link OverflowPolicy#SAMPLE}, 1 in 10 events is admitted once the buffer is half full.
+     * Close the returned listener to stop its thread. Only {@link RetryListener#onRetry} is
+     * forwarded, so the listener may not be a {@link RetryLifecycleListener}.
+     *
+     * @param listener       the listener to invoke asynchronously
+     * @param capacity       the number of events the buffer holds, rounded up to a power of two
+     * @param overflowPolicy what to do with an event published while the buffer is full
+     * @param <V>            the type returned by the retryer callable
+     * @return an asynchronous listener
+     * @throws IllegalArgumentException if the listener is a {@link RetryLifecycleListener}
+     */
+    public static <V> AsyncRetryListener<V> async(@Nonnull RetryListener<V> listener, int capacity, @Nonnull OverflowPolicy overflowPolicy) {
+        Objects.requireNonNull(listener, "listener may not be null");
+        return new AsyncRetryListener<>(listener, capacity, overflowPolicy, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Returns a listener invoking the given listener for 1 in {@code rate} retried attempts,
+     * chosen at random. Only {@link RetryListener#onRetry} is forwarded.
+     *
+     * @param listener the listener to invoke for the sampled attempts
+     * @param rate     the inverse of the fraction of attempts forwarded to the listener
+     * @param <V>      the type returned by the retryer callable
+     * @return a sampling listener
+     * @throws IllegalArgumentException if the rate is &lt; 1
+     */
+    public static <V> RetryListener<V> sampled(@Nonnull RetryListener<V> listener, int rate) {
+        return new SampledRetryListener<>(listener, rate);
+    }
+
+    /**
+     * Returns a listener invoking the given listener for at most {@code permitsPerSecond}
+     * retried attempts per second, the other attempts being discarded. Only
+     * {@link RetryListener#onRetry} is forwarded.
+     *
+     * @param listener         the listener to invoke for the admitted attempts
+     * @param permitsPerSecond the maximum number of attempts forwarded per second
+     * @param <V>              the type returned by the retryer callable
+     * @return a rate-limited listener
+     * @throws IllegalArgumentException if the number of permits is &lt; 1
+     */
+    public static <V> RetryListener<V> rateLimited(@Nonnull RetryListener<V> listener, int permitsPerSecond) {
+        return new RateLimitedRetryListener<>(listener, permitsPerSecond);
+    }
+
+    /**
+     * Returns a listener invoking the given listener for the first attempt of each call, and for
+     * the {@link RetryLifecycleListener#onComplete completion}, {@link RetryLifecycleListener#onGiveUp give-up}
+     * or {@link RetryLifecycleListener#onInterrupted interruption} ending the call.
+     *
+     * @param listener the listener to invoke for the first and final attempts
+     * @param <V>      the type returned by the retryer callable
+     * @return a listener discarding the intermediate attempts
+     */
+    public static <V> RetryLifecycleListener<V> firstAndLast(@Nonnull RetryLifecycleListener<V> listener) {
+        return new FirstAndLastRetryListener<>(listener);
+    }
+}
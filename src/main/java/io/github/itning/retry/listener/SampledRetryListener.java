@@ -0,0 +1,37 @@
+package io.github.itning.retry.listener;
+
+import io.github.itning.retry.Attempt;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A listener invoking the delegate listener for 1 in N retried attempts, chosen at random.
+ * The decision is a single draw from {@link ThreadLocalRandom}, without any shared state.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class SampledRetryListener<V> implements RetryListener<V> {
+    private final RetryListener<V> delegate;
+    private final int rate;
+
+    public SampledRetryListener(@Nonnull RetryListener<V> delegate, int rate) {
+        Objects.requireNonNull(delegate, "delegate may not be null");
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate must be >= 1 but is " + rate);
+        }
+        this.delegate = delegate;
+        this.rate = rate;
+    }
+
+    @Override
+    public void onRetry(Attempt<V> attempt) {
+        if (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0) {
+            delegate.onRetry(attempt);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.itning.retry.metrics;
+
+import io.github.itning.retry.Retryer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.itning.retry.metrics.MappedCountersLayout.*;
+
+/**
+ * Exports the counters of named retryers into a memory-mapped file with a fixed binary layout,
+ * so that another process can scrape them with a {@link MappedCountersReader} without touching
+ * this JVM.
+ * <p></p>
+ * The retryers keep counting with a {@link RetryStatistics} listener, which only updates
+ * {@link java.util.concurrent.atomic.LongAdder}s; a single daemon thread copies the counters
+ * into the file at a fixed interval. Each record is guarded by a sequence number, odd while the
+ * record is being written, so that a reader can detect and retry a torn read. Release fences
+ * around the counters keep the stores to the mapped buffer from being reordered with the
+ * stores to the sequence.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class MappedCountersExporter implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final RetryStatistics<?>[] statistics;
+    private final Retryer<?>[] retryers;
+    private final long[] counters = new long[COUNTER_COUNT];
+    private final ScheduledExecutorService flusher;
+    private int recordCount;
+    private boolean closed;
+
+    private MappedCountersExporter(FileChannel channel, MappedByteBuffer buffer, int capacity, long flushInterval, TimeUnit timeUnit) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.statistics = new RetryStatistics<?>[capacity];
+        this.retryers = new Retryer<?>[capacity];
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "guava-retrying-counters-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, timeUnit);
+    }
+
+    /**
+     * Creates the file, or truncates it if it exists, and starts exporting into it.
+     *
+     * @param file          the file to map
+     * @param capacity      the maximum number of retryers exported
+     * @param flushInterval the interval between two copies of the counters into the file
+     * @param timeUnit      the unit of the interval
+     * @return a new exporter, with no retryer registered yet
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedCountersExporter create(@Nonnull Path file, int capacity, long flushInterval, @Nonnull TimeUnit timeUnit) throws IOException {
+        Objects.requireNonNull(file, "file may not be null");
+        Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1 but is " + capacity);
+        }
+        if (flushInterval <= 0L) {
+            throw new IllegalArgumentException("flushInterval must be > 0 but is " + flushInterval);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, fileLength(capacity));
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            buffer.putInt(RECORD_LENGTH_OFFSET, RECORD_LENGTH);
+            buffer.putInt(RECORD_COUNT_OFFSET, 0);
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            return new MappedCountersExporter(channel, buffer, capacity, flushInterval, timeUnit);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts exporting the counters of the given retryer, by adding a statistics listener to it.
+     * The name of the retryer is truncated to 52 UTF-8 bytes in the file.
+     *
+     * @param retryer the retryer to export, which must have a name
+     * @param <V>     the type returned by the retryer callable
+     * @return the statistics listener added to the retryer
+     * @throws IllegalArgumentException if the retryer has no name
+     * @throws IllegalStateException    if the capacity of the file is exhausted or the exporter is closed
+     */
+    public synchronized <V> RetryStatistics<V> register(@Nonnull Retryer<V> retryer) {
+        Objects.requireNonNull(retryer, "retryer may not be null");
+        if (retryer.getName() == null) {
+            throw new IllegalArgumentException("only a named retryer can be exported");
+        }
+        if (closed) {
+            throw new IllegalStateException("the exporter is closed");
+        }
+        if (recordCount == capacity) {
+            throw new IllegalStateException("no room left for retryer " + retryer.getName() + ", capacity is " + capacity);
+        }
+        int offset = recordOffset(recordCount);
+        byte[] name = encodeName(retryer.getName());
+        buffer.putInt(offset + NAME_LENGTH_OFFSET, name.length);
+        for (int i = 0; i < name.length; i++) {
+            buffer.put(offset + NAME_OFFSET + i, name[i]);
+        }
+        RetryStatistics<V> retryerStatistics = new RetryStatistics<>();
+        statistics[recordCount] = retryerStatistics;
+        retryers[recordCount] = retryer;
+        MemoryFences.releaseFence();
+        buffer.putInt(RECORD_COUNT_OFFSET, ++recordCount);
+        retryer.addListener(retryerStatistics);
+        return retryerStatistics;
+    }
+
+    /**
+     * Copies the counters of all the registered retryers into the file. This is done periodically
+     * by the exporter thread, but may also be called directly.
+     */
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        for (int i = 0; i < recordCount; i++) {
+            RetryStatistics<?> stats = statistics[i];
+            counters[0] = stats.getCalls();
+            counters[1] = stats.getAttempts();
+            counters[2] = stats.getRetries();
+            counters[3] = stats.getCompleted();
+            counters[4] = stats.getGivenUp();
+            counters[5] = stats.getInterrupted();
+            counters[6] = stats.getInFlight();
+            counters[7] = stats.getTotalBackoffNanos();
+
+            int offset = recordOffset(i);
+            long sequence = buffer.getLong(offset + SEQUENCE_OFFSET);
+            buffer.putLong(offset + SEQUENCE_OFFSET, sequence + 1L);
+            MemoryFences.releaseFence();
+            for (int c = 0; c < COUNTER_COUNT; c++) {
+                buffer.putLong(offset + COUNTERS_OFFSET + c * 8, counters[c]);
+            }
+            MemoryFences.releaseFence();
+            buffer.putLong(offset + SEQUENCE_OFFSET, sequence + 2L);
+        }
+    }
+
+    /**
+     * Flushes the counters a last time, stops the exporter thread and removes the statistics
+     * listeners from the retryers. The file is left in place.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            flush();
+            closed = true;
+            for (int i = 0; i < recordCount; i++) {
+                removeListener(retryers[i], statistics[i]);
+            }
+        }
+        buffer.force();
+        channel.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void removeListener(Retryer<V> retryer, RetryStatistics<?> statistics) {
+        retryer.removeListener((RetryStatistics<V>) statistics);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.itning.retry.metrics;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary layout of the file shared by {@link MappedCountersExporter} and
+ * {@link MappedCountersReader}, in native byte order:
+ * <pre>
+ * header, 64 bytes:
+ *   0  int  magic, "RTRY"
+ *   4  int  layout version
+ *   8  int  record capacity
+ *   12 int  record length
+ *   16 int  number of records in use, written once the record is initialized
+ * record i, 128 bytes, at 64 + i * 128:
+ *   0  long sequence, odd while the writer updates the record
+ *   8  int  length of the retryer name
+ *   12 ...  retryer name, UTF-8, up to 52 bytes
+ *   64 long calls, attempts, retries, completed, given up, interrupted, in flight, backoff nanos
+ * </pre>
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class MappedCountersLayout {
+    static final int MAGIC = 0x59525452;
+    static final int VERSION = 1;
+
+    static final int HEADER_LENGTH = 64;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int CAPACITY_OFFSET = 8;
+    static final int RECORD_LENGTH_OFFSET = 12;
+    static final int RECORD_COUNT_OFFSET = 16;
+
+    static final int RECORD_LENGTH = 128;
+    static final int SEQUENCE_OFFSET = 0;
+    static final int NAME_LENGTH_OFFSET = 8;
+    static final int NAME_OFFSET = 12;
+    static final int MAX_NAME_LENGTH = 52;
+    static final int COUNTERS_OFFSET = 64;
+    static final int COUNTER_COUNT = 8;
+
+    private MappedCountersLayout() {
+    }
+
+    static int recordOffset(int index) {
+        return HEADER_LENGTH + index * RECORD_LENGTH;
+    }
+
+    static long fileLength(int capacity) {
+        return HEADER_LENGTH + (long) capacity * RECORD_LENGTH;
+    }
+
+    /**
+     * @return the UTF-8 bytes of the longest prefix of the name fitting in a record
+     */
+    static byte[] encodeName(String name) {
+        String prefix = name;
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > MAX_NAME_LENGTH) {
+            prefix = prefix.substring(0, prefix.length() - 1);
+            bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    static String decodeName(ByteBuffer buffer, int recordOffset) {
+        int length = Math.min(Math.max(buffer.getInt(recordOffset + NAME_LENGTH_OFFSET), 0), MAX_NAME_LENGTH);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(recordOffset + NAME_OFFSET + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.itning.retry.metrics;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static io.github.itning.retry.metrics.MappedCountersLayout.*;
+
+/**
+ * Reads the counters written by a {@link MappedCountersExporter}, possibly from another process.
+ * Its {@link #main} method prints them, once or periodically:
+ * <pre>
+ * java -cp guava-retrying3.jar io.github.itning.retry.metrics.MappedCountersReader &lt;file&gt; [intervalMillis]
+ * </pre>
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class MappedCountersReader implements AutoCloseable {
+    private static final int MAX_READ_ATTEMPTS = 100;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int tornRecordCount;
+
+    /**
+     * Maps the given file.
+     *
+     * @param file a file written by a {@link MappedCountersExporter}
+     * @throws IOException if the file cannot be mapped or was not written by an exporter
+     */
+    public MappedCountersReader(@Nonnull Path file) throws IOException {
+        Objects.requireNonNull(file, "file may not be null");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_LENGTH) {
+                throw new IOException(file + " is not a retry counters file");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0L, HEADER_LENGTH);
+            header.order(ByteOrder.nativeOrder());
+            if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION
+                    || header.getInt(RECORD_LENGTH_OFFSET) != RECORD_LENGTH) {
+                throw new IOException(file + " is not a retry counters file of version " + VERSION);
+            }
+            this.capacity = header.getInt(CAPACITY_OFFSET);
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, fileLength(capacity));
+            this.buffer.order(ByteOrder.nativeOrder());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the counters of all the exported retryers. A record being written is read again,
+     * and skipped if it could not be read consistently after a number of tries, in which case
+     * it is counted by {@link #getTornRecordCount()}.
+     *
+     * @return the counters of the exported retryers, in the order they were registered
+     */
+    public List<RetryCounters> read() {
+        int recordCount = Math.min(buffer.getInt(RECORD_COUNT_OFFSET), capacity);
+        MemoryFences.acquireFence();
+        tornRecordCount = 0;
+        List<RetryCounters> result = new ArrayList<>(recordCount);
+        long[] counters = new long[COUNTER_COUNT];
+        for (int i = 0; i < recordCount; i++) {
+            int offset = recordOffset(i);
+            String name = decodeName(buffer, offset);
+            boolean consistent = false;
+            for (int tries = 0; tries < MAX_READ_ATTEMPTS && !consistent; tries++) {
+                long before = buffer.getLong(offset + SEQUENCE_OFFSET);
+                if ((before & 1L) != 0L) {
+                    Thread.yield();
+                    continue;
+                }
+                MemoryFences.acquireFence();
+                for (int c = 0; c < COUNTER_COUNT; c++) {
+                    counters[c] = buffer.getLong(offset + COUNTERS_OFFSET + c * 8);
+                }
+                MemoryFences.acquireFence();
+                consistent = buffer.getLong(offset + SEQUENCE_OFFSET) == before;
+            }
+            if (consistent) {
+                result.add(new RetryCounters(name, counters));
+            } else {
+                tornRecordCount++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of records the last {@link #read()} skipped because they were still
+     * being written after a number of tries, which happens if the exporting process died in the
+     * middle of a flush
+     */
+    public int getTornRecordCount() {
+        return tornRecordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("usage: MappedCountersReader <file> [intervalMillis]");
+            System.exit(2);
+        }
+        long interval = args.length == 2 ? Long.parseLong(args[1]) : 0L;
+        try (MappedCountersReader reader = new MappedCountersReader(Paths.get(args[0]))) {
+            do {
+                System.out.printf("%-52s %12s %12s %12s %12s %12s %12s %10s %16s%n", "retryer", "calls", "attempts",
+                        "retries", "completed", "givenUp", "interrupted", "inFlight", "backoffMillis");
+                for (RetryCounters c : reader.read()) {
+                    System.out.printf("%-52s %12d %12d %12d %12d %12d %12d %10d %16d%n", c.getName(), c.getCalls(), c.getAttempts(),
+                            c.getRetries(), c.getCompleted(), c.getGivenUp(), c.getInterrupted(), c.getInFlight(),
+                            c.getBackoffNanos() / 1_000_000L);
+                }
+                if (reader.getTornRecordCount() > 0) {
+                    System.err.println(reader.getTornRecordCount() + " records could not be read consistently");
+                }
+                if (interval > 0L) {
+                    Thread.sleep(interval);
+                }
+            } while (interval > 0L);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.itning.retry.metrics;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The counters of a retryer, as read from the file written by a {@link MappedCountersExporter}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class RetryCounters {
+    private final String name;
+    private final long calls;
+    private final long attempts;
+    private final long retries;
+    private final long completed;
+    private final long givenUp;
+    private final long interrupted;
+    private final long inFlight;
+    private final long backoffNanos;
+
+    RetryCounters(String name, long[] counters) {
+        this.name = name;
+        this.calls = counters[0];
+        this.attempts = counters[1];
+        this.retries = counters[2];
+        this.completed = counters[3];
+        this.givenUp = counters[4];
+        this.interrupted = counters[5];
+        this.inFlight = counters[6];
+        this.backoffNanos = counters[7];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getGivenUp() {
+        return givenUp;
+    }
+
+    public long getInterrupted() {
+        return interrupted;
+    }
+
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return the total time spent between attempts by the ended calls, in nanoseconds
+     */
+    public long getBackoffNanos() {
+        return backoffNanos;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{calls=" + calls + ", attempts=" + attempts + ", retries=" + retries + ", completed=" + completed
+                + ", givenUp=" + givenUp + ", interrupted=" + interrupted + ", inFlight=" + inFlight
+                + ", backoffNanos=" + backoffNanos + '}';
+    }
+}
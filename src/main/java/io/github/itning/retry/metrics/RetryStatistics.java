@@ -0,0 +1,153 @@
+package io.github.itning.retry.metrics;
+
+import io.github.itning.retry.Attempt;
+import io.github.itning.retry.listener.RetryLifecycleListener;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A listener counting the calls, attempts and outcomes of the retryers it is registered on.
+ * Counters are {@link LongAdder}s, so that concurrent calls do not contend on them; the values
+ * read while calls are running are not an atomic snapshot.
+ *
+ * @param <V> the type returned by the retryer callable
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class RetryStatistics<V> implements RetryLifecycleListener<V> {
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder givenUp = new LongAdder();
+    private final LongAdder interrupted = new LongAdder();
+    private final LongAdder attemptNanos = new LongAdder();
+    private final LongAdder backoffNanos = new LongAdder();
+
+    @Override
+    public void onCallStart(long startNanos) {
+        calls.increment();
+        inFlight.increment();
+    }
+
+    @Override
+    public void onAttemptEnd(Attempt<V> attempt, long endNanos) {
+        attempts.increment();
+        attemptNanos.add(attempt.getAttemptDurationNanos());
+    }
+
+    @Override
+    public void onRetry(Attempt<V> attempt) {
+        retries.increment();
+    }
+
+    @Override
+    public void onComplete(Attempt<V> attempt, long endNanos) {
+        completed.increment();
+        endCall(attempt);
+    }
+
+    @Override
+    public void onGiveUp(Attempt<V> lastAttempt, long endNanos) {
+        givenUp.increment();
+        endCall(lastAttempt);
+    }
+
+    @Override
+    public void onInterrupted(Attempt<V> lastAttempt, long endNanos) {
+        interrupted.increment();
+        endCall(lastAttempt);
+    }
+
+    private void endCall(Attempt<V> lastAttempt) {
+        inFlight.decrement();
+        backoffNanos.add(lastAttempt.getCumulativeBackoffNanos());
+    }
+
+    /**
+     * @return the number of calls started
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the number of calls started and not ended yet
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * @return the number of attempts made
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * @return the number of rejected attempts which were retried
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the number of calls which ended with an accepted attempt
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of calls which gave up, because of the stop strategy or the deadline
+     */
+    public long getGivenUp() {
+        return givenUp.sum();
+    }
+
+    /**
+     * @return the number of calls which were interrupted
+     */
+    public long getInterrupted() {
+        return interrupted.sum();
+    }
+
+    /**
+     * @return the total time spent in attempts, in nanoseconds
+     */
+    public long getTotalAttemptNanos() {
+        return attemptNanos.sum();
+    }
+
+    /**
+     * @return the total time spent between attempts by the ended calls, in nanoseconds
+     */
+    public long getTotalBackoffNanos() {
+        return backoffNanos.sum();
+    }
+
+    /**
+     * Resets all the counters but the number of calls in flight.
+     */
+    public void reset() {
+        calls.reset();
+        attempts.reset();
+        retries.reset();
+        completed.reset();
+        givenUp.reset();
+        interrupted.reset();
+        attemptNanos.reset();
+        backoffNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStatistics{calls=" + getCalls() + ", inFlight=" + getInFlight() + ", attempts=" + getAttempts()
+                + ", retries=" + getRetries() + ", completed=" + getCompleted() + ", givenUp=" + getGivenUp()
+                + ", interrupted=" + getInterrupted() + '}';
+    }
+}
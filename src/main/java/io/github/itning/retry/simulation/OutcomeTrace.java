@@ -0,0 +1,284 @@
+package io.github.itning.retry.simulation;
+
+import io.github.itning.retry.journal.JournalRecord;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A recording of the outcomes of a downstream service over time, replayed by a
+ * {@link PolicyReplay}. Each sample tells what an attempt made at a point in time got back,
+ * and how long it took; an attempt made between two samples gets the outcome of the
+ * earlier one.
+ * <p></p>
+ * A trace is usually read from a CSV file with one sample per line, ordered by time:
+ * <pre>
+ * # timeMillis,latencyMillis,result|exception,value
+ * 0,12,result,200
+ * 15,30,exception,java.net.SocketTimeoutException
+ * 40,11,result,503
+ * </pre>
+ * or built from the records of an {@link io.github.itning.retry.journal.AttemptJournal}.
+ * Exceptions are instantiated once per class name when the trace is built, from their public
+ * no-arg constructor if they have one, and are otherwise replaced by a {@link ReplayedException}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class OutcomeTrace {
+    private final long[] timesMillis;
+    private final long[] latenciesMillis;
+    private final String[] results;
+    private final Throwable[] exceptions;
+
+    private OutcomeTrace(long[] timesMillis, long[] latenciesMillis, String[] results, Throwable[] exceptions) {
+        this.timesMillis = timesMillis;
+        this.latenciesMillis = latenciesMillis;
+        this.results = results;
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * Reads a trace in the CSV format described above. Blank lines and lines starting with
+     * <code>#</code> are ignored.
+     *
+     * @param reader the CSV input, which is not closed
+     * @return the trace
+     * @throws IOException if the input cannot be read
+     */
+    public static OutcomeTrace readCsv(@Nonnull Reader reader) throws IOException {
+        Objects.requireNonNull(reader, "reader may not be null");
+        Builder builder = newBuilder();
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split(",", 4);
+            if (columns.length != 4) {
+                throw new IOException("line " + lineNumber + " does not have 4 columns: " + line);
+            }
+            try {
+                long time = Long.parseLong(columns[0].trim());
+                long latency = Long.parseLong(columns[1].trim());
+                String kind = columns[2].trim();
+                if ("result".equals(kind)) {
+                    builder.addResult(time, latency, columns[3].trim());
+                } else if ("exception".equals(kind)) {
+                    builder.addException(time, latency, columns[3].trim());
+                } else {
+                    throw new IOException("line " + lineNumber + " has an unknown outcome kind: " + kind);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("line " + lineNumber + " is invalid: " + e.getMessage(), e);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads a trace from a CSV file encoded in UTF-8.
+     *
+     * @param file the CSV file
+     * @return the trace
+     * @throws IOException if the file cannot be read
+     * @see #readCsv(Reader)
+     */
+    public static OutcomeTrace readCsv(@Nonnull Path file) throws IOException {
+        Objects.requireNonNull(file, "file may not be null");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return readCsv(reader);
+        }
+    }
+
+    /**
+     * Builds a trace from the attempts of a retryer recorded by an attempt journal. The attempts
+     * which did not throw have the result <code>"ok"</code>, since the journal does not record results.
+     *
+     * @param records     the journal records, in the order they were appended
+     * @param retryerName the retryer whose attempts make up the trace
+     * @return the trace, starting at the first attempt of the retryer
+     */
+    public static OutcomeTrace fromJournal(@Nonnull List<JournalRecord> records, @Nonnull String retryerName) {
+        Objects.requireNonNull(records, "records may not be null");
+        Objects.requireNonNull(retryerName, "retryerName may not be null");
+        Builder builder = newBuilder();
+        long origin = -1L;
+        for (JournalRecord record : records) {
+            if (!retryerName.equals(record.getRetryerName())) {
+                continue;
+            }
+            // the journal records the end of the attempts
+            long start = record.getTimestampMillis() - record.getDurationNanos() / 1_000_000L;
+            if (origin < 0L) {
+                origin = start;
+            }
+            long time = Math.max(start - origin, builder.lastTime);
+            long latency = record.getDurationNanos() / 1_000_000L;
+            if (record.getExceptionClassName() == null) {
+                builder.addResult(time, latency, "ok");
+            } else {
+                builder.addException(time, latency, record.getExceptionClassName());
+            }
+        }
+        return builder.build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of samples of this trace
+     */
+    public int size() {
+        return timesMillis.length;
+    }
+
+    /**
+     * @return the time of the last sample, in milliseconds
+     */
+    public long getDurationMillis() {
+        return timesMillis.length == 0 ? 0L : timesMillis[timesMillis.length - 1];
+    }
+
+    /**
+     * @return the time of the given sample, in milliseconds since the start of the trace
+     */
+    public long getTimeMillis(int sample) {
+        return timesMillis[sample];
+    }
+
+    /**
+     * Returns the sample describing the outcome of an attempt made at the given time.
+     *
+     * @param timeMillis a time since the start of the trace, in milliseconds
+     * @return the index of the last sample at or before the time, or 0 if the time is before the first sample
+     */
+    public int sampleAt(long timeMillis) {
+        int index = Arrays.binarySearch(timesMillis, timeMillis);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            // several samples may share the same time
+            while (index + 1 < timesMillis.length && timesMillis[index + 1] == timeMillis) {
+                index++;
+            }
+        }
+        return Math.max(index, 0);
+    }
+
+    long getLatencyMillis(int sample) {
+        return latenciesMillis[sample];
+    }
+
+    String getResult(int sample) {
+        return results[sample];
+    }
+
+    Throwable getException(int sample) {
+        return exceptions[sample];
+    }
+
+    /**
+     * Builds an {@link OutcomeTrace} sample by sample, in time order.
+     */
+    public static final class Builder {
+        private final Map<String, Throwable> exceptionsByClassName = new HashMap<>();
+        private long[] times = new long[64];
+        private long[] latencies = new long[64];
+        private String[] results = new String[64];
+        private Throwable[] exceptions = new Throwable[64];
+        private int size;
+        private long lastTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a sample of an attempt which returned a result.
+         *
+         * @param timeMillis    the time of the sample, in milliseconds since the start of the trace
+         * @param latencyMillis the time the attempt took, in milliseconds
+         * @param result        the result, as matched by the rejection predicate of a {@link ReplayPolicy}
+         * @return <code>this</code>
+         */
+        public Builder addResult(long timeMillis, long latencyMillis, @Nonnull String result) {
+            Objects.requireNonNull(result, "result may not be null");
+            add(timeMillis, latencyMillis, result, null);
+            return this;
+        }
+
+        /**
+         * Adds a sample of an attempt which threw an exception.
+         *
+         * @param timeMillis         the time of the sample, in milliseconds since the start of the trace
+         * @param latencyMillis      the time the attempt took, in milliseconds
+         * @param exceptionClassName the class name of the exception
+         * @return <code>this</code>
+         */
+        public Builder addException(long timeMillis, long latencyMillis, @Nonnull String exceptionClassName) {
+            Objects.requireNonNull(exceptionClassName, "exceptionClassName may not be null");
+            add(timeMillis, latencyMillis, null, exceptionsByClassName.computeIfAbsent(exceptionClassName, Builder::instantiate));
+            return this;
+        }
+
+        private void add(long timeMillis, long latencyMillis, String result, Throwable exception) {
+            if (timeMillis < lastTime) {
+                throw new IllegalArgumentException("timeMillis must be >= " + lastTime + " but is " + timeMillis);
+            }
+            if (latencyMillis < 0L) {
+                throw new IllegalArgumentException("latencyMillis must be >= 0 but is " + latencyMillis);
+            }
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                latencies = Arrays.copyOf(latencies, capacity);
+                results = Arrays.copyOf(results, capacity);
+                exceptions = Arrays.copyOf(exceptions, capacity);
+            }
+            times[size] = timeMillis;
+            latencies[size] = latencyMillis;
+            results[size] = result;
+            exceptions[size] = exception;
+            size++;
+            lastTime = timeMillis;
+        }
+
+        private static Throwable instantiate(String className) {
+            try {
+                Class<?> type = Class.forName(className, false, OutcomeTrace.class.getClassLoader());
+                if (Throwable.class.isAssignableFrom(type)) {
+                    return (Throwable) type.getConstructor().newInstance();
+                }
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // fall through
+            }
+            return new ReplayedException(className);
+        }
+
+        public OutcomeTrace build() {
+            if (size == 0) {
+                throw new IllegalStateException("a trace needs at least one sample");
+            }
+            return new OutcomeTrace(Arrays.copyOf(times, size), Arrays.copyOf(latencies, size),
+                    Arrays.copyOf(results, size), Arrays.copyOf(exceptions, size));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.itning.retry.simulation;
+
+import io.github.itning.retry.Attempt;
+import io.github.itning.retry.strategy.stop.StopStrategy;
+import io.github.itning.retry.strategy.wait.WaitStrategy;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Replays retry policies against an {@link OutcomeTrace} in virtual time, to compare them
+ * offline before choosing one: nothing sleeps and nothing is called, so that thousands of
+ * policies can be replayed against a trace of hours in seconds.
+ * <p></p>
+ * A call starts at the time of each sample of the trace. Each attempt gets the outcome and
+ * the latency of the sample in effect when it starts, and the next attempt starts after the
+ * latency plus the sleep time computed by the wait strategy. Stop strategies based on the
+ * delay since the first attempt therefore see virtual time; the attempt time limiter, the
+ * block strategy and the listeners of a retryer play no part.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class PolicyReplay {
+    /**
+     * The number of attempts after which a call which never stops is counted as given up.
+     */
+    public static final int MAX_ATTEMPTS_PER_CALL = 10_000;
+
+    private PolicyReplay() {
+    }
+
+    /**
+     * Replays a policy against a trace.
+     *
+     * @param trace  the recorded outcomes of the downstream service
+     * @param policy the policy to replay
+     * @return the outcome of the calls
+     */
+    public static ReplayReport replay(@Nonnull OutcomeTrace trace, @Nonnull ReplayPolicy policy) {
+        Objects.requireNonNull(trace, "trace may not be null");
+        Objects.requireNonNull(policy, "policy may not be null");
+        StopStrategy stopStrategy = policy.getStopStrategy();
+        WaitStrategy waitStrategy = policy.getWaitStrategy();
+        Predicate<Attempt<String>> rejectionPredicate = policy.getRejectionPredicate();
+        long[] latencies = new long[trace.size()];
+        long successes = 0L;
+        long failures = 0L;
+        long giveUps = 0L;
+        long attempts = 0L;
+        for (int call = 0; call < latencies.length; call++) {
+            long callStart = TimeUnit.MILLISECONDS.toNanos(trace.getTimeMillis(call));
+            long start = callStart;
+            long backoff = 0L;
+            for (long attemptNumber = 1; ; attemptNumber++) {
+                int sample = trace.sampleAt(TimeUnit.NANOSECONDS.toMillis(start));
+                long end = start + TimeUnit.MILLISECONDS.toNanos(trace.getLatencyMillis(sample));
+                ReplayedAttempt attempt = new ReplayedAttempt(attemptNumber, trace.getResult(sample), trace.getException(sample),
+                        callStart, start, end, backoff);
+                attempts++;
+                if (!rejectionPredicate.test(attempt)) {
+                    if (attempt.hasResult()) {
+                        successes++;
+                    } else {
+                        failures++;
+                    }
+                    latencies[call] = TimeUnit.NANOSECONDS.toMillis(end - callStart);
+                    break;
+                }
+                if (stopStrategy.shouldStop(attempt) || attemptNumber >= MAX_ATTEMPTS_PER_CALL) {
+                    giveUps++;
+                    latencies[call] = TimeUnit.NANOSECONDS.toMillis(end - callStart);
+                    break;
+                }
+                long sleepNanos = TimeUnit.MILLISECONDS.toNanos(waitStrategy.computeSleepTime(attempt));
+                backoff += sleepNanos;
+                start = end + sleepNanos;
+            }
+        }
+        return new ReplayReport(policy.getName(), successes, failures, giveUps, attempts, latencies);
+    }
+
+    /**
+     * Replays several policies against the same trace in parallel, on the common fork-join pool.
+     * The strategies and the predicates of the policies must therefore be thread-safe, which the
+     * ones provided by this library are.
+     *
+     * @param trace    the recorded outcomes of the downstream service
+     * @param policies the policies to replay
+     * @return the reports, in the iteration order of the policies
+     */
+    public static List<ReplayReport> sweep(@Nonnull OutcomeTrace trace, @Nonnull Collection<ReplayPolicy> policies) {
+        Objects.requireNonNull(trace, "trace may not be null");
+        Objects.requireNonNull(policies, "policies may not be null");
+        return policies.parallelStream()
+                .map(policy -> replay(trace, policy))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.itning.retry.simulation;
+
+import io.github.itning.retry.Attempt;
+import io.github.itning.retry.strategy.stop.StopStrategy;
+import io.github.itning.retry.strategy.wait.WaitStrategy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A retry policy replayed by a {@link PolicyReplay}: the strategies and the rejection predicate
+ * a {@link io.github.itning.retry.Retryer} would be built with. The attempts the predicate
+ * judges hold the results of an {@link OutcomeTrace}, which are strings.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class ReplayPolicy {
+    private final String name;
+    private final StopStrategy stopStrategy;
+    private final WaitStrategy waitStrategy;
+    private final Predicate<Attempt<String>> rejectionPredicate;
+
+    /**
+     * @param name               the name the policy is reported under
+     * @param stopStrategy       the stop strategy, which must not depend on the wall clock
+     * @param waitStrategy       the wait strategy
+     * @param rejectionPredicate the predicate telling if an attempt must be retried
+     */
+    public ReplayPolicy(@Nonnull String name, @Nonnull StopStrategy stopStrategy, @Nonnull WaitStrategy waitStrategy,
+                        @Nonnull Predicate<Attempt<String>> rejectionPredicate) {
+        this.name = Objects.requireNonNull(name, "name may not be null");
+        this.stopStrategy = Objects.requireNonNull(stopStrategy, "stopStrategy may not be null");
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy may not be null");
+        this.rejectionPredicate = Objects.requireNonNull(rejectionPredicate, "rejectionPredicate may not be null");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public StopStrategy getStopStrategy() {
+        return stopStrategy;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public Predicate<Attempt<String>> getRejectionPredicate() {
+        return rejectionPredicate;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayPolicy{name='" + name + "'}";
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.itning.retry.simulation;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+
+/**
+ * The outcome of replaying a {@link ReplayPolicy} against an {@link OutcomeTrace}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class ReplayReport {
+    private final String policyName;
+    private final long calls;
+    private final long successes;
+    private final long failures;
+    private final long giveUps;
+    private final long attempts;
+    private final long meanLatencyMillis;
+    private final long p50LatencyMillis;
+    private final long p90LatencyMillis;
+    private final long p99LatencyMillis;
+    private final long p999LatencyMillis;
+    private final long maxLatencyMillis;
+
+    ReplayReport(String policyName, long successes, long failures, long giveUps, long attempts, long[] latenciesMillis) {
+        this.policyName = policyName;
+        this.calls = latenciesMillis.length;
+        this.successes = successes;
+        this.failures = failures;
+        this.giveUps = giveUps;
+        this.attempts = attempts;
+        long[] sorted = latenciesMillis.clone();
+        Arrays.sort(sorted);
+        long total = 0L;
+        for (long latency : sorted) {
+            total += latency;
+        }
+        this.meanLatencyMillis = sorted.length == 0 ? 0L : total / sorted.length;
+        this.p50LatencyMillis = percentile(sorted, 0.5);
+        this.p90LatencyMillis = percentile(sorted, 0.9);
+        this.p99LatencyMillis = percentile(sorted, 0.99);
+        this.p999LatencyMillis = percentile(sorted, 0.999);
+        this.maxLatencyMillis = sorted.length == 0 ? 0L : sorted[sorted.length - 1];
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)];
+    }
+
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    /**
+     * @return the number of calls replayed
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return the number of calls which returned a result
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return the number of calls whose last attempt threw an exception which was not retried
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return the number of calls the stop strategy gave up on
+     */
+    public long getGiveUps() {
+        return giveUps;
+    }
+
+    /**
+     * @return the number of attempts made by all the calls
+     */
+    public long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the ratio of the calls which returned a result
+     */
+    public double getSuccessRate() {
+        return calls == 0L ? 0.0 : (double) successes / calls;
+    }
+
+    /**
+     * @return the number of attempts made per call, that is the load put on the downstream service compared to not retrying
+     */
+    public double getLoadAmplification() {
+        return calls == 0L ? 0.0 : (double) attempts / calls;
+    }
+
+    public long getMeanLatencyMillis() {
+        return meanLatencyMillis;
+    }
+
+    public long getP50LatencyMillis() {
+        return p50LatencyMillis;
+    }
+
+    public long getP90LatencyMillis() {
+        return p90LatencyMillis;
+    }
+
+    public long getP99LatencyMillis() {
+        return p99LatencyMillis;
+    }
+
+    public long getP999LatencyMillis() {
+        return p999LatencyMillis;
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: calls=%d successRate=%.4f amplification=%.3f giveUps=%d failures=%d "
+                        + "latencyMillis[mean=%d p50=%d p90=%d p99=%d p999=%d max=%d]",
+                policyName, calls, getSuccessRate(), getLoadAmplification(), giveUps, failures,
+                meanLatencyMillis, p50LatencyMillis, p90LatencyMillis, p99LatencyMillis, p999LatencyMillis, maxLatencyMillis);
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.itning.retry.simulation;
+
+import io.github.itning.retry.Attempt;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An attempt made in virtual time by a {@link PolicyReplay}. Its timestamps are virtual
+ * nanoseconds since the start of the trace.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+final class ReplayedAttempt implements Attempt<String> {
+    private final long attemptNumber;
+    private final String result;
+    private final Throwable exception;
+    private final long callStartNanos;
+    private final long startNanos;
+    private final long endNanos;
+    private final long cumulativeBackoffNanos;
+
+    ReplayedAttempt(long attemptNumber, String result, Throwable exception, long callStartNanos, long startNanos, long endNanos,
+                    long cumulativeBackoffNanos) {
+        this.attemptNumber = attemptNumber;
+        this.result = result;
+        this.exception = exception;
+        this.callStartNanos = callStartNanos;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+        this.cumulativeBackoffNanos = cumulativeBackoffNanos;
+    }
+
+    @Override
+    public String get() throws ExecutionException {
+        if (exception != null) {
+            throw new ExecutionException(exception);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasResult() {
+        return exception == null;
+    }
+
+    @Override
+    public boolean hasException() {
+        return exception != null;
+    }
+
+    @Override
+    public String getResult() throws IllegalStateException {
+        if (exception != null) {
+            throw new IllegalStateException("The attempt resulted in an exception, not in a result");
+        }
+        return result;
+    }
+
+    @Override
+    public Throwable getExceptionCause() throws IllegalStateException {
+        if (exception == null) {
+            throw new IllegalStateException("The attempt resulted in a result, not in an exception");
+        }
+        return exception;
+    }
+
+    @Override
+    public long getAttemptNumber() {
+        return attemptNumber;
+    }
+
+    @Override
+    public long getDelaySinceFirstAttempt() {
+        return TimeUnit.NANOSECONDS.toMillis(endNanos - callStartNanos);
+    }
+
+    @Override
+    public long getStartTimeNanos() {
+        return startNanos;
+    }
+
+    @Override
+    public long getEndTimeNanos() {
+        return endNanos;
+    }
+
+    @Override
+    public long getCumulativeBackoffNanos() {
+        return cumulativeBackoffNanos;
+    }
+}
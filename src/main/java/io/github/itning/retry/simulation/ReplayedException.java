@@ -0,0 +1,23 @@
+package io.github.itning.retry.simulation;
+
+/**
+ * Stands for an exception of an {@link OutcomeTrace} whose class could not be instantiated.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class ReplayedException extends RuntimeException {
+    private final String exceptionClassName;
+
+    ReplayedException(String exceptionClassName) {
+        super(exceptionClassName, null, false, false);
+        this.exceptionClassName = exceptionClassName;
+    }
+
+    /**
+     * @return the class name recorded in the trace
+     */
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.itning.retry.simulation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stand-in service the clients of a {@link StormSimulation} call: a number of servers
+ * working through a bounded FIFO queue. An attempt is rejected at once when the queue is full,
+ * fails when the client times out before it is served, and otherwise fails with a fixed
+ * probability once served. A server keeps serving a request whose client timed out, as a real
+ * service does, which is the work a retry storm wastes.
+ * <p></p>
+ * The number of servers can change over time, e.g. to model a backend losing half of its capacity.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class ServiceModel {
+    private final int servers;
+    private final int queueCapacity;
+    private final long serviceTimeNanos;
+    private final boolean exponentialServiceTime;
+    private final long timeoutNanos;
+    private final double failureProbability;
+    private final long[] capacityChangeNanos;
+    private final int[] capacityChangeServers;
+
+    private ServiceModel(Builder builder) {
+        this.servers = builder.servers;
+        this.queueCapacity = builder.queueCapacity;
+        this.serviceTimeNanos = builder.serviceTimeNanos;
+        this.exponentialServiceTime = builder.exponentialServiceTime;
+        this.timeoutNanos = builder.timeoutNanos;
+        this.failureProbability = builder.failureProbability;
+        this.capacityChangeNanos = Arrays.copyOf(builder.capacityChangeNanos, builder.capacityChanges);
+        this.capacityChangeServers = Arrays.copyOf(builder.capacityChangeServers, builder.capacityChanges);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of servers at the start of the simulation
+     */
+    public int getServers() {
+        return servers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return the mean time a server takes to serve a request, in nanoseconds
+     */
+    public long getServiceTimeNanos() {
+        return serviceTimeNanos;
+    }
+
+    /**
+     * @return <code>true</code> if service times are exponentially distributed, <code>false</code> if they are constant
+     */
+    public boolean isExponentialServiceTime() {
+        return exponentialServiceTime;
+    }
+
+    /**
+     * @return the time after which a client gives up on an attempt, in nanoseconds, or 0 if it never does
+     */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    public double getFailureProbability() {
+        return failureProbability;
+    }
+
+    int getCapacityChanges() {
+        return capacityChangeNanos.length;
+    }
+
+    long getCapacityChangeNanos(int index) {
+        return capacityChangeNanos[index];
+    }
+
+    int getCapacityChangeServers(int index) {
+        return capacityChangeServers[index];
+    }
+
+    /**
+     * Builds a {@link ServiceModel}. By default, one server serves every request in 10 milliseconds
+     * from an unbounded queue, and clients never time out.
+     */
+    public static final class Builder {
+        private int servers = 1;
+        private int queueCapacity = Integer.MAX_VALUE;
+        private long serviceTimeNanos = TimeUnit.MILLISECONDS.toNanos(10L);
+        private boolean exponentialServiceTime;
+        private long timeoutNanos;
+        private double failureProbability;
+        private long[] capacityChangeNanos = new long[4];
+        private int[] capacityChangeServers = new int[4];
+        private int capacityChanges;
+
+        private Builder() {
+        }
+
+        /**
+         * @param servers the number of requests served concurrently
+         * @return <code>this</code>
+         */
+        public Builder withServers(int servers) {
+            if (servers < 0) {
+                throw new IllegalArgumentException("servers must be >= 0 but is " + servers);
+            }
+            this.servers = servers;
+            return this;
+        }
+
+        /**
+         * @param queueCapacity the number of requests waiting for a server beyond which requests are rejected
+         * @return <code>this</code>
+         */
+        public Builder withQueueCapacity(int queueCapacity) {
+            if (queueCapacity < 0) {
+                throw new IllegalArgumentException("queueCapacity must be >= 0 but is " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * @param serviceTime the time a server takes to serve a request, or its mean if exponential
+         * @param timeUnit    the unit of the service time
+         * @param exponential <code>true</code> to draw service times from an exponential distribution
+         * @return <code>this</code>
+         */
+        public Builder withServiceTime(long serviceTime, @Nonnull TimeUnit timeUnit, boolean exponential) {
+            Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+            if (serviceTime < 0L) {
+                throw new IllegalArgumentException("serviceTime must be >= 0 but is " + serviceTime);
+            }
+            this.serviceTimeNanos = timeUnit.toNanos(serviceTime);
+            this.exponentialServiceTime = exponential;
+            return this;
+        }
+
+        /**
+         * @param timeout  the time after which a client gives up on an attempt, which then fails
+         *                 with a {@link java.util.concurrent.TimeoutException}
+         * @param timeUnit the unit of the timeout
+         * @return <code>this</code>
+         */
+        public Builder withTimeout(long timeout, @Nonnull TimeUnit timeUnit) {
+            Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+            if (timeout <= 0L) {
+                throw new IllegalArgumentException("timeout must be > 0 but is " + timeout);
+            }
+            this.timeoutNanos = timeUnit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * @param failureProbability the probability a served request fails with an {@link java.io.IOException}
+         * @return <code>this</code>
+         */
+        public Builder withFailureProbability(double failureProbability) {
+            if (!(failureProbability >= 0.0 && failureProbability <= 1.0)) {
+                throw new IllegalArgumentException("failureProbability must be between 0 and 1 but is " + failureProbability);
+            }
+            this.failureProbability = failureProbability;
+            return this;
+        }
+
+        /**
+         * Changes the number of servers at a point of the simulation. Requests already being
+         * served are completed when the number of servers drops.
+         *
+         * @param at       the time of the change, since the start of the simulation
+         * @param timeUnit the unit of the time
+         * @param servers  the new number of servers
+         * @return <code>this</code>
+         */
+        public Builder withCapacityChange(long at, @Nonnull TimeUnit timeUnit, int servers) {
+            Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+            if (at < 0L) {
+                throw new IllegalArgumentException("at must be >= 0 but is " + at);
+            }
+            if (servers < 0) {
+                throw new IllegalArgumentException("servers must be >= 0 but is " + servers);
+            }
+            if (capacityChanges == capacityChangeNanos.length) {
+                capacityChangeNanos = Arrays.copyOf(capacityChangeNanos, capacityChanges * 2);
+                capacityChangeServers = Arrays.copyOf(capacityChangeServers, capacityChanges * 2);
+            }
+            capacityChangeNanos[capacityChanges] = timeUnit.toNanos(at);
+            capacityChangeServers[capacityChanges] = servers;
+            capacityChanges++;
+            return this;
+        }
+
+        public ServiceModel build() {
+            return new ServiceModel(this);
+        }
+    }
+}
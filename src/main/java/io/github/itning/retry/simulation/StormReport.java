@@ -0,0 +1,121 @@
+package io.github.itning.retry.simulation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The outcome of a {@link StormSimulation}: totals, and a time series of {@link StormSample}s.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class StormReport {
+    private final String policyName;
+    private final long calls;
+    private final long attempts;
+    private final long successes;
+    private final long giveUps;
+    private final long failures;
+    private final long unfinished;
+    private final List<StormSample> samples;
+
+    StormReport(String policyName, long calls, long attempts, long successes, long giveUps, long failures, long unfinished,
+                List<StormSample> samples) {
+        this.policyName = policyName;
+        this.calls = calls;
+        this.attempts = attempts;
+        this.successes = successes;
+        this.giveUps = giveUps;
+        this.failures = failures;
+        this.unfinished = unfinished;
+        this.samples = Collections.unmodifiableList(samples);
+    }
+
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the number of calls which returned a result
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return the number of calls the stop strategy gave up on
+     */
+    public long getGiveUps() {
+        return giveUps;
+    }
+
+    /**
+     * @return the number of calls whose last attempt threw an exception which was not retried
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return the number of calls still running when the simulation ended
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public double getSuccessRate() {
+        return calls == 0L ? 0.0 : (double) successes / calls;
+    }
+
+    /**
+     * @return the attempts sent per call, the load put on the service compared to not retrying
+     */
+    public double getAmplification() {
+        return calls == 0L ? 0.0 : (double) attempts / calls;
+    }
+
+    /**
+     * @return the samples, one per interval, in time order
+     */
+    public List<StormSample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * Writes the samples as CSV, with a header line, e.g. to plot them.
+     *
+     * @param out where to write the samples to
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(@Nonnull Appendable out) throws IOException {
+        Objects.requireNonNull(out, "out may not be null");
+        out.append("startMillis,callsStarted,attemptsSent,offeredLoad,goodput,amplification,successes,failures,rejections,timeouts,"
+                + "meanLatencyMillis,p99LatencyMillis\n");
+        for (StormSample s : samples) {
+            out.append(String.format(Locale.ROOT, "%d,%d,%d,%.2f,%.2f,%.3f,%d,%d,%d,%d,%d,%d\n", s.getStartMillis(),
+                    s.getCallsStarted(), s.getAttemptsSent(), s.getOfferedLoad(), s.getGoodput(), s.getAmplification(),
+                    s.getSuccesses(), s.getFailures(), s.getRejections(), s.getTimeouts(), s.getMeanLatencyMillis(),
+                    s.getP99LatencyMillis()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: calls=%d successRate=%.4f amplification=%.3f giveUps=%d failures=%d unfinished=%d",
+                policyName, calls, getSuccessRate(), getAmplification(), giveUps, failures, unfinished);
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.itning.retry.simulation;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+
+/**
+ * What happened during one interval of a {@link StormSimulation}. Calls and attempts are
+ * counted in the interval they started in, and completions in the interval they ended in.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class StormSample {
+    private final long startMillis;
+    private final long intervalMillis;
+    private final long callsStarted;
+    private final long attemptsSent;
+    private final long successes;
+    private final long failures;
+    private final long rejections;
+    private final long timeouts;
+    private final long meanLatencyMillis;
+    private final long p99LatencyMillis;
+
+    StormSample(long startMillis, long intervalMillis, long callsStarted, long attemptsSent, long successes, long failures,
+                long rejections, long timeouts, long[] latenciesMillis, int latencyCount) {
+        this.startMillis = startMillis;
+        this.intervalMillis = intervalMillis;
+        this.callsStarted = callsStarted;
+        this.attemptsSent = attemptsSent;
+        this.successes = successes;
+        this.failures = failures;
+        this.rejections = rejections;
+        this.timeouts = timeouts;
+        long[] sorted = Arrays.copyOf(latenciesMillis, latencyCount);
+        Arrays.sort(sorted);
+        long total = 0L;
+        for (long latency : sorted) {
+            total += latency;
+        }
+        this.meanLatencyMillis = latencyCount == 0 ? 0L : total / latencyCount;
+        this.p99LatencyMillis = latencyCount == 0 ? 0L : sorted[Math.max((int) Math.ceil(0.99 * latencyCount) - 1, 0)];
+    }
+
+    /**
+     * @return the start of the interval, in milliseconds since the start of the simulation
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getCallsStarted() {
+        return callsStarted;
+    }
+
+    /**
+     * @return the number of attempts the clients sent to the service
+     */
+    public long getAttemptsSent() {
+        return attemptsSent;
+    }
+
+    /**
+     * @return the number of calls which returned a result
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return the number of calls which gave up or failed
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return the number of attempts rejected because the queue of the service was full
+     */
+    public long getRejections() {
+        return rejections;
+    }
+
+    /**
+     * @return the number of attempts the clients timed out
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return the attempts sent per second, the load offered to the service
+     */
+    public double getOfferedLoad() {
+        return attemptsSent * 1000.0 / intervalMillis;
+    }
+
+    /**
+     * @return the calls which returned a result per second
+     */
+    public double getGoodput() {
+        return successes * 1000.0 / intervalMillis;
+    }
+
+    /**
+     * @return the attempts sent per call started
+     */
+    public double getAmplification() {
+        return callsStarted == 0L ? 0.0 : (double) attemptsSent / callsStarted;
+    }
+
+    /**
+     * @return the mean latency of the calls which ended in the interval
+     */
+    public long getMeanLatencyMillis() {
+        return meanLatencyMillis;
+    }
+
+    /**
+     * @return the 99th percentile latency of the calls which ended in the interval
+     */
+    public long getP99LatencyMillis() {
+        return p99LatencyMillis;
+    }
+}
@@ -0,0 +1,440 @@
+package io.github.itning.retry.simulation;
+
+import io.github.itning.retry.Attempt;
+import io.github.itning.retry.strategy.stop.StopStrategy;
+import io.github.itning.retry.strategy.wait.WaitStrategy;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * A discrete-event simulation of a fleet of clients retrying calls to a {@link ServiceModel},
+ * to see how a retry policy amplifies the load when the service degrades. It runs in virtual
+ * time on a priority queue of events, and the attempts are judged by the real stop and wait
+ * strategies of the {@link ReplayPolicy}, as a {@link io.github.itning.retry.Retryer} would.
+ * <p></p>
+ * Every client starts calls at random, with exponentially distributed intervals between them,
+ * independently of how its previous calls fare. Successful attempts have the result
+ * <code>"ok"</code>; failed ones throw a {@link RejectedExecutionException} when the queue of
+ * the service is full, a {@link TimeoutException} when the client times out, and an
+ * {@link IOException} when the service fails. The simulation is deterministic for a given seed,
+ * unless the wait strategy is random.
+ * <pre>
+ * StormReport report = StormSimulation.newBuilder()
+ *         .withClients(100)
+ *         .withCallRate(5.0)
+ *         .withPolicy(policy)
+ *         .withService(ServiceModel.newBuilder().withServers(50).withCapacityChange(60, TimeUnit.SECONDS, 25).build())
+ *         .withDuration(120, TimeUnit.SECONDS)
+ *         .build()
+ *         .run();
+ * </pre>
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class StormSimulation {
+    private static final int CALL_ARRIVAL = 0;
+    private static final int ATTEMPT_START = 1;
+    private static final int SERVICE_END = 2;
+    private static final int ATTEMPT_TIMEOUT = 3;
+    private static final int CAPACITY_CHANGE = 4;
+
+    private static final String RESULT = "ok";
+
+    private final int clients;
+    private final double callRate;
+    private final ReplayPolicy policy;
+    private final ServiceModel service;
+    private final long durationNanos;
+    private final long drainNanos;
+    private final long intervalNanos;
+    private final long seed;
+
+    private StormSimulation(Builder builder) {
+        this.clients = builder.clients;
+        this.callRate = builder.callRate;
+        this.policy = builder.policy;
+        this.service = builder.service;
+        this.durationNanos = builder.durationNanos;
+        this.drainNanos = builder.drainNanos;
+        this.intervalNanos = builder.intervalNanos;
+        this.seed = builder.seed;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs the simulation. Calls start during the configured duration, and the simulation
+     * then goes on for the drain time to let them end.
+     *
+     * @return the outcome of the simulation
+     */
+    public StormReport run() {
+        return new Run().execute();
+    }
+
+    private static final class Event implements Comparable<Event> {
+        final long time;
+        final long order;
+        final int type;
+        final int client;
+        final Call call;
+        final Request request;
+
+        Event(long time, long order, int type, int client, Call call, Request request) {
+            this.time = time;
+            this.order = order;
+            this.type = type;
+            this.client = client;
+            this.call = call;
+            this.request = request;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(order, other.order);
+        }
+    }
+
+    private static final class Call {
+        final long startNanos;
+        long attemptNumber;
+        long backoffNanos;
+
+        Call(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static final class Request {
+        final Call call;
+        final long startNanos;
+        boolean resolved;
+
+        Request(Call call, long startNanos) {
+            this.call = call;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * The counters of one interval of the simulation.
+     */
+    private static final class Interval {
+        long callsStarted;
+        long attemptsSent;
+        long successes;
+        long failures;
+        long rejections;
+        long timeouts;
+        long[] latencies = new long[16];
+        int latencyCount;
+
+        void recordLatency(long latencyMillis) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencyCount * 2);
+            }
+            latencies[latencyCount++] = latencyMillis;
+        }
+    }
+
+    /**
+     * The state of a run, so that a simulation can be run several times.
+     */
+    private final class Run {
+        private final Random random = new Random(seed);
+        private final PriorityQueue<Event> events = new PriorityQueue<>();
+        private final ArrayDeque<Request> queue = new ArrayDeque<>();
+        private final List<Interval> intervals = new ArrayList<>();
+        private final StopStrategy stopStrategy = policy.getStopStrategy();
+        private final WaitStrategy waitStrategy = policy.getWaitStrategy();
+        private final Predicate<Attempt<String>> rejectionPredicate = policy.getRejectionPredicate();
+        private final Throwable rejected = new RejectedExecutionException("queue full");
+        private final Throwable timedOut = new TimeoutException("attempt timed out");
+        private final Throwable failed = new IOException("service failure");
+        private long order;
+        private int servers = service.getServers();
+        private int busy;
+        private long calls;
+        private long attempts;
+        private long successes;
+        private long giveUps;
+        private long failures;
+        private long running;
+
+        StormReport execute() {
+            for (int client = 0; client < clients; client++) {
+                schedule(nextArrival(0L), CALL_ARRIVAL, client, null, null);
+            }
+            for (int i = 0; i < service.getCapacityChanges(); i++) {
+                schedule(service.getCapacityChangeNanos(i), CAPACITY_CHANGE, i, null, null);
+            }
+            long end = durationNanos + drainNanos;
+            // one sample per interval of the simulation, even the ones where nothing happens
+            interval(end - 1L);
+            Event event;
+            while ((event = events.poll()) != null && event.time <= end) {
+                switch (event.type) {
+                    case CALL_ARRIVAL:
+                        if (event.time < durationNanos) {
+                            startCall(event.time);
+                            schedule(nextArrival(event.time), CALL_ARRIVAL, event.client, null, null);
+                        }
+                        break;
+                    case ATTEMPT_START:
+                        startAttempt(event.call, event.time);
+                        break;
+                    case SERVICE_END:
+                        busy--;
+                        if (!event.request.resolved) {
+                            boolean failure = random.nextDouble() < service.getFailureProbability();
+                            resolve(event.request, event.time, failure ? failed : null);
+                        }
+                        serveQueue(event.time);
+                        break;
+                    case ATTEMPT_TIMEOUT:
+                        if (!event.request.resolved) {
+                            interval(event.time).timeouts++;
+                            resolve(event.request, event.time, timedOut);
+                        }
+                        break;
+                    case CAPACITY_CHANGE:
+                        servers = service.getCapacityChangeServers(event.client);
+                        serveQueue(event.time);
+                        break;
+                    default:
+                        throw new IllegalStateException("unknown event type " + event.type);
+                }
+            }
+            List<StormSample> samples = new ArrayList<>(intervals.size());
+            long intervalMillis = TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+            for (int i = 0; i < intervals.size(); i++) {
+                Interval interval = intervals.get(i);
+                samples.add(new StormSample(i * intervalMillis, intervalMillis, interval.callsStarted, interval.attemptsSent,
+                        interval.successes, interval.failures, interval.rejections, interval.timeouts,
+                        interval.latencies, interval.latencyCount));
+            }
+            return new StormReport(policy.getName(), calls, attempts, successes, giveUps, failures, running, samples);
+        }
+
+        private void schedule(long time, int type, int client, Call call, Request request) {
+            events.add(new Event(time, order++, type, client, call, request));
+        }
+
+        private long nextArrival(long now) {
+            return now + exponential(1_000_000_000.0 / callRate);
+        }
+
+        private long exponential(double mean) {
+            return (long) (-Math.log(1.0 - random.nextDouble()) * mean);
+        }
+
+        private Interval interval(long time) {
+            int index = (int) (time / intervalNanos);
+            while (intervals.size() <= index) {
+                intervals.add(new Interval());
+            }
+            return intervals.get(index);
+        }
+
+        private void startCall(long now) {
+            calls++;
+            running++;
+            interval(now).callsStarted++;
+            startAttempt(new Call(now), now);
+        }
+
+        private void startAttempt(Call call, long now) {
+            attempts++;
+            interval(now).attemptsSent++;
+            call.attemptNumber++;
+            Request request = new Request(call, now);
+            if (service.getTimeoutNanos() > 0L) {
+                schedule(now + service.getTimeoutNanos(), ATTEMPT_TIMEOUT, 0, null, request);
+            }
+            if (busy < servers) {
+                serve(request, now);
+            } else if (queue.size() < service.getQueueCapacity()) {
+                queue.add(request);
+            } else {
+                interval(now).rejections++;
+                resolve(request, now, rejected);
+            }
+        }
+
+        private void serve(Request request, long now) {
+            busy++;
+            long serviceTime = service.isExponentialServiceTime()
+                    ? exponential(service.getServiceTimeNanos()) : service.getServiceTimeNanos();
+            schedule(now + serviceTime, SERVICE_END, 0, null, request);
+        }
+
+        private void serveQueue(long now) {
+            while (busy < servers && !queue.isEmpty()) {
+                serve(queue.poll(), now);
+            }
+        }
+
+        private void resolve(Request request, long now, Throwable exception) {
+            request.resolved = true;
+            Call call = request.call;
+            ReplayedAttempt attempt = new ReplayedAttempt(call.attemptNumber, exception == null ? RESULT : null, exception,
+                    call.startNanos, request.startNanos, now, call.backoffNanos);
+            if (!rejectionPredicate.test(attempt)) {
+                if (attempt.hasResult()) {
+                    successes++;
+                    interval(now).successes++;
+                } else {
+                    failures++;
+                    interval(now).failures++;
+                }
+                endCall(call, now);
+            } else if (stopStrategy.shouldStop(attempt) || call.attemptNumber >= PolicyReplay.MAX_ATTEMPTS_PER_CALL) {
+                giveUps++;
+                interval(now).failures++;
+                endCall(call, now);
+            } else {
+                long sleepNanos = TimeUnit.MILLISECONDS.toNanos(waitStrategy.computeSleepTime(attempt));
+                call.backoffNanos += sleepNanos;
+                schedule(now + sleepNanos, ATTEMPT_START, 0, call, null);
+            }
+        }
+
+        private void endCall(Call call, long now) {
+            running--;
+            interval(now).recordLatency(TimeUnit.NANOSECONDS.toMillis(now - call.startNanos));
+        }
+    }
+
+    /**
+     * Builds a {@link StormSimulation}. By default, 10 clients each start a call per second for
+     * a minute, and the simulation drains for another minute, sampled every second.
+     */
+    public static final class Builder {
+        private int clients = 10;
+        private double callRate = 1.0;
+        private ReplayPolicy policy;
+        private ServiceModel service;
+        private long durationNanos = TimeUnit.MINUTES.toNanos(1L);
+        private long drainNanos = TimeUnit.MINUTES.toNanos(1L);
+        private long intervalNanos = TimeUnit.SECONDS.toNanos(1L);
+        private long seed;
+
+        private Builder() {
+        }
+
+        public Builder withClients(int clients) {
+            if (clients < 1) {
+                throw new IllegalArgumentException("clients must be >= 1 but is " + clients);
+            }
+            this.clients = clients;
+            return this;
+        }
+
+        /**
+         * @param callRate the mean number of calls each client starts per second
+         * @return <code>this</code>
+         */
+        public Builder withCallRate(double callRate) {
+            if (!(callRate > 0.0)) {
+                throw new IllegalArgumentException("callRate must be > 0 but is " + callRate);
+            }
+            this.callRate = callRate;
+            return this;
+        }
+
+        /**
+         * @param policy the retry policy every client uses
+         * @return <code>this</code>
+         */
+        public Builder withPolicy(@Nonnull ReplayPolicy policy) {
+            this.policy = Objects.requireNonNull(policy, "policy may not be null");
+            return this;
+        }
+
+        public Builder withService(@Nonnull ServiceModel service) {
+            this.service = Objects.requireNonNull(service, "service may not be null");
+            return this;
+        }
+
+        /**
+         * @param duration the time during which the clients start calls
+         * @param timeUnit the unit of the duration
+         * @return <code>this</code>
+         */
+        public Builder withDuration(long duration, @Nonnull TimeUnit timeUnit) {
+            this.durationNanos = positiveNanos(duration, timeUnit, "duration");
+            return this;
+        }
+
+        /**
+         * @param drainTime the time the simulation goes on once the clients stopped starting calls
+         * @param timeUnit  the unit of the drain time
+         * @return <code>this</code>
+         */
+        public Builder withDrainTime(long drainTime, @Nonnull TimeUnit timeUnit) {
+            Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+            if (drainTime < 0L) {
+                throw new IllegalArgumentException("drainTime must be >= 0 but is " + drainTime);
+            }
+            this.drainNanos = timeUnit.toNanos(drainTime);
+            return this;
+        }
+
+        /**
+         * @param interval the length of the intervals the samples of the report cover, at least a millisecond
+         * @param timeUnit the unit of the interval
+         * @return <code>this</code>
+         */
+        public Builder withSampleInterval(long interval, @Nonnull TimeUnit timeUnit) {
+            long nanos = positiveNanos(interval, timeUnit, "interval");
+            if (nanos < TimeUnit.MILLISECONDS.toNanos(1L)) {
+                throw new IllegalArgumentException("interval must be at least a millisecond but is " + nanos + "ns");
+            }
+            this.intervalNanos = nanos;
+            return this;
+        }
+
+        /**
+         * @param seed the seed of the random arrivals, service times and failures
+         * @return <code>this</code>
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        private static long positiveNanos(long duration, TimeUnit timeUnit, String name) {
+            Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+            if (duration <= 0L) {
+                throw new IllegalArgumentException(name + " must be > 0 but is " + duration);
+            }
+            return timeUnit.toNanos(duration);
+        }
+
+        public StormSimulation build() {
+            if (policy == null) {
+                throw new IllegalStateException("a policy must be set");
+            }
+            if (service == null) {
+                throw new IllegalStateException("a service must be set");
+            }
+            return new StormSimulation(this);
+        }
+    }
+}
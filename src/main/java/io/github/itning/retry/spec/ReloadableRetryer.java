@@ -0,0 +1,137 @@
+package io.github.itning.retry.spec;
+
+import io.github.itning.retry.Deadline;
+import io.github.itning.retry.RetryException;
+import io.github.itning.retry.Retryer;
+import io.github.itning.retry.RetryerBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * A retryer whose policy is described by a {@link RetrySpec} and can be replaced while calls are
+ * in flight, for example when a configuration property changes.
+ * <p>
+ * A reload parses the spec and builds the new {@link Retryer} on the reloading thread, then
+ * publishes it atomically. Each call reads the current retryer once when it starts, so that
+ * it runs entirely under a single policy: calls in flight keep the policy they started with,
+ * and calls started after the reload use the new one. An invalid spec is rejected by
+ * {@link #reload(String)} and leaves the current policy in place.
+ * <p>
+ * Each retryer is built from scratch, so the customizer is the only way to configure it
+ * beyond the spec: it is applied again on every reload, and is all that carries over from
+ * one policy to the next. The retryers themselves are not exposed, so that no listener or
+ * policy override can be attached to one of them and silently dropped by the next reload.
+ *
+ * @param <V> the type returned by the retryer callable
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class ReloadableRetryer<V> {
+    private final Consumer<RetryerBuilder<V>> customizer;
+    private volatile Snapshot<V> snapshot;
+
+    /**
+     * @param spec the initial spec
+     * @throws IllegalArgumentException if the spec is invalid
+     */
+    public ReloadableRetryer(@Nonnull String spec) {
+        this(spec, builder -> {
+        });
+    }
+
+    /**
+     * @param spec       the initial spec
+     * @param customizer applied to the builder created from each spec before building the retryer,
+     *                   to add the listeners and settings which cannot be written in a spec
+     * @throws IllegalArgumentException if the spec is invalid
+     */
+    public ReloadableRetryer(@Nonnull String spec, @Nonnull Consumer<RetryerBuilder<V>> customizer) {
+        this.customizer = Objects.requireNonNull(customizer, "customizer may not be null");
+        this.snapshot = snapshot(RetrySpec.parse(spec));
+    }
+
+    /**
+     * Executes the given callable with the current policy, like {@link Retryer#call(Callable)}.
+     *
+     * @param callable the callable task to be executed
+     * @return the computed result of the given callable
+     * @throws ExecutionException if the given callable throws an exception which is not retried
+     * @throws RetryException     if all the attempts failed or the thread was interrupted
+     */
+    public V call(Callable<V> callable) throws ExecutionException, RetryException {
+        return snapshot.retryer.call(callable);
+    }
+
+    /**
+     * Executes the given callable with the current policy, like {@link Retryer#call(Callable, Deadline)}.
+     *
+     * @param callable the callable task to be executed
+     * @param deadline the instant by which the call must be over, or <code>null</code> for no deadline
+     * @return the computed result of the given callable
+     * @throws ExecutionException if the given callable throws an exception which is not retried
+     * @throws RetryException     if all the attempts failed, the deadline expired or the thread was interrupted
+     */
+    public V call(Callable<V> callable, @Nullable Deadline deadline) throws ExecutionException, RetryException {
+        return snapshot.retryer.call(callable, deadline);
+    }
+
+    /**
+     * Replaces the policy, unless the spec is invalid.
+     *
+     * @param spec the new spec
+     * @throws IllegalArgumentException if the spec is invalid, in which case the policy is unchanged
+     * @throws IllegalStateException    if the worst case of the spec exceeds its latency objective, in
+     *                                  which case the policy is unchanged
+     */
+    public void reload(@Nonnull String spec) {
+        reload(RetrySpec.parse(spec));
+    }
+
+    /**
+     * Replaces the policy.
+     *
+     * @param spec the new spec
+     * @throws IllegalStateException if the worst case of the spec exceeds its latency objective, in
+     *                               which case the policy is unchanged
+     */
+    public void reload(@Nonnull RetrySpec spec) {
+        snapshot = snapshot(Objects.requireNonNull(spec, "spec may not be null"));
+    }
+
+    /**
+     * @return the spec of the current policy
+     */
+    public RetrySpec getSpec() {
+        return snapshot.spec;
+    }
+
+    @Override
+    public String toString() {
+        return "ReloadableRetryer{" + snapshot.spec + "}";
+    }
+
+    private Snapshot<V> snapshot(RetrySpec spec) {
+        RetryerBuilder<V> builder = spec.toBuilder();
+        customizer.accept(builder);
+        return new Snapshot<>(spec, builder.build());
+    }
+
+    @Immutable
+    private static final class Snapshot<V> {
+        private final RetrySpec spec;
+        private final Retryer<V> retryer;
+
+        private Snapshot(RetrySpec spec, Retryer<V> retryer) {
+            this.spec = spec;
+            this.retryer = retryer;
+        }
+    }
+}
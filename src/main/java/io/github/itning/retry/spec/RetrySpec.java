@@ -0,0 +1,387 @@
+package io.github.itning.retry.spec;
+
+import io.github.itning.retry.RetryerBuilder;
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiters;
+import io.github.itning.retry.strategy.limit.InterruptTimer;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.stop.StopStrategy;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import io.github.itning.retry.strategy.wait.WaitStrategy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A retry policy written as a compact string of comma-separated <code>key=value</code>
+ * entries, to configure retryers from properties and change them without a deploy:
+ * <pre>
+ * attempts=5,wait=exponential(100ms,10s),jitter=full,timeout=2s,retryOn=IOException|TimeoutException
+ * </pre>
+ * The supported entries, all optional, are:
+ * <ul>
+ * <li><code>name</code>: the name of the retryer</li>
+ * <li><code>attempts</code>: the number of attempts after which to stop; {@value #DEFAULT_ATTEMPTS}
+ * if neither this nor <code>maxDelay</code> is set, so that a spec missing both, or an empty
+ * one, cannot retry forever</li>
+ * <li><code>maxDelay</code>: the delay since the first attempt after which to stop</li>
+ * <li><code>wait</code>: <code>none</code>, <code>fixed(d)</code>, <code>random(min,max)</code>,
+ * <code>incrementing(initial,increment)</code>, <code>exponential([multiplier,]max)</code> or
+ * <code>fibonacci([multiplier,]max)</code>, the multipliers being numbers of milliseconds with or
+ * without the <code>ms</code> unit</li>
+ * <li><code>jitter</code>: <code>none</code>, <code>full</code> or <code>equal</code></li>
+ * <li><code>timeout</code>: the time limit of each attempt, enforced on the calling thread</li>
+ * <li><code>retryOn</code>: the exception classes to retry on, separated by <code>|</code>, fully
+ * qualified or simple names of <code>java.lang</code>, <code>java.io</code>, <code>java.net</code>
+ * and <code>java.util.concurrent</code>; any {@link Exception} if absent</li>
+ * <li><code>slo</code>: the latency objective the worst case of the policy must meet</li>
+ * </ul>
+ * Durations are written with a unit among <code>ms</code>, <code>s</code>, <code>m</code> and
+ * <code>h</code>. A spec is validated and its strategies are created when it is parsed, so that
+ * building retryers from it is cheap.
+ *
+ * @author itning
+ * @see ReloadableRetryer
+ * @since 3.1.0
+ */
+@Immutable
+public final class RetrySpec {
+    /**
+     * The number of attempts after which a spec setting neither <code>attempts</code> nor
+     * <code>maxDelay</code> stops.
+     */
+    public static final int DEFAULT_ATTEMPTS = 3;
+    private static final String[] EXCEPTION_PACKAGES = {"java.lang.", "java.io.", "java.net.", "java.util.concurrent."};
+
+    private final String spec;
+    private final String name;
+    private final StopStrategy stopStrategy;
+    private final WaitStrategy waitStrategy;
+    private final long timeoutMillis;
+    private final long sloMillis;
+    private final List<Class<? extends Throwable>> retryOn;
+
+    private RetrySpec(String spec, String name, StopStrategy stopStrategy, WaitStrategy waitStrategy, long timeoutMillis,
+                      long sloMillis, List<Class<? extends Throwable>> retryOn) {
+        this.spec = spec;
+        this.name = name;
+        this.stopStrategy = stopStrategy;
+        this.waitStrategy = waitStrategy;
+        this.timeoutMillis = timeoutMillis;
+        this.sloMillis = sloMillis;
+        this.retryOn = retryOn;
+    }
+
+    /**
+     * Parses a spec.
+     *
+     * @param spec the spec string
+     * @return the parsed spec
+     * @throws IllegalArgumentException if the spec is invalid
+     */
+    public static RetrySpec parse(@Nonnull String spec) throws IllegalArgumentException {
+        Objects.requireNonNull(spec, "spec may not be null");
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (String entry : split(spec, ',')) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            if (equals <= 0) {
+                throw invalid(spec, "'" + entry + "' is not a key=value entry");
+            }
+            String key = entry.substring(0, equals).trim();
+            String value = entry.substring(equals + 1).trim();
+            if (entries.put(key, value) != null) {
+                throw invalid(spec, "'" + key + "' is set twice");
+            }
+        }
+        try {
+            String name = entries.remove("name");
+            StopStrategy stopStrategy = parseStopStrategy(entries.remove("attempts"), entries.remove("maxDelay"));
+            WaitStrategy waitStrategy = parseJitter(entries.remove("jitter"), parseWaitStrategy(entries.remove("wait")));
+            String timeout = entries.remove("timeout");
+            String slo = entries.remove("slo");
+            String retryOn = entries.remove("retryOn");
+            if (!entries.isEmpty()) {
+                throw new IllegalArgumentException("unknown keys " + entries.keySet());
+            }
+            StringBuilder canonical = new StringBuilder();
+            for (String entry : split(spec, ',')) {
+                if (!entry.isEmpty()) {
+                    int equals = entry.indexOf('=');
+                    canonical.append(canonical.length() == 0 ? "" : ",")
+                            .append(entry.substring(0, equals).trim()).append('=').append(entry.substring(equals + 1).trim());
+                }
+            }
+            return new RetrySpec(canonical.toString(), name, stopStrategy, waitStrategy,
+                    timeout == null ? 0L : parseDuration(timeout), slo == null ? -1L : parseDuration(slo),
+                    retryOn == null ? Collections.emptyList() : parseExceptionClasses(retryOn));
+        } catch (IllegalArgumentException e) {
+            throw invalid(spec, e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a builder configured with this spec, to which listeners and other settings which
+     * cannot be written in a spec can be added.
+     *
+     * @param <V> the type returned by the retryer callable
+     * @return a new builder
+     */
+    public <V> RetryerBuilder<V> toBuilder() {
+        return toBuilder(InterruptTimer.shared());
+    }
+
+    /**
+     * Creates a builder configured with this spec, whose attempt timeout is enforced by the given timer.
+     *
+     * @param timer the timer interrupting the attempts which exceed the timeout of the spec
+     * @param <V>   the type returned by the retryer callable
+     * @return a new builder
+     */
+    public <V> RetryerBuilder<V> toBuilder(@Nonnull InterruptTimer timer) {
+        Objects.requireNonNull(timer, "timer may not be null");
+        RetryerBuilder<V> builder = RetryerBuilder.<V>newBuilder()
+                .withStopStrategy(stopStrategy)
+                .withWaitStrategy(waitStrategy);
+        if (name != null) {
+            builder.withName(name);
+        }
+        if (timeoutMillis > 0L) {
+            builder.withAttemptTimeLimiter(AttemptTimeLimiters.sameThreadTimeLimit(timeoutMillis, TimeUnit.MILLISECONDS, timer));
+        }
+        if (sloMillis >= 0L) {
+            builder.withLatencySlo(sloMillis, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (retryOn.isEmpty()) {
+            builder.retryIfException();
+        } else {
+            for (Class<? extends Throwable> exceptionClass : retryOn) {
+                builder.retryIfExceptionOfType(exceptionClass);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * @return the name of the retryer, or <code>null</code> if the spec has none
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the spec, with the blanks around keys and values removed
+     */
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static IllegalArgumentException invalid(String spec, String reason) {
+        return new IllegalArgumentException("invalid retry spec \"" + spec + "\": " + reason);
+    }
+
+    /**
+     * Splits on a separator which is not between parentheses.
+     */
+    private static List<String> split(String value, char separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                parts.add(value.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        parts.add(value.substring(start).trim());
+        return parts;
+    }
+
+    private static StopStrategy parseStopStrategy(String attempts, String maxDelay) {
+        StopStrategy afterAttempts = null;
+        StopStrategy afterDelay = null;
+        if (attempts != null) {
+            afterAttempts = StopStrategies.stopAfterAttempt(parseInt(attempts, "attempts"));
+        }
+        if (maxDelay != null) {
+            afterDelay = StopStrategies.stopAfterDelay(parseDuration(maxDelay), TimeUnit.MILLISECONDS);
+        }
+        if (afterAttempts != null && afterDelay != null) {
+            StopStrategy first = afterAttempts;
+            StopStrategy second = afterDelay;
+            return failedAttempt -> first.shouldStop(failedAttempt) || second.shouldStop(failedAttempt);
+        }
+        return afterAttempts != null ? afterAttempts : afterDelay != null ? afterDelay : StopStrategies.stopAfterAttempt(DEFAULT_ATTEMPTS);
+    }
+
+    private static WaitStrategy parseWaitStrategy(String wait) {
+        if (wait == null || wait.equals("none")) {
+            return WaitStrategies.noWait();
+        }
+        int open = wait.indexOf('(');
+        if (open < 0 || !wait.endsWith(")")) {
+            throw new IllegalArgumentException("wait '" + wait + "' is not of the form kind(arguments)");
+        }
+        String kind = wait.substring(0, open).trim();
+        List<String> arguments = split(wait.substring(open + 1, wait.length() - 1), ',');
+        switch (kind) {
+            case "fixed":
+                checkArguments(kind, arguments, 1, 1);
+                return WaitStrategies.fixedWait(parseDuration(arguments.get(0)), TimeUnit.MILLISECONDS);
+            case "random":
+                checkArguments(kind, arguments, 2, 2);
+                return WaitStrategies.randomWait(parseDuration(arguments.get(0)), TimeUnit.MILLISECONDS,
+                        parseDuration(arguments.get(1)), TimeUnit.MILLISECONDS);
+            case "incrementing":
+                checkArguments(kind, arguments, 2, 2);
+                return WaitStrategies.incrementingWait(parseDuration(arguments.get(0)), TimeUnit.MILLISECONDS,
+                        parseDuration(arguments.get(1)), TimeUnit.MILLISECONDS);
+            case "exponential":
+                checkArguments(kind, arguments, 1, 2);
+                return arguments.size() == 1
+                        ? WaitStrategies.exponentialWait(parseDuration(arguments.get(0)), TimeUnit.MILLISECONDS)
+                        : WaitStrategies.exponentialWait(parseMultiplier(arguments.get(0)), parseDuration(arguments.get(1)), TimeUnit.MILLISECONDS);
+            case "fibonacci":
+                checkArguments(kind, arguments, 1, 2);
+                return arguments.size() == 1
+                        ? WaitStrategies.fibonacciWait(parseDuration(arguments.get(0)), TimeUnit.MILLISECONDS)
+                        : WaitStrategies.fibonacciWait(parseMultiplier(arguments.get(0)), parseDuration(arguments.get(1)), TimeUnit.MILLISECONDS);
+            default:
+                throw new IllegalArgumentException("unknown wait '" + kind + "'");
+        }
+    }
+
+    private static void checkArguments(String kind, List<String> arguments, int minimum, int maximum) {
+        if (arguments.size() < minimum || arguments.size() > maximum) {
+            throw new IllegalArgumentException("wait '" + kind + "' takes " + (minimum == maximum ? minimum : minimum + " to " + maximum)
+                    + " arguments but has " + arguments.size());
+        }
+    }
+
+    private static WaitStrategy parseJitter(String jitter, WaitStrategy waitStrategy) {
+        if (jitter == null || jitter.equals("none")) {
+            return waitStrategy;
+        }
+        if (jitter.equals("full")) {
+            return WaitStrategies.fullJitter(waitStrategy);
+        }
+        if (jitter.equals("equal")) {
+            return WaitStrategies.equalJitter(waitStrategy);
+        }
+        throw new IllegalArgumentException("unknown jitter '" + jitter + "'");
+    }
+
+    private static int parseInt(String value, String key) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " '" + value + "' is not an integer");
+        }
+    }
+
+    /**
+     * @return the multiplier of an exponential or Fibonacci wait, written as a number or as a duration
+     */
+    private static long parseMultiplier(String value) {
+        String trimmed = value.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            if (!Character.isDigit(trimmed.charAt(i))) {
+                return parseDuration(trimmed);
+            }
+        }
+        return parseInt(trimmed, "multiplier");
+    }
+
+    /**
+     * @return the duration, in milliseconds
+     */
+    private static long parseDuration(String value) {
+        String lower = value.trim().toLowerCase(Locale.ROOT);
+        int unitStart = 0;
+        while (unitStart < lower.length() && Character.isDigit(lower.charAt(unitStart))) {
+            unitStart++;
+        }
+        if (unitStart == 0) {
+            throw new IllegalArgumentException("duration '" + value + "' does not start with a number");
+        }
+        long amount;
+        try {
+            amount = Long.parseLong(lower.substring(0, unitStart));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("duration '" + value + "' is too long");
+        }
+        switch (lower.substring(unitStart)) {
+            case "ms":
+                return amount;
+            case "s":
+                return TimeUnit.SECONDS.toMillis(amount);
+            case "m":
+                return TimeUnit.MINUTES.toMillis(amount);
+            case "h":
+                return TimeUnit.HOURS.toMillis(amount);
+            default:
+                throw new IllegalArgumentException("duration '" + value + "' does not end with a unit among ms, s, m and h");
+        }
+    }
+
+    private static List<Class<? extends Throwable>> parseExceptionClasses(String value) {
+        List<Class<? extends Throwable>> classes = new ArrayList<>();
+        for (String name : split(value, '|')) {
+            classes.add(loadExceptionClass(name));
+        }
+        return Collections.unmodifiableList(classes);
+    }
+
+    private static Class<? extends Throwable> loadExceptionClass(String name) {
+        if (name.indexOf('.') >= 0) {
+            return asExceptionClass(name, load(name));
+        }
+        for (String prefix : EXCEPTION_PACKAGES) {
+            Class<?> type = load(prefix + name);
+            if (type != null) {
+                return asExceptionClass(name, type);
+            }
+        }
+        throw new IllegalArgumentException("exception class '" + name + "' cannot be found");
+    }
+
+    private static Class<?> load(String className) {
+        try {
+            return Class.forName(className, false, RetrySpec.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            try {
+                return contextClassLoader == null ? null : Class.forName(className, false, contextClassLoader);
+            } catch (ClassNotFoundException notFound) {
+                return null;
+            }
+        }
+    }
+
+    private static Class<? extends Throwable> asExceptionClass(String name, Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("exception class '" + name + "' cannot be found");
+        }
+        if (!Throwable.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("'" + name + "' is not an exception class");
+        }
+        return type.asSubclass(Throwable.class);
+    }
+}
@@ -16,6 +16,11 @@
 
 package io.github.itning.retry.strategy.block;
 
+import io.github.itning.retry.ticker.ManualTicker;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
 /**
  * Factory class for {@link BlockStrategy} instances.
  */
@@ -33,4 +38,19 @@ public final class BlockStrategies {
     public static BlockStrategy threadSleepStrategy() {
         return ThreadSleepStrategy.INSTANCE;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a block strategy that advances the given ticker by the sleep time instead of
+     * sleeping. Give the same ticker to the retryer with
+     * {@link io.github.itning.retry.RetryerBuilder#withTicker} so that its stop strategy and
+     * timings see the virtual time.
+     *
+     * @param ticker the ticker to advance
+     * @return a block strategy that never sleeps
+     * @since 3.1.0
+     */
+    public static BlockStrategy virtualTimeBlockStrategy(@Nonnull ManualTicker ticker) {
+        Objects.requireNonNull(ticker, "ticker may not be null");
+        return new VirtualTimeBlockStrategy(ticker);
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.itning.retry.strategy.block;
+
+import io.github.itning.retry.ticker.ManualTicker;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A block strategy which advances a {@link ManualTicker} by the sleep time instead of
+ * sleeping, so that a retryer reading the same ticker runs its backoffs in virtual time.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class VirtualTimeBlockStrategy implements BlockStrategy {
+    private final ManualTicker ticker;
+
+    VirtualTimeBlockStrategy(ManualTicker ticker) {
+        this.ticker = ticker;
+    }
+
+    @Override
+    public void block(long sleepTime) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        ticker.advance(sleepTime, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.itning.retry.strategy.limit;
+
+import io.github.itning.retry.AttemptContext;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive Attempt Time Limit
+ * <p></p>
+ * Sets the time limit of each attempt to a multiple of a latency percentile of the
+ * previous successful attempts, clamped to a minimum and a maximum. Until enough
+ * attempts succeeded, the maximum is used. Attempts run on the calling thread and
+ * are interrupted by an {@link InterruptTimer}.
+ * <p></p>
+ * Only the attempts completing within their time limit are observed, so the percentile never
+ * exceeds the limit it was computed from. The multiplier must therefore be at least 1: a lower
+ * one would shrink the limit after every estimate, down to the minimum, whatever the actual
+ * latency.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class AdaptiveAttemptTimeLimit<V> implements AttemptTimeLimiter<V> {
+
+    private final LatencyPercentileEstimator estimator;
+    private final double multiplier;
+    private final long minimumNanos;
+    private final long maximumNanos;
+    private final InterruptTimer timer;
+
+    public AdaptiveAttemptTimeLimit(@Nonnull LatencyPercentileEstimator estimator,
+                                    double multiplier,
+                                    long minimumNanos,
+                                    long maximumNanos,
+                                    @Nonnull InterruptTimer timer) {
+        Objects.requireNonNull(estimator);
+        Objects.requireNonNull(timer);
+        if (!(multiplier >= 1D)) {
+            throw new IllegalArgumentException("multiplier must be >= 1 but is " + multiplier);
+        }
+        if (minimumNanos <= 0L) {
+            throw new IllegalArgumentException("minimum must be > 0 but is " + minimumNanos);
+        }
+        if (maximumNanos < minimumNanos) {
+            throw new IllegalArgumentException("maximum must be >= minimum but maximum is " + maximumNanos + " and minimum is " + minimumNanos);
+        }
+        this.estimator = estimator;
+        this.multiplier = multiplier;
+        this.minimumNanos = minimumNanos;
+        this.maximumNanos = maximumNanos;
+        this.timer = timer;
+    }
+
+    /**
+     * Returns the time limit the next attempt will get.
+     *
+     * @return the current time limit, in nanoseconds
+     */
+    public long getCurrentTimeLimitNanos() {
+        long estimate = estimator.getPercentile();
+        if (estimate < 0L) {
+            return maximumNanos;
+        }
+        double limit = estimate * multiplier;
+        if (limit >= maximumNanos) {
+            return maximumNanos;
+        }
+        return Math.max((long) limit, minimumNanos);
+    }
+
+    @Override
+    public V call(Callable<V> callable) throws Exception {
+        return call(callable, getCurrentTimeLimitNanos());
+    }
+
+    @Override
+    public V call(Callable<V> callable, AttemptContext<V> context) throws Exception {
+        return call(callable, AttemptTimeLimiters.clampToDeadline(getCurrentTimeLimitNanos(), context));
+    }
+
+    private V call(Callable<V> callable, long limit) throws Exception {
+        long start = System.nanoTime();
+        V result = timer.callWithTimeout(callable, limit, TimeUnit.NANOSECONDS);
+        estimator.record(System.nanoTime() - start);
+        return result;
+    }
+}
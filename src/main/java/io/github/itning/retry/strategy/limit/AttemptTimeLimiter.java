@@ -16,6 +16,8 @@
 
 package io.github.itning.retry.strategy.limit;
 
+import io.github.itning.retry.AttemptContext;
+
 import java.util.concurrent.Callable;
 
 /**
@@ -33,4 +35,17 @@ public interface AttemptTimeLimiter<V> {
      * @throws Exception any exception from this invocation
      */
     V call(Callable<V> callable) throws Exception;
+
+    /**
+     * Call this method to achieve the purpose of retry, knowing which attempt is guarded.
+     * The default implementation ignores the context.
+     *
+     * @param callable to subject to the time limit
+     * @param context  describes the attempt about to be made
+     * @return the return of the given callable
+     * @throws Exception any exception from this invocation
+     */
+    default V call(Callable<V> callable, AttemptContext<V> context) throws Exception {
+        return call(callable);
+    }
 }
@@ -17,10 +17,16 @@
 package io.github.itning.retry.strategy.limit;
 
 
+import io.github.itning.retry.AttemptContext;
+import io.github.itning.retry.Deadline;
+import io.github.itning.retry.strategy.timeout.TimeoutStrategies;
+import io.github.itning.retry.strategy.timeout.TimeoutStrategy;
+
 import javax.annotation.Nonnull;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Factory class for instances of {@link AttemptTimeLimiter}
@@ -54,4 +60,118 @@ public class AttemptTimeLimiters {
         Objects.requireNonNull(timeUnit);
         return new FixedAttemptTimeLimit<>(duration, timeUnit, executorService);
     }
+
+    /**
+     * Runs each attempt on the calling thread and interrupts it from the shared
+     * {@link InterruptTimer} once the time limit expires. Unlike {@link #fixedTimeLimit(long, TimeUnit, ExecutorService)}
+     * this does not hand the attempt off to another thread. An attempt which does not
+     * respond to interruption keeps running past the limit.
+     *
+     * @param duration that an attempt may persist before being interrupted
+     * @param timeUnit of the 'duration' arg
+     * @param <V>      the type of the computation result
+     * @return an {@link AttemptTimeLimiter} with a fixed time limit for each attempt
+     */
+    public static <V> AttemptTimeLimiter<V> sameThreadTimeLimit(long duration, @Nonnull TimeUnit timeUnit) {
+        return sameThreadTimeLimit(duration, timeUnit, InterruptTimer.shared());
+    }
+
+    /**
+     * Same as {@link #sameThreadTimeLimit(long, TimeUnit)} with control over the thread firing the timeouts.
+     *
+     * @param duration that an attempt may persist before being interrupted
+     * @param timeUnit of the 'duration' arg
+     * @param timer    used to interrupt the attempts which time out
+     * @param <V>      the type of the computation result
+     * @return an {@link AttemptTimeLimiter} with a fixed time limit for each attempt
+     */
+    public static <V> AttemptTimeLimiter<V> sameThreadTimeLimit(long duration, @Nonnull TimeUnit timeUnit, @Nonnull InterruptTimer timer) {
+        Objects.requireNonNull(timeUnit);
+        Objects.requireNonNull(timer);
+        return new SameThreadAttemptTimeLimit<>(duration, timeUnit, timer);
+    }
+
+    /**
+     * Limits each attempt to {@code multiplier} times the p99 latency of the recent successful
+     * attempts, clamped to [{@code minimum}, {@code maximum}]. Attempts run on the calling thread
+     * and are interrupted from the shared {@link InterruptTimer}.
+     *
+     * @param multiplier applied to the p99 latency, at least 1 as the latency of the attempts timing out is not observed
+     * @param minimum    the lowest time limit an attempt may get
+     * @param maximum    the highest time limit an attempt may get, also used until enough attempts succeeded
+     * @param timeUnit   of the 'minimum' and 'maximum' args
+     * @param <V>        the type of the computation result
+     * @return an {@link AttemptTimeLimiter} adapting its time limit to the observed latency
+     */
+    public static <V> AttemptTimeLimiter<V> adaptiveTimeLimit(double multiplier, long minimum, long maximum, @Nonnull TimeUnit timeUnit) {
+        return adaptiveTimeLimit(0.99D, multiplier, minimum, maximum, timeUnit, InterruptTimer.shared());
+    }
+
+    /**
+     * Same as {@link #adaptiveTimeLimit(double, long, long, TimeUnit)} with control over the tracked
+     * percentile and the thread firing the timeouts. The latency histogram decays every 4096 successful attempts.
+     *
+     * @param percentile the latency percentile to track, in (0, 1)
+     * @param multiplier applied to the tracked percentile, at least 1
+     * @param minimum    the lowest time limit an attempt may get
+     * @param maximum    the highest time limit an attempt may get, also used until enough attempts succeeded
+     * @param timeUnit   of the 'minimum' and 'maximum' args
+     * @param timer      used to interrupt the attempts which time out
+     * @param <V>        the type of the computation result
+     * @return an {@link AttemptTimeLimiter} adapting its time limit to the observed latency
+     */
+    public static <V> AttemptTimeLimiter<V> adaptiveTimeLimit(double percentile,
+                                                              double multiplier,
+                                                              long minimum,
+                                                              long maximum,
+                                                              @Nonnull TimeUnit timeUnit,
+                                                              @Nonnull InterruptTimer timer) {
+        Objects.requireNonNull(timeUnit);
+        return new AdaptiveAttemptTimeLimit<>(new LatencyPercentileEstimator(percentile, 4096L), multiplier,
+                timeUnit.toNanos(minimum), timeUnit.toNanos(maximum), timer);
+    }
+
+    /**
+     * Asks the given {@link TimeoutStrategy} for the time limit of each attempt, for example
+     * a short one on the first attempt and longer ones afterwards, see {@link TimeoutStrategies}.
+     * Attempts run on the calling thread and are interrupted from the shared {@link InterruptTimer}.
+     *
+     * @param timeoutStrategy computes the time limit of each attempt
+     * @param <V>             the type of the computation result
+     * @return an {@link AttemptTimeLimiter} whose time limit depends on the attempt
+     */
+    public static <V> AttemptTimeLimiter<V> escalatingTimeLimit(@Nonnull TimeoutStrategy timeoutStrategy) {
+        return escalatingTimeLimit(timeoutStrategy, InterruptTimer.shared());
+    }
+
+    /**
+     * Same as {@link #escalatingTimeLimit(TimeoutStrategy)} with control over the thread firing the timeouts.
+     *
+     * @param timeoutStrategy computes the time limit of each attempt
+     * @param timer           used to interrupt the attempts which time out
+     * @param <V>             the type of the computation result
+     * @return an {@link AttemptTimeLimiter} whose time limit depends on the attempt
+     */
+    public static <V> AttemptTimeLimiter<V> escalatingTimeLimit(@Nonnull TimeoutStrategy timeoutStrategy, @Nonnull InterruptTimer timer) {
+        Objects.requireNonNull(timeoutStrategy, "timeoutStrategy may not be null");
+        Objects.requireNonNull(timer, "timer may not be null");
+        return new EscalatingAttemptTimeLimit<>(timeoutStrategy, timer);
+    }
+
+    /**
+     * Clamps a time limit to the time left before the deadline of the call, if it has one.
+     *
+     * @throws TimeoutException if the deadline already expired, so that the attempt is not made
+     */
+    static long clampToDeadline(long nanos, AttemptContext<?> context) throws TimeoutException {
+        Deadline deadline = context.getDeadline();
+        if (deadline == null) {
+            return nanos;
+        }
+        long remainingNanos = deadline.getRemainingNanos();
+        if (remainingNanos <= 0L) {
+            throw new TimeoutException("The deadline of the call expired before the attempt started");
+        }
+        return Math.min(nanos, remainingNanos);
+    }
 }
@@ -0,0 +1,68 @@
+package io.github.itning.retry.strategy.limit;
+
+import io.github.itning.retry.Attempt;
+import io.github.itning.retry.AttemptContext;
+import io.github.itning.retry.strategy.timeout.TimeoutStrategy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalating Attempt Time Limit
+ * <p></p>
+ * Asks a {@link TimeoutStrategy} for the time limit of each attempt, so that the first
+ * attempt can fail fast while later ones get more time. Attempts run on the calling
+ * thread and are interrupted by an {@link InterruptTimer}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class EscalatingAttemptTimeLimit<V> implements AttemptTimeLimiter<V> {
+
+    private static final AttemptContext<Object> FIRST_ATTEMPT = new AttemptContext<Object>() {
+        @Override
+        public long getAttemptNumber() {
+            return 1L;
+        }
+
+        @Override
+        public long getDelaySinceFirstAttempt() {
+            return 0L;
+        }
+
+        @Override
+        public Attempt<Object> getPreviousAttempt() {
+            return null;
+        }
+    };
+
+    private final TimeoutStrategy timeoutStrategy;
+    private final InterruptTimer timer;
+
+    public EscalatingAttemptTimeLimit(@Nonnull TimeoutStrategy timeoutStrategy, @Nonnull InterruptTimer timer) {
+        this.timeoutStrategy = Objects.requireNonNull(timeoutStrategy, "timeoutStrategy may not be null");
+        this.timer = Objects.requireNonNull(timer, "timer may not be null");
+    }
+
+    /**
+     * Guards the callable as if it was the first attempt.
+     */
+    @Override
+    public V call(Callable<V> callable) throws Exception {
+        return call(callable, TimeUnit.MILLISECONDS.toNanos(timeoutStrategy.computeTimeout(FIRST_ATTEMPT)));
+    }
+
+    @Override
+    public V call(Callable<V> callable, AttemptContext<V> context) throws Exception {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutStrategy.computeTimeout(context));
+        return call(callable, AttemptTimeLimiters.clampToDeadline(nanos, context));
+    }
+
+    private V call(Callable<V> callable, long nanos) throws Exception {
+        return timer.callWithTimeout(callable, nanos, TimeUnit.NANOSECONDS);
+    }
+}
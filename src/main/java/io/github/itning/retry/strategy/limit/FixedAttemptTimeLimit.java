@@ -2,6 +2,7 @@ package io.github.itning.retry.strategy.limit;
 
 import com.google.common.util.concurrent.SimpleTimeLimiter;
 import com.google.common.util.concurrent.TimeLimiter;
+import io.github.itning.retry.AttemptContext;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
@@ -39,4 +40,13 @@ public final class FixedAttemptTimeLimit<V> implements AttemptTimeLimiter<V> {
     public V call(Callable<V> callable) throws Exception {
         return timeLimiter.callWithTimeout(callable, duration, timeUnit);
     }
+
+    @Override
+    public V call(Callable<V> callable, AttemptContext<V> context) throws Exception {
+        if (context.getDeadline() == null) {
+            return call(callable);
+        }
+        long nanos = AttemptTimeLimiters.clampToDeadline(timeUnit.toNanos(duration), context);
+        return timeLimiter.callWithTimeout(callable, nanos, TimeUnit.NANOSECONDS);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package io.github.itning.retry.strategy.limit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Interrupts a thread once a timeout expires, unless the timeout is cancelled first.
+ * Timeouts are armed on a scheduler, so the guarded work keeps running on the calling
+ * thread instead of being handed off to an executor.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class InterruptTimer {
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param scheduler used to fire the timeouts, it should be cheap to cancel a task on it
+     *                  (see {@link ScheduledThreadPoolExecutor#setRemoveOnCancelPolicy(boolean)})
+     */
+    public InterruptTimer(@Nonnull ScheduledExecutorService scheduler) {
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler may not be null");
+    }
+
+    /**
+     * Returns the timer shared by the whole JVM, backed by a single daemon thread.
+     *
+     * @return the shared interrupt timer
+     */
+    public static InterruptTimer shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Arms a timeout which interrupts the given thread once it expires.
+     *
+     * @param thread   the thread to interrupt
+     * @param duration the duration before the thread is interrupted
+     * @param timeUnit the unit of the duration
+     * @return the armed timeout, which must be cancelled once the guarded work is over
+     */
+    public Timeout schedule(@Nonnull Thread thread, long duration, @Nonnull TimeUnit timeUnit) {
+        Timeout timeout = new Timeout(Objects.requireNonNull(thread, "thread may not be null"));
+        timeout.future = scheduler.schedule(timeout::fire, duration, timeUnit);
+        return timeout;
+    }
+
+    /**
+     * Runs the callable on the calling thread, interrupting it if it is still running once
+     * the duration expires. A callable which does not respond to interruption keeps running.
+     *
+     * @param callable the work to guard
+     * @param duration the time limit of the callable
+     * @param timeUnit the unit of the duration
+     * @param <V>      the type of the computation result
+     * @return the result of the callable
+     * @throws TimeoutException if the callable failed after being interrupted by the time limit,
+     *                          the original exception is set as its cause
+     * @throws Exception        any exception thrown by the callable before the time limit expired
+     */
+    public <V> V callWithTimeout(@Nonnull Callable<V> callable, long duration, @Nonnull TimeUnit timeUnit) throws Exception {
+        Timeout timeout = schedule(Thread.currentThread(), duration, timeUnit);
+        try {
+            return callable.call();
+        } catch (Exception e) {
+            if (timeout.cancel()) {
+                throw e;
+            }
+            TimeoutException timeoutException = new TimeoutException("Timed out after " + duration + " " + timeUnit);
+            timeoutException.initCause(e);
+            throw timeoutException;
+        } finally {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * A timeout armed by {@link InterruptTimer#schedule(Thread, long, TimeUnit)}.
+     */
+    public static final class Timeout {
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+        private static final int ARMED = 0;
+        private static final int CANCELLED = 1;
+        private static final int FIRING = 2;
+        private static final int FIRED = 3;
+        private static final int CLEARED = 4;
+
+        private final Thread thread;
+        private volatile int state;
+        private volatile ScheduledFuture<?> future;
+
+        private Timeout(Thread thread) {
+            this.thread = thread;
+        }
+
+        private void fire() {
+            if (STATE.compareAndSet(this, ARMED, FIRING)) {
+                thread.interrupt();
+                state = FIRED;
+            }
+        }
+
+        /**
+         * Cancels this timeout. Must be called from the guarded thread. If the timeout already
+         * fired, the interrupt status it set on the thread is cleared. Calling it again has no effect.
+         *
+         * @return <code>true</code> if the timeout was cancelled before it fired
+         */
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, ARMED, CANCELLED)) {
+                ScheduledFuture<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                return true;
+            }
+            int current;
+            while ((current = this.state) == FIRING) {
+                Thread.yield();
+            }
+            if (current == FIRED && STATE.compareAndSet(this, FIRED, CLEARED)) {
+                Thread.interrupted();
+            }
+            return current == CANCELLED;
+        }
+
+        /**
+         * @return <code>true</code> if the timeout expired and interrupted the thread
+         */
+        public boolean hasFired() {
+            int current = state;
+            return current == FIRING || current == FIRED || current == CLEARED;
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final InterruptTimer INSTANCE = new InterruptTimer(newScheduler());
+
+        private static ScheduledExecutorService newScheduler() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "guava-retrying-interrupt-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
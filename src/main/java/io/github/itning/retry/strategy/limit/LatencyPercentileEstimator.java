@@ -0,0 +1,126 @@
+package io.github.itning.retry.strategy.limit;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Streaming estimate of a latency percentile, backed by a log-linear histogram of
+ * 512 buckets (8 sub-buckets per power of two, so about 12% relative error).
+ * <p></p>
+ * Recording a sample is a couple of atomic increments and never allocates or locks.
+ * Every {@code decayInterval} samples all buckets are halved, rounding down, so the
+ * estimate follows the recent latency distribution and old outliers age out, and the percentile is recomputed every
+ * {@value #RECOMPUTE_INTERVAL} samples into a cached value.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class LatencyPercentileEstimator {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final double percentile;
+    private final long decayInterval;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong samples = new AtomicLong();
+    private volatile long cachedPercentile = -1L;
+
+    /**
+     * @param percentile    the percentile to estimate, in (0, 1)
+     * @param decayInterval the number of samples after which the histogram is halved
+     */
+    public LatencyPercentileEstimator(double percentile, long decayInterval) {
+        if (!(percentile > 0D && percentile < 1D)) {
+            throw new IllegalArgumentException("percentile must be in (0, 1) but is " + percentile);
+        }
+        if (decayInterval < RECOMPUTE_INTERVAL) {
+            throw new IllegalArgumentException("decayInterval must be >= " + RECOMPUTE_INTERVAL + " but is " + decayInterval);
+        }
+        this.percentile = percentile;
+        this.decayInterval = decayInterval;
+    }
+
+    /**
+     * Records a latency sample.
+     *
+     * @param nanos the observed latency, in nanoseconds
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(indexOf(Math.max(nanos, 0L)));
+        long count = samples.incrementAndGet();
+        if (count % decayInterval == 0L) {
+            decay();
+        }
+        if (count % RECOMPUTE_INTERVAL == 0L) {
+            cachedPercentile = compute();
+        }
+    }
+
+    /**
+     * @return the number of samples recorded so far, ignoring decay
+     */
+    public long getSampleCount() {
+        return samples.get();
+    }
+
+    /**
+     * Returns the estimated percentile, refreshed every {@value #RECOMPUTE_INTERVAL} samples.
+     *
+     * @return the estimated percentile in nanoseconds, or -1 if too few samples were recorded
+     */
+    public long getPercentile() {
+        return cachedPercentile;
+    }
+
+    private void decay() {
+        for (int i = 0; i < BUCKETS; i++) {
+            long current;
+            do {
+                current = buckets.get(i);
+            } while (current > 0L && !buckets.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    private long compute() {
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0L) {
+            return cachedPercentile;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long cumulative = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowerBound = (1L << exponent) + subBucket * width;
+        return lowerBound + width - 1L;
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.itning.retry.strategy.limit;
+
+import io.github.itning.retry.AttemptContext;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same Thread Attempt Time Limit
+ * <p></p>
+ * Runs the attempt on the calling thread and arms an {@link InterruptTimer} which interrupts
+ * it once the duration expires. Only attempts reacting to interruption can be cut short.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class SameThreadAttemptTimeLimit<V> implements AttemptTimeLimiter<V> {
+
+    private final InterruptTimer timer;
+    private final long duration;
+    private final TimeUnit timeUnit;
+
+    public SameThreadAttemptTimeLimit(long duration, @Nonnull TimeUnit timeUnit, @Nonnull InterruptTimer timer) {
+        Objects.requireNonNull(timeUnit);
+        Objects.requireNonNull(timer);
+        if (duration <= 0L) {
+            throw new IllegalArgumentException("duration must be > 0 but is " + duration);
+        }
+        this.timer = timer;
+        this.duration = duration;
+        this.timeUnit = timeUnit;
+    }
+
+    @Override
+    public V call(Callable<V> callable) throws Exception {
+        return call(callable, timeUnit.toNanos(duration));
+    }
+
+    @Override
+    public V call(Callable<V> callable, AttemptContext<V> context) throws Exception {
+        return call(callable, AttemptTimeLimiters.clampToDeadline(timeUnit.toNanos(duration), context));
+    }
+
+    private V call(Callable<V> callable, long nanos) throws Exception {
+        return timer.callWithTimeout(callable, nanos, TimeUnit.NANOSECONDS);
+    }
+}
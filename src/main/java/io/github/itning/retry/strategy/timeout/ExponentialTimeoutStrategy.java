@@ -0,0 +1,40 @@
+package io.github.itning.retry.strategy.timeout;
+
+import io.github.itning.retry.AttemptContext;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class ExponentialTimeoutStrategy implements TimeoutStrategy {
+    private final long initialTimeout;
+    private final double multiplier;
+    private final long maximumTimeout;
+
+    public ExponentialTimeoutStrategy(long initialTimeout, double multiplier, long maximumTimeout) {
+        if (initialTimeout <= 0L) {
+            throw new IllegalArgumentException("initialTimeout must be > 0 but is " + initialTimeout);
+        }
+        if (!(multiplier >= 1D)) {
+            throw new IllegalArgumentException("multiplier must be >= 1 but is " + multiplier);
+        }
+        if (maximumTimeout < initialTimeout) {
+            throw new IllegalArgumentException("maximumTimeout must be >= initialTimeout but is " + maximumTimeout);
+        }
+        this.initialTimeout = initialTimeout;
+        this.multiplier = multiplier;
+        this.maximumTimeout = maximumTimeout;
+    }
+
+    @Override
+    public long computeTimeout(AttemptContext<?> context) {
+        double result = initialTimeout * Math.pow(multiplier, context.getAttemptNumber() - 1);
+        if (result >= maximumTimeout) {
+            return maximumTimeout;
+        }
+        return Math.round(result);
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.itning.retry.strategy.timeout;
+
+import io.github.itning.retry.AttemptContext;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class FixedTimeoutStrategy implements TimeoutStrategy {
+    private final long timeout;
+
+    public FixedTimeoutStrategy(long timeout) {
+        if (timeout <= 0L) {
+            throw new IllegalArgumentException("timeout must be > 0 but is " + timeout);
+        }
+        this.timeout = timeout;
+    }
+
+    @Override
+    public long computeTimeout(AttemptContext<?> context) {
+        return timeout;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.itning.retry.strategy.timeout;
+
+import io.github.itning.retry.AttemptContext;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class IncrementingTimeoutStrategy implements TimeoutStrategy {
+    private final long initialTimeout;
+    private final long increment;
+    private final long maximumTimeout;
+
+    public IncrementingTimeoutStrategy(long initialTimeout, long increment, long maximumTimeout) {
+        if (initialTimeout <= 0L) {
+            throw new IllegalArgumentException("initialTimeout must be > 0 but is " + initialTimeout);
+        }
+        if (increment < 0L) {
+            throw new IllegalArgumentException("increment must be >= 0 but is " + increment);
+        }
+        if (maximumTimeout < initialTimeout) {
+            throw new IllegalArgumentException("maximumTimeout must be >= initialTimeout but is " + maximumTimeout);
+        }
+        this.initialTimeout = initialTimeout;
+        this.increment = increment;
+        this.maximumTimeout = maximumTimeout;
+    }
+
+    @Override
+    public long computeTimeout(AttemptContext<?> context) {
+        long steps = context.getAttemptNumber() - 1;
+        if (increment != 0L && steps > (maximumTimeout - initialTimeout) / increment) {
+            return maximumTimeout;
+        }
+        return initialTimeout + increment * steps;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.itning.retry.strategy.timeout;
+
+import io.github.itning.retry.AttemptContext;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class TableTimeoutStrategy implements TimeoutStrategy {
+    private final long[] timeouts;
+
+    public TableTimeoutStrategy(long[] timeouts) {
+        if (timeouts.length == 0) {
+            throw new IllegalArgumentException("Need at least one timeout");
+        }
+        for (long timeout : timeouts) {
+            if (timeout <= 0L) {
+                throw new IllegalArgumentException("timeouts must be > 0 but one is " + timeout);
+            }
+        }
+        this.timeouts = timeouts.clone();
+    }
+
+    @Override
+    public long computeTimeout(AttemptContext<?> context) {
+        long index = Math.min(context.getAttemptNumber(), timeouts.length) - 1;
+        return timeouts[(int) index];
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.itning.retry.strategy.timeout;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory class for instances of {@link TimeoutStrategy}. The strategies work in milliseconds,
+ * so a positive time limit shorter than a millisecond is rejected rather than truncated to 0.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class TimeoutStrategies {
+
+    private TimeoutStrategies() {
+    }
+
+    /**
+     * Returns a strategy that gives every attempt the same time limit.
+     *
+     * @param timeout  the time limit of each attempt
+     * @param timeUnit the unit of the time limit
+     * @return a timeout strategy with a fixed time limit
+     */
+    public static TimeoutStrategy fixedTimeout(long timeout, @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "The time unit may not be null");
+        return new FixedTimeoutStrategy(toMillis("timeout", timeout, timeUnit));
+    }
+
+    /**
+     * Returns a strategy that gives the first attempt {@code initialTimeout} and adds
+     * {@code increment} for each following attempt, up to {@code maximumTimeout}.
+     *
+     * @param initialTimeout the time limit of the first attempt
+     * @param increment      added to the time limit after each attempt
+     * @param maximumTimeout the highest time limit an attempt may get
+     * @param timeUnit       the unit of the time limits
+     * @return a timeout strategy that increments the time limit with each attempt
+     */
+    public static TimeoutStrategy incrementingTimeout(long initialTimeout,
+                                                      long increment,
+                                                      long maximumTimeout,
+                                                      @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "The time unit may not be null");
+        return new IncrementingTimeoutStrategy(toMillis("initialTimeout", initialTimeout, timeUnit),
+                toMillis("increment", increment, timeUnit), toMillis("maximumTimeout", maximumTimeout, timeUnit));
+    }
+
+    /**
+     * Returns a strategy that gives the first attempt {@code initialTimeout} and multiplies
+     * it by {@code multiplier} for each following attempt, up to {@code maximumTimeout}.
+     *
+     * @param initialTimeout the time limit of the first attempt
+     * @param multiplier     the time limit is multiplied by this after each attempt
+     * @param maximumTimeout the highest time limit an attempt may get
+     * @param timeUnit       the unit of the time limits
+     * @return a timeout strategy that grows the time limit exponentially with each attempt
+     */
+    public static TimeoutStrategy exponentialTimeout(long initialTimeout,
+                                                     double multiplier,
+                                                     long maximumTimeout,
+                                                     @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "The time unit may not be null");
+        return new ExponentialTimeoutStrategy(toMillis("initialTimeout", initialTimeout, timeUnit), multiplier,
+                toMillis("maximumTimeout", maximumTimeout, timeUnit));
+    }
+
+    /**
+     * Returns a strategy that gives the n-th attempt the n-th time limit of the table.
+     * Attempts past the end of the table get the last time limit.
+     *
+     * @param timeUnit the unit of the time limits
+     * @param timeouts the time limits of the successive attempts
+     * @return a timeout strategy reading the time limits from a table
+     */
+    public static TimeoutStrategy tableTimeout(@Nonnull TimeUnit timeUnit, long... timeouts) {
+        Objects.requireNonNull(timeUnit, "The time unit may not be null");
+        Objects.requireNonNull(timeouts, "timeouts may not be null");
+        long[] millis = new long[timeouts.length];
+        for (int i = 0; i < timeouts.length; i++) {
+            millis[i] = toMillis("timeouts[" + i + "]", timeouts[i], timeUnit);
+        }
+        return new TableTimeoutStrategy(millis);
+    }
+
+    private static long toMillis(String name, long value, TimeUnit timeUnit) {
+        long millis = timeUnit.toMillis(value);
+        if (value > 0L && millis == 0L) {
+            throw new IllegalArgumentException(name + " must be at least 1 millisecond but is " + value + " " + timeUnit);
+        }
+        return millis;
+    }
+}
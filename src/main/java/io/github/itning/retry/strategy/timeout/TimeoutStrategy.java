@@ -0,0 +1,20 @@
+package io.github.itning.retry.strategy.timeout;
+
+import io.github.itning.retry.AttemptContext;
+
+/**
+ * A strategy used to decide how long an attempt may run before it is interrupted.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public interface TimeoutStrategy {
+
+    /**
+     * Returns the time limit, in milliseconds, of the attempt about to be made.
+     *
+     * @param context describes the attempt about to be made
+     * @return the time limit of the attempt
+     */
+    long computeTimeout(AttemptContext<?> context);
+}
@@ -28,4 +28,22 @@ public final class CompositeWaitStrategy implements WaitStrategy {
         }
         return waitTime;
     }
+
+    @Override
+    public long computeMaximumSleepTime(Attempt failedAttempt) {
+        long waitTime = 0L;
+        for (WaitStrategy waitStrategy : waitStrategies) {
+            waitTime += waitStrategy.computeMaximumSleepTime(failedAttempt);
+        }
+        return waitTime;
+    }
+
+    @Override
+    public long computeMinimumSleepTime(Attempt failedAttempt) {
+        long waitTime = 0L;
+        for (WaitStrategy waitStrategy : waitStrategies) {
+            waitTime += waitStrategy.computeMinimumSleepTime(failedAttempt);
+        }
+        return waitTime;
+    }
 }
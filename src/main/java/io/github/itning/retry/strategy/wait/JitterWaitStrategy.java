@@ -0,0 +1,47 @@
+package io.github.itning.retry.strategy.wait;
+
+import io.github.itning.retry.Attempt;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Randomizes the sleep time computed by another strategy, so that clients failing together
+ * do not retry together. Full jitter sleeps for a random time between 0 and the computed sleep
+ * time; equal jitter sleeps for at least half of it.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class JitterWaitStrategy implements WaitStrategy {
+    private final WaitStrategy delegate;
+    private final boolean full;
+
+    public JitterWaitStrategy(WaitStrategy delegate, boolean full) {
+        this.delegate = delegate;
+        this.full = full;
+    }
+
+    @Override
+    public long computeSleepTime(Attempt failedAttempt) {
+        long sleepTime = delegate.computeSleepTime(failedAttempt);
+        if (sleepTime <= 0L) {
+            return 0L;
+        }
+        long base = full ? 0L : sleepTime / 2L;
+        long range = sleepTime - base;
+        // saturated, so that a sleep time of Long.MAX_VALUE does not overflow the exclusive bound
+        return base + ThreadLocalRandom.current().nextLong(range == Long.MAX_VALUE ? range : range + 1L);
+    }
+
+    @Override
+    public long computeMaximumSleepTime(Attempt failedAttempt) {
+        return delegate.computeMaximumSleepTime(failedAttempt);
+    }
+
+    @Override
+    public long computeMinimumSleepTime(Attempt failedAttempt) {
+        return full ? 0L : Math.max(0L, delegate.computeMinimumSleepTime(failedAttempt)) / 2L;
+    }
+}
@@ -31,4 +31,14 @@ public final class RandomWaitStrategy implements WaitStrategy {
         long t = Math.abs(RANDOM.nextLong()) % (maximum - minimum);
         return t + minimum;
     }
+
+    @Override
+    public long computeMaximumSleepTime(Attempt failedAttempt) {
+        return maximum - 1L;
+    }
+
+    @Override
+    public long computeMinimumSleepTime(Attempt failedAttempt) {
+        return minimum;
+    }
 }
\ No newline at end of file
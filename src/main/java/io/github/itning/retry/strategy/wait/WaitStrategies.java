@@ -229,4 +229,30 @@ public final class WaitStrategies {
         }
         return new CompositeWaitStrategy(waitStrategyList);
     }
+
+    /**
+     * Returns a strategy which sleeps for a random time between 0 and the sleep time computed
+     * by the given strategy, to spread the retries of clients which failed at the same time.
+     *
+     * @param waitStrategy the strategy computing the maximum sleep time
+     * @return a wait strategy adding full jitter
+     * @since 3.1.0
+     */
+    public static WaitStrategy fullJitter(@Nonnull WaitStrategy waitStrategy) {
+        Objects.requireNonNull(waitStrategy, "The wait strategy may not be null");
+        return new JitterWaitStrategy(waitStrategy, true);
+    }
+
+    /**
+     * Returns a strategy which sleeps for a random time between half of and the sleep time
+     * computed by the given strategy, keeping a minimum backoff while spreading the retries.
+     *
+     * @param waitStrategy the strategy computing the maximum sleep time
+     * @return a wait strategy adding equal jitter
+     * @since 3.1.0
+     */
+    public static WaitStrategy equalJitter(@Nonnull WaitStrategy waitStrategy) {
+        Objects.requireNonNull(waitStrategy, "The wait strategy may not be null");
+        return new JitterWaitStrategy(waitStrategy, false);
+    }
 }
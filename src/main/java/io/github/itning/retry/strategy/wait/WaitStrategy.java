@@ -32,4 +32,30 @@ public interface WaitStrategy {
      * @return the sleep time before next attempt
      */
     long computeSleepTime(Attempt failedAttempt);
+
+    /**
+     * Returns the longest time, in milliseconds, this strategy may return from
+     * {@link #computeSleepTime} for the given attempt. It is used to plan the worst case of a
+     * policy, and must be overridden by the strategies returning random sleep times.
+     *
+     * @param failedAttempt the previous failed {@code Attempt}
+     * @return the maximum sleep time before next attempt
+     * @since 3.1.0
+     */
+    default long computeMaximumSleepTime(Attempt failedAttempt) {
+        return computeSleepTime(failedAttempt);
+    }
+
+    /**
+     * Returns the shortest time, in milliseconds, this strategy may return from
+     * {@link #computeSleepTime} for the given attempt. It is used to plan the largest number of
+     * attempts of a policy, and must be overridden by the strategies returning random sleep times.
+     *
+     * @param failedAttempt the previous failed {@code Attempt}
+     * @return the minimum sleep time before next attempt
+     * @since 3.1.0
+     */
+    default long computeMinimumSleepTime(Attempt failedAttempt) {
+        return computeSleepTime(failedAttempt);
+    }
 }
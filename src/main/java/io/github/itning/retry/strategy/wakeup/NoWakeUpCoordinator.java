@@ -0,0 +1,20 @@
+package io.github.itning.retry.strategy.wakeup;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class NoWakeUpCoordinator implements WakeUpCoordinator {
+    public static final WakeUpCoordinator INSTANCE = new NoWakeUpCoordinator();
+
+    private NoWakeUpCoordinator() {
+    }
+
+    @Override
+    public long coordinate(long sleepTime) {
+        return sleepTime;
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.itning.retry.strategy.wakeup;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Splits the time line into slots of a fixed width and admits at most
+ * {@code maxPerSlot} wake-ups per slot. A wake-up landing in a full slot is moved
+ * to the next slot with spare capacity, up to {@code windowSlots} slots later.
+ * Within a slot the admitted wake-ups are evenly spaced.
+ * <p></p>
+ * Each slot is tracked by a single packed {@code long} (slot number and count) in a
+ * ring, updated with CAS. The ring covers at least twice the window, and at most
+ * {@value #MAX_RING_SIZE} slots; a wake-up whose window would reach beyond the ring is too far
+ * in the future to be coordinated and is left unchanged. If every slot of the window is full,
+ * the wake-up is counted in a random slot of the window, at a random instant of that slot, so
+ * that a burst larger than the window is spread over it rather than woken up at once; the cap
+ * is then exceeded evenly.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class SlottedWakeUpCoordinator implements WakeUpCoordinator {
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int MIN_RING_SIZE = 1024;
+    /**
+     * The largest ring, 8 MiB of longs.
+     */
+    static final int MAX_RING_SIZE = 1 << 20;
+    /**
+     * The largest window, for the ring to cover twice the window.
+     */
+    static final int MAX_WINDOW_SLOTS = MAX_RING_SIZE / 2;
+
+    private final long origin = System.nanoTime();
+    private final long slotNanos;
+    private final int maxPerSlot;
+    private final int windowSlots;
+    private final AtomicLongArray ring;
+    private final int mask;
+
+    public SlottedWakeUpCoordinator(long slotWidth, int maxPerSlot, int windowSlots) {
+        if (slotWidth <= 0L) {
+            throw new IllegalArgumentException("slotWidth must be > 0 but is " + slotWidth);
+        }
+        if (maxPerSlot < 1 || maxPerSlot > COUNT_MASK) {
+            throw new IllegalArgumentException("maxPerSlot must be in [1, " + COUNT_MASK + "] but is " + maxPerSlot);
+        }
+        if (windowSlots < 1 || windowSlots > MAX_WINDOW_SLOTS) {
+            throw new IllegalArgumentException("windowSlots must be in [1, " + MAX_WINDOW_SLOTS + "] but is " + windowSlots);
+        }
+        this.slotNanos = TimeUnit.MILLISECONDS.toNanos(slotWidth);
+        this.maxPerSlot = maxPerSlot;
+        this.windowSlots = windowSlots;
+        int size = Integer.highestOneBit(Math.max(MIN_RING_SIZE, 2 * windowSlots) - 1) << 1;
+        this.ring = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            ring.set(i, -1L);
+        }
+    }
+
+    @Override
+    public long coordinate(long sleepTime) {
+        long sleepNanos = TimeUnit.MILLISECONDS.toNanos(sleepTime);
+        if (sleepNanos / slotNanos >= ring.length() - windowSlots) {
+            return sleepTime;
+        }
+        long now = System.nanoTime() - origin;
+        long desired = now + sleepNanos;
+        long currentSlot = now / slotNanos;
+        long firstSlot = desired / slotNanos;
+        long slot = firstSlot;
+        for (int i = 0; i < windowSlots; i++, slot++) {
+            int position = tryAcquire(slot, currentSlot, maxPerSlot);
+            if (position > 0) {
+                long wakeUp = slot * slotNanos + (position - 1) * slotNanos / maxPerSlot;
+                return toSleepTime(Math.max(wakeUp, desired) - now, sleepTime);
+            }
+            if (position < 0) {
+                break;
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        slot = firstSlot + random.nextInt(windowSlots);
+        tryAcquire(slot, currentSlot, (int) COUNT_MASK);
+        long wakeUp = slot * slotNanos + random.nextLong(slotNanos);
+        return toSleepTime(Math.max(wakeUp, desired) - now, sleepTime);
+    }
+
+    /**
+     * @return the 1-based position admitted in the slot, 0 if the slot already holds {@code limit}
+     * wake-ups, or -1 if the ring entry is held by another slot still in the future
+     */
+    private int tryAcquire(long slot, long currentSlot, int limit) {
+        int index = (int) (slot & mask);
+        for (; ; ) {
+            long packed = ring.get(index);
+            long owner = packed >> COUNT_BITS;
+            if (packed == -1L || (owner != slot && owner < currentSlot)) {
+                if (ring.compareAndSet(index, packed, (slot << COUNT_BITS) | 1L)) {
+                    return 1;
+                }
+            } else if (owner == slot) {
+                long count = packed & COUNT_MASK;
+                if (count >= limit) {
+                    return 0;
+                }
+                if (ring.compareAndSet(index, packed, packed + 1L)) {
+                    return (int) count + 1;
+                }
+            } else {
+                return -1;
+            }
+        }
+    }
+
+    @Override
+    public long getMaximumDeferral() {
+        // rounded up to the next millisecond
+        return TimeUnit.NANOSECONDS.toMillis(windowSlots * slotNanos) + 1L;
+    }
+
+    private static long toSleepTime(long nanos, long sleepTime) {
+        long millis = (nanos + 999_999L) / 1_000_000L;
+        return Math.max(millis, sleepTime);
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.itning.retry.strategy.wakeup;
+
+import io.github.itning.retry.strategy.wait.WaitStrategy;
+
+/**
+ * A coordinator shared by several retryers calling the same dependency, used to
+ * desynchronize their wake-up instants. It never replaces the sleep time computed
+ * by a {@link WaitStrategy}, it may only defer it.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public interface WakeUpCoordinator {
+
+    /**
+     * Returns the time, in milliseconds, to actually sleep before retrying.
+     *
+     * @param sleepTime the sleep time, in milliseconds, computed by the {@link WaitStrategy}
+     * @return the coordinated sleep time, never less than {@code sleepTime}
+     */
+    long coordinate(long sleepTime);
+
+    /**
+     * Returns the longest time, in milliseconds, {@link #coordinate} may add to a sleep time.
+     * It is used to plan the worst case of a policy.
+     *
+     * @return the maximum deferral of a sleep time
+     */
+    default long getMaximumDeferral() {
+        return 0L;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.itning.retry.strategy.wakeup;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory class for {@link WakeUpCoordinator} instances.
+ * <p></p>
+ * A coordinator only desynchronizes the retryers it is shared with, so create one
+ * coordinator per dependency and hand the same instance to every retryer calling it.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class WakeUpCoordinators {
+
+    private WakeUpCoordinators() {
+    }
+
+    /**
+     * Returns a coordinator which keeps the sleep time computed by the wait strategy.
+     *
+     * @return a coordinator which does not coordinate anything
+     */
+    public static WakeUpCoordinator noCoordination() {
+        return NoWakeUpCoordinator.INSTANCE;
+    }
+
+    /**
+     * Returns a coordinator which spreads wake-ups across slots of {@code slotWidth} and
+     * lets at most {@code maxRetriesPerSlot} retries fire per slot. A retry landing in a
+     * full slot is deferred to the next slot with spare capacity, at most {@code window} later.
+     * The window may span at most {@value SlottedWakeUpCoordinator#MAX_WINDOW_SLOTS} slots.
+     *
+     * @param slotWidth         the width of a slot
+     * @param maxRetriesPerSlot the maximum number of retries allowed to fire in one slot
+     * @param window            how far a retry may be deferred past its computed wake-up instant
+     * @param timeUnit          the unit of {@code slotWidth} and {@code window}
+     * @return a slotted wake-up coordinator
+     */
+    public static WakeUpCoordinator slotted(long slotWidth, int maxRetriesPerSlot, long window, @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "The time unit may not be null");
+        long slotMillis = timeUnit.toMillis(slotWidth);
+        long windowMillis = timeUnit.toMillis(window);
+        if (slotMillis <= 0L) {
+            throw new IllegalArgumentException("slotWidth must be at least 1 millisecond but is " + slotWidth + " " + timeUnit);
+        }
+        long windowSlots = Math.max(1L, windowMillis / slotMillis);
+        if (windowSlots > SlottedWakeUpCoordinator.MAX_WINDOW_SLOTS) {
+            throw new IllegalArgumentException("window must be at most " + SlottedWakeUpCoordinator.MAX_WINDOW_SLOTS + " slots but is " + windowSlots);
+        }
+        return new SlottedWakeUpCoordinator(slotMillis, maxRetriesPerSlot, (int) windowSlots);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.itning.retry.ticker;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ticker returning a reading of {@link System#nanoTime()} refreshed periodically by a
+ * daemon thread, so that reading it is a plain volatile read. It trades precision for cost:
+ * the timings measured with it are only accurate to its resolution, which suits retryers
+ * backing off for hundreds of milliseconds called at high rates, but not attempts lasting
+ * less than the resolution.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class CachedTicker implements Ticker, AutoCloseable {
+    private final ScheduledExecutorService refresher;
+    private volatile long nanos = System.nanoTime();
+
+    CachedTicker(long resolutionNanos) {
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "guava-retrying-cached-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refresher.scheduleAtFixedRate(() -> nanos = System.nanoTime(), resolutionNanos, resolutionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long read() {
+        return nanos;
+    }
+
+    /**
+     * Stops refreshing this ticker, whose reading no longer changes.
+     */
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.itning.retry.ticker;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A ticker whose time only moves when it is advanced, for deterministic tests and simulations.
+ * Combined with {@link io.github.itning.retry.strategy.block.BlockStrategies#virtualTimeBlockStrategy(ManualTicker)},
+ * a retryer advances it by the sleep time between attempts instead of sleeping.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class ManualTicker implements Ticker {
+    private final AtomicLong nanos;
+
+    /**
+     * Creates a ticker starting at the given time.
+     *
+     * @param startNanos the initial reading of the ticker
+     */
+    public ManualTicker(long startNanos) {
+        this.nanos = new AtomicLong(startNanos);
+    }
+
+    /**
+     * Creates a ticker starting at 0.
+     */
+    public ManualTicker() {
+        this(0L);
+    }
+
+    @Override
+    public long read() {
+        return nanos.get();
+    }
+
+    /**
+     * Moves the time of this ticker forward.
+     *
+     * @param duration the duration to move forward by
+     * @param timeUnit the unit of the duration
+     * @return the new reading of the ticker
+     */
+    public long advance(long duration, @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+        if (duration < 0L) {
+            throw new IllegalArgumentException("duration must be >= 0 but is " + duration);
+        }
+        return nanos.addAndGet(timeUnit.toNanos(duration));
+    }
+
+    @Override
+    public String toString() {
+        return "ManualTicker{nanos=" + nanos.get() + '}';
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.itning.retry.ticker;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A ticker reading {@link System#nanoTime()}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class SystemTicker implements Ticker {
+
+    public static final Ticker INSTANCE = new SystemTicker();
+
+    private SystemTicker() {
+    }
+
+    @Override
+    public long read() {
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.itning.retry.ticker;
+
+/**
+ * A source of nanosecond time, which a {@link io.github.itning.retry.Retryer} reads to measure
+ * its attempts, the delay since the first attempt seen by the stop strategies, and the
+ * timestamps passed to its listeners. Only the difference between two readings is
+ * meaningful.
+ *
+ * @author itning
+ * @see Tickers
+ * @since 3.1.0
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    /**
+     * @return the current time, in nanoseconds since an arbitrary origin
+     */
+    long read();
+}
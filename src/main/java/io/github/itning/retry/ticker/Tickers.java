@@ -0,0 +1,52 @@
+package io.github.itning.retry.ticker;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory class for {@link Ticker} instances.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class Tickers {
+
+    private Tickers() {
+    }
+
+    /**
+     * Returns the ticker reading {@link System#nanoTime()}, which retryers use by default.
+     *
+     * @return the system ticker
+     */
+    public static Ticker systemTicker() {
+        return SystemTicker.INSTANCE;
+    }
+
+    /**
+     * Returns a ticker reading a clock value refreshed at the given resolution by a daemon
+     * thread, which is cheaper to read than {@link System#nanoTime()} where that matters. The
+     * thread runs until the ticker is closed; share one ticker between retryers.
+     *
+     * @param resolution the period the clock value is refreshed with
+     * @param timeUnit   the unit of the resolution
+     * @return a new cached ticker
+     */
+    public static CachedTicker cachedTicker(long resolution, @Nonnull TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, "timeUnit may not be null");
+        if (resolution <= 0L) {
+            throw new IllegalArgumentException("resolution must be > 0 but is " + resolution);
+        }
+        return new CachedTicker(timeUnit.toNanos(resolution));
+    }
+
+    /**
+     * Returns a ticker whose time only moves when advanced, starting at 0.
+     *
+     * @return a new manual ticker
+     */
+    public static ManualTicker manualTicker() {
+        return new ManualTicker();
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.itning.retry.trace;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A tracer which opens spans doing nothing. Once inlined, its calls vanish from the hot path.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@Immutable
+public final class NoopRetryTracer implements RetryTracer, RetrySpan {
+    public static final NoopRetryTracer INSTANCE = new NoopRetryTracer();
+
+    private NoopRetryTracer() {
+    }
+
+    @Override
+    public RetrySpan startCall(String retryerName) {
+        return this;
+    }
+
+    @Override
+    public RetrySpan startAttempt(long attemptNumber) {
+        return this;
+    }
+
+    @Override
+    public RetrySpan startBackoff(long attemptNumber, long sleepTime) {
+        return this;
+    }
+
+    @Override
+    public void setTag(String key, String value) {
+    }
+
+    @Override
+    public void setTag(String key, long value) {
+    }
+
+    @Override
+    public void end() {
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.itning.retry.trace;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tracer keeping every span in memory, meant to check in tests which spans a retryer opens.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@ThreadSafe
+public final class RecordingRetryTracer implements RetryTracer {
+    private final List<RecordedSpan> spans = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public RetrySpan startCall(@Nullable String retryerName) {
+        return record(new RecordedSpan("call", null, retryerName));
+    }
+
+    /**
+     * @return a copy of the spans opened so far, in the order they were opened
+     */
+    public List<RecordedSpan> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * Forgets the spans opened so far.
+     */
+    public void clear() {
+        spans.clear();
+    }
+
+    private RecordedSpan record(RecordedSpan span) {
+        spans.add(span);
+        return span;
+    }
+
+    /**
+     * A span recorded by a {@link RecordingRetryTracer}.
+     */
+    public final class RecordedSpan implements RetrySpan {
+        private final String name;
+        private final RecordedSpan parent;
+        private final String retryerName;
+        private final Map<String, Object> tags = new LinkedHashMap<>();
+        private final long startNanos = System.nanoTime();
+        private long endNanos;
+        private volatile boolean ended;
+
+        private RecordedSpan(String name, RecordedSpan parent, String retryerName) {
+            this.name = name;
+            this.parent = parent;
+            this.retryerName = retryerName;
+        }
+
+        @Override
+        public RetrySpan startAttempt(long attemptNumber) {
+            RecordedSpan span = new RecordedSpan("attempt", this, retryerName);
+            span.setTag(ATTEMPT_NUMBER, attemptNumber);
+            return record(span);
+        }
+
+        @Override
+        public RetrySpan startBackoff(long attemptNumber, long sleepTime) {
+            RecordedSpan span = new RecordedSpan("backoff", this, retryerName);
+            span.setTag(ATTEMPT_NUMBER, attemptNumber);
+            span.setTag(SLEEP_TIME, sleepTime);
+            return record(span);
+        }
+
+        @Override
+        public synchronized void setTag(String key, String value) {
+            tags.put(key, value);
+        }
+
+        @Override
+        public synchronized void setTag(String key, long value) {
+            tags.put(key, value);
+        }
+
+        @Override
+        public void end() {
+            endNanos = System.nanoTime();
+            ended = true;
+        }
+
+        /**
+         * @return <code>call</code>, <code>attempt</code> or <code>backoff</code>
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the call span, or <code>null</code> for a call span
+         */
+        @Nullable
+        public RecordedSpan getParent() {
+            return parent;
+        }
+
+        /**
+         * @return the name of the retryer which opened the span
+         */
+        @Nullable
+        public String getRetryerName() {
+            return retryerName;
+        }
+
+        /**
+         * @return a copy of the tags of the span
+         */
+        public synchronized Map<String, Object> getTags() {
+            return new LinkedHashMap<>(tags);
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * @return the time the span ended, only meaningful once {@link #isEnded() ended}
+         */
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+
+        @Override
+        public String toString() {
+            return name + tags;
+        }
+    }
+}
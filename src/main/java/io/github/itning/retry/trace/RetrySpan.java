@@ -0,0 +1,71 @@
+package io.github.itning.retry.trace;
+
+/**
+ * A span opened by a {@link RetryTracer}. The call span is the parent of the attempt and
+ * backoff spans, which are opened and ended one after the other.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public interface RetrySpan {
+    /**
+     * The number of the attempt, on attempt and backoff spans; the number of attempts, on call spans.
+     */
+    String ATTEMPT_NUMBER = "retry.attempt";
+    /**
+     * The class name of the exception thrown by the attempt.
+     */
+    String EXCEPTION_CLASS = "retry.exception";
+    /**
+     * Why the attempt was rejected: <code>result</code> or <code>exception</code>, or <code>deadline exceeded</code>
+     * if the deadline of the call expired while the attempt ran.
+     */
+    String REJECTION_REASON = "retry.rejected";
+    /**
+     * The sleep time computed by the wait strategy, in milliseconds, on backoff spans.
+     */
+    String SLEEP_TIME = "retry.sleep";
+    /**
+     * How the call ended: <code>completed</code>, <code>stop strategy</code>, <code>deadline exceeded</code>
+     * or <code>interrupted</code>, on call spans.
+     */
+    String OUTCOME = "retry.outcome";
+
+    /**
+     * Opens a child span for an attempt.
+     *
+     * @param attemptNumber the number of the attempt, starting from 1
+     * @return the span of the attempt
+     */
+    RetrySpan startAttempt(long attemptNumber);
+
+    /**
+     * Opens a child span for the time blocked after a rejected attempt.
+     *
+     * @param attemptNumber the number of the rejected attempt
+     * @param sleepTime     the sleep time computed by the wait strategy, in milliseconds
+     * @return the span of the backoff
+     */
+    RetrySpan startBackoff(long attemptNumber, long sleepTime);
+
+    /**
+     * Tags this span.
+     *
+     * @param key   the key of the tag
+     * @param value the value of the tag
+     */
+    void setTag(String key, String value);
+
+    /**
+     * Tags this span.
+     *
+     * @param key   the key of the tag
+     * @param value the value of the tag
+     */
+    void setTag(String key, long value);
+
+    /**
+     * Ends this span.
+     */
+    void end();
+}
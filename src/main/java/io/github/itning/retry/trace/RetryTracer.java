@@ -0,0 +1,23 @@
+package io.github.itning.retry.trace;
+
+import javax.annotation.Nullable;
+
+/**
+ * A tracer which the {@link io.github.itning.retry.Retryer} uses to open a span per call, with
+ * a child span per attempt and per backoff. Implement it to bridge the retryer to a tracing
+ * library; the spans opened by a call are only used by the thread running it.
+ *
+ * @author itning
+ * @see RetryTracers
+ * @since 3.1.0
+ */
+public interface RetryTracer {
+
+    /**
+     * Opens the span of a call, before its first attempt.
+     *
+     * @param retryerName the name of the retryer, or <code>null</code> if it has none
+     * @return the span of the call
+     */
+    RetrySpan startCall(@Nullable String retryerName);
+}
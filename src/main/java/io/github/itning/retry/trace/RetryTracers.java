@@ -0,0 +1,31 @@
+package io.github.itning.retry.trace;
+
+/**
+ * Factory class for instances of {@link RetryTracer}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+public final class RetryTracers {
+
+    private RetryTracers() {
+    }
+
+    /**
+     * Returns a tracer which does nothing. This is the tracer of a retryer unless another one is set.
+     *
+     * @return a tracer which does nothing
+     */
+    public static RetryTracer noop() {
+        return NoopRetryTracer.INSTANCE;
+    }
+
+    /**
+     * Returns a tracer keeping every span in memory, meant for tests.
+     *
+     * @return a new recording tracer
+     */
+    public static RecordingRetryTracer recording() {
+        return new RecordingRetryTracer();
+    }
+}
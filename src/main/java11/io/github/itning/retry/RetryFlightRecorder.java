@@ -0,0 +1,237 @@
+package io.github.itning.retry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits the Java Flight Recorder events of the calls made through a {@link Retryer}.
+ * <p></p>
+ * This is the Java 11 version, packaged in the multi-release layer of the jar. Whether an
+ * event type is enabled is checked before allocating the event, so the cost of a disabled
+ * event is a field read. Everything touching <code>jdk.jfr</code> lives in {@link Jfr}, which
+ * is loaded once behind a guard: on a runtime without the <code>jdk.jfr</code> module, such as
+ * a trimmed jlink image, this class does nothing, like the Java 8 version.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class RetryFlightRecorder {
+    private static final boolean AVAILABLE = isAvailable();
+
+    private RetryFlightRecorder() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            return Jfr.CALL != null;
+        } catch (LinkageError | RuntimeException e) {
+            return false;
+        }
+    }
+
+    static Object beginCall() {
+        return AVAILABLE ? Jfr.beginCall() : null;
+    }
+
+    static void endCall(Object callEvent, String retryerName, long attempts, String outcome) {
+        if (callEvent != null) {
+            Jfr.endCall(callEvent, retryerName, attempts, outcome);
+        }
+    }
+
+    static Object beginAttempt() {
+        return AVAILABLE ? Jfr.beginAttempt() : null;
+    }
+
+    static void endAttempt(Object attemptEvent, String retryerName, Attempt<?> attempt) {
+        if (attemptEvent != null) {
+            Jfr.endAttempt(attemptEvent, retryerName, attempt);
+        }
+    }
+
+    static Object beginBackoff() {
+        return AVAILABLE ? Jfr.beginBackoff() : null;
+    }
+
+    static void endBackoff(Object backoffEvent, String retryerName, long attemptNumber, long sleepTime) {
+        if (backoffEvent != null) {
+            Jfr.endBackoff(backoffEvent, retryerName, attemptNumber, sleepTime);
+        }
+    }
+
+    static void giveUp(String retryerName, Attempt<?> lastAttempt, String reason) {
+        if (AVAILABLE) {
+            Jfr.giveUp(retryerName, lastAttempt, reason);
+        }
+    }
+
+    /**
+     * The actual recorder, only loaded once <code>jdk.jfr</code> is known to be present.
+     */
+    static final class Jfr {
+        static final EventType CALL = EventType.getEventType(RetryCallEvent.class);
+        static final EventType ATTEMPT = EventType.getEventType(RetryAttemptEvent.class);
+        static final EventType BACKOFF = EventType.getEventType(RetryBackoffEvent.class);
+        static final EventType GIVE_UP = EventType.getEventType(RetryGiveUpEvent.class);
+
+        private Jfr() {
+        }
+
+        static Object beginCall() {
+            if (!CALL.isEnabled()) {
+                return null;
+            }
+            RetryCallEvent event = new RetryCallEvent();
+            event.begin();
+            return event;
+        }
+
+        static void endCall(Object callEvent, String retryerName, long attempts, String outcome) {
+            RetryCallEvent event = (RetryCallEvent) callEvent;
+            event.end();
+            if (event.shouldCommit()) {
+                event.retryer = retryerName;
+                event.attempts = attempts;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+
+        static Object beginAttempt() {
+            if (!ATTEMPT.isEnabled()) {
+                return null;
+            }
+            RetryAttemptEvent event = new RetryAttemptEvent();
+            event.begin();
+            return event;
+        }
+
+        static void endAttempt(Object attemptEvent, String retryerName, Attempt<?> attempt) {
+            RetryAttemptEvent event = (RetryAttemptEvent) attemptEvent;
+            event.end();
+            if (event.shouldCommit()) {
+                event.retryer = retryerName;
+                event.attemptNumber = attempt.getAttemptNumber();
+                event.outcomeClass = outcomeClass(attempt);
+                event.commit();
+            }
+        }
+
+        static Object beginBackoff() {
+            if (!BACKOFF.isEnabled()) {
+                return null;
+            }
+            RetryBackoffEvent event = new RetryBackoffEvent();
+            event.begin();
+            return event;
+        }
+
+        static void endBackoff(Object backoffEvent, String retryerName, long attemptNumber, long sleepTime) {
+            RetryBackoffEvent event = (RetryBackoffEvent) backoffEvent;
+            event.end();
+            if (event.shouldCommit()) {
+                event.retryer = retryerName;
+                event.attemptNumber = attemptNumber;
+                event.sleepTime = sleepTime;
+                event.commit();
+            }
+        }
+
+        static void giveUp(String retryerName, Attempt<?> lastAttempt, String reason) {
+            if (!GIVE_UP.isEnabled()) {
+                return;
+            }
+            RetryGiveUpEvent event = new RetryGiveUpEvent();
+            if (event.shouldCommit()) {
+                event.retryer = retryerName;
+                event.attempts = lastAttempt.getAttemptNumber();
+                event.outcomeClass = outcomeClass(lastAttempt);
+                event.reason = reason;
+                event.commit();
+            }
+        }
+
+        private static String outcomeClass(Attempt<?> attempt) {
+            if (attempt.hasException()) {
+                return attempt.getExceptionCause().getClass().getName();
+            }
+            Object result = attempt.getResult();
+            return result == null ? null : result.getClass().getName();
+        }
+
+        @Name("io.github.itning.retry.RetryCall")
+        @Label("Retry Call")
+        @Category("Retry")
+        @Description("A call made through a retryer, from its first attempt to its outcome")
+        @StackTrace(false)
+        static final class RetryCallEvent extends Event {
+            @Label("Retryer")
+            String retryer;
+
+            @Label("Attempts")
+            long attempts;
+
+            @Label("Outcome")
+            String outcome;
+        }
+
+        @Name("io.github.itning.retry.RetryAttempt")
+        @Label("Retry Attempt")
+        @Category("Retry")
+        @Description("A single attempt of a call made through a retryer")
+        @StackTrace(false)
+        static final class RetryAttemptEvent extends Event {
+            @Label("Retryer")
+            String retryer;
+
+            @Label("Attempt Number")
+            long attemptNumber;
+
+            @Label("Outcome Class")
+            @Description("The class of the exception thrown, or of the result returned, by the attempt")
+            String outcomeClass;
+        }
+
+        @Name("io.github.itning.retry.RetryBackoff")
+        @Label("Retry Backoff")
+        @Category("Retry")
+        @Description("The time a retryer blocked between two attempts")
+        @StackTrace(false)
+        static final class RetryBackoffEvent extends Event {
+            @Label("Retryer")
+            String retryer;
+
+            @Label("Failed Attempt Number")
+            long attemptNumber;
+
+            @Label("Sleep Time")
+            @Description("The sleep time computed by the wait strategy")
+            @Timespan(Timespan.MILLISECONDS)
+            long sleepTime;
+        }
+
+        @Name("io.github.itning.retry.RetryGiveUp")
+        @Label("Retry Give Up")
+        @Category("Retry")
+        @Description("A retryer gave up retrying a call")
+        static final class RetryGiveUpEvent extends Event {
+            @Label("Retryer")
+            String retryer;
+
+            @Label("Attempts")
+            long attempts;
+
+            @Label("Last Outcome Class")
+            String outcomeClass;
+
+            @Label("Reason")
+            String reason;
+        }
+    }
+}
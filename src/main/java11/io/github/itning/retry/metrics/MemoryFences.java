@@ -0,0 +1,34 @@
+package io.github.itning.retry.metrics;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * The memory fences ordering the plain accesses to the memory-mapped files written by the
+ * {@link MappedCountersExporter} and read by the {@link MappedCountersReader}, whose records are guarded by a sequence number read before and after
+ * the record, a seqlock.
+ * <p></p>
+ * This is the Java 11 version, packaged in the multi-release layer of the jar, relying on the
+ * fences of {@link VarHandle}.
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+final class MemoryFences {
+
+    private MemoryFences() {
+    }
+
+    /**
+     * Keeps the loads and stores before the fence from being reordered with the stores after it.
+     */
+    static void releaseFence() {
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * Keeps the loads before the fence from being reordered with the loads and stores after it.
+     */
+    static void acquireFence() {
+        VarHandle.acquireFence();
+    }
+}
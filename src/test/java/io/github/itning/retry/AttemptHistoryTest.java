@@ -0,0 +1,144 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttemptHistoryTest {
+
+    @Test
+    public void testMessageTemplate() {
+        assertNull(AttemptHistory.messageTemplate(null));
+        assertEquals("no digits", AttemptHistory.messageTemplate("no digits"));
+        assertEquals("timeout after #ms on host-#:#", AttemptHistory.messageTemplate("timeout after 1500ms on host-3:8080"));
+        assertEquals("#", AttemptHistory.messageTemplate("42"));
+    }
+
+    @Test
+    public void testNoHistoryByDefault() {
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(3))
+                .build();
+        RetryException e = assertThrows(RetryException.class, () -> retryer.call(() -> {
+            throw new IOException();
+        }));
+        assertTrue(e.getAttemptHistory().isEmpty());
+        assertEquals(0, e.getSuppressed().length);
+    }
+
+    @Test
+    public void testBuilderFailsForSecondAttemptHistory() {
+        RetryerBuilder<Boolean> builder = RetryerBuilder.<Boolean>newBuilder().withAttemptHistory(4);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> builder.withAttemptHistory(8));
+        assertEquals("an attempt history has already been set 4", e.getMessage());
+    }
+
+    @Test
+    public void testIdenticalExceptionsAreCollapsed() {
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfException()
+                .retryIfResult(result -> !result)
+                .withStopStrategy(StopStrategies.stopAfterAttempt(100))
+                .withAttemptHistory(4)
+                .build();
+        int[] counter = new int[1];
+        RetryException e = assertThrows(RetryException.class, () -> retryer.call(() -> {
+            int attempt = ++counter[0];
+            if (attempt == 1) {
+                throw new TimeoutException("first call timed out after 100ms");
+            }
+            if (attempt % 2 == 0) {
+                return false;
+            }
+            throw new IOException("connection " + attempt + " reset");
+        }));
+
+        List<AttemptSummary> history = e.getAttemptHistory();
+        assertEquals(3, history.size());
+        assertEquals(TimeoutException.class.getName(), history.get(0).getExceptionClassName());
+        assertEquals(1L, history.get(0).getCount());
+
+        assertNull(history.get(1).getExceptionClassName());
+        assertEquals(Boolean.class.getName(), history.get(1).getMessageTemplate());
+        assertEquals(50L, history.get(1).getCount());
+        assertEquals(2L, history.get(1).getFirstAttemptNumber());
+        assertEquals(100L, history.get(1).getLastAttemptNumber());
+
+        assertEquals(IOException.class.getName(), history.get(2).getExceptionClassName());
+        assertEquals("connection # reset", history.get(2).getMessageTemplate());
+        assertEquals(49L, history.get(2).getCount());
+        assertEquals("connection 3 reset", history.get(2).getFirstException().getMessage());
+
+        assertEquals(2, e.getSuppressed().length);
+        assertTrue(e.getSuppressed()[0] instanceof TimeoutException);
+    }
+
+    @Test
+    public void testOldestFingerprintButTheFirstIsRecycled() {
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(5))
+                .withAttemptHistory(2)
+                .build();
+        int[] counter = new int[1];
+        RetryException e = assertThrows(RetryException.class, () -> retryer.call(() -> {
+            switch (++counter[0]) {
+                case 1:
+                    throw new IOException();
+                case 2:
+                    throw new IllegalStateException();
+                default:
+                    throw new UnsupportedOperationException();
+            }
+        }));
+
+        List<AttemptSummary> history = e.getAttemptHistory();
+        assertEquals(2, history.size());
+        assertEquals(IOException.class.getName(), history.get(0).getExceptionClassName());
+        assertEquals(UnsupportedOperationException.class.getName(), history.get(1).getExceptionClassName());
+        assertEquals(3L, history.get(1).getCount());
+        assertThrows(IllegalArgumentException.class, () -> RetryerBuilder.newBuilder().withAttemptHistory(0));
+    }
+
+    @Test
+    public void testFirstFingerprintSurvivesManyDistinctCauses() {
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(6))
+                .withAttemptHistory(3)
+                .build();
+        Exception[] causes = {
+                new IOException("connection refused"), new IllegalStateException(), new UnsupportedOperationException(),
+                new IllegalArgumentException(), new ArithmeticException(), new ArrayStoreException()
+        };
+        int[] counter = new int[1];
+        RetryException e = assertThrows(RetryException.class, () -> retryer.call(() -> {
+            throw causes[counter[0]++];
+        }));
+
+        List<AttemptSummary> history = e.getAttemptHistory();
+        assertEquals(3, history.size());
+        assertEquals(IOException.class.getName(), history.get(0).getExceptionClassName());
+        assertEquals(1L, history.get(0).getFirstAttemptNumber());
+        assertEquals(ArithmeticException.class.getName(), history.get(1).getExceptionClassName());
+        assertEquals(ArrayStoreException.class.getName(), history.get(2).getExceptionClassName());
+
+        Retryer<Boolean> single = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(3))
+                .withAttemptHistory(1)
+                .build();
+        counter[0] = 0;
+        RetryException singleException = assertThrows(RetryException.class, () -> single.call(() -> {
+            throw causes[counter[0]++];
+        }));
+        assertEquals(1, singleException.getAttemptHistory().size());
+        assertEquals(IOException.class.getName(), singleException.getAttemptHistory().get(0).getExceptionClassName());
+    }
+}
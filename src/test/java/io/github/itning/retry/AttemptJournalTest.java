@@ -0,0 +1,244 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.journal.AttemptJournal;
+import io.github.itning.retry.journal.AttemptJournalReader;
+import io.github.itning.retry.journal.JournalOutcome;
+import io.github.itning.retry.journal.JournalRecord;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.ticker.ManualTicker;
+import io.github.itning.retry.ticker.Tickers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttemptJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testJournalAttempts() throws Exception {
+        try (AttemptJournal journal = AttemptJournal.create(directory, 2, 16, 1024)) {
+            Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                    .retryIfException()
+                    .withStopStrategy(StopStrategies.stopAfterAttempt(2))
+                    .withRetryListener(journal.listener("orders"))
+                    .build();
+            int[] counter = new int[1];
+            assertTrue(retryer.call(() -> {
+                if (++counter[0] == 1) {
+                    throw new IOException("boom");
+                }
+                return true;
+            }));
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                throw new IllegalStateException();
+            }));
+            assertEquals(4L, journal.getAppendedCount());
+        }
+
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            List<JournalRecord> records = reader.read();
+            assertEquals(4, records.size());
+
+            JournalRecord first = records.get(0);
+            assertEquals(0L, first.getSequence());
+            assertEquals("orders", first.getRetryerName());
+            assertEquals(1L, first.getAttemptNumber());
+            assertEquals(JournalOutcome.RETRIED, first.getOutcome());
+            assertEquals(IOException.class.getName(), first.getExceptionClassName());
+            assertEquals(0L, first.getSleepTime());
+            assertTrue(first.getDurationNanos() >= 0L);
+            assertTrue(Math.abs(System.currentTimeMillis() - first.getTimestampMillis()) < 60_000L);
+
+            JournalRecord second = records.get(1);
+            assertEquals(2L, second.getAttemptNumber());
+            assertEquals(JournalOutcome.COMPLETED, second.getOutcome());
+            assertNull(second.getExceptionClassName());
+            assertEquals(-1L, second.getSleepTime());
+
+            assertEquals(JournalOutcome.RETRIED, records.get(2).getOutcome());
+            assertEquals(JournalOutcome.GAVE_UP, records.get(3).getOutcome());
+            assertEquals(IllegalStateException.class.getName(), records.get(3).getExceptionClassName());
+        }
+    }
+
+    @Test
+    public void testOldestRecordsAreOverwritten() throws Exception {
+        try (AttemptJournal journal = AttemptJournal.create(directory, 3, 4, 256)) {
+            Retryer<Integer> retryer = RetryerBuilder.<Integer>newBuilder()
+                    .withRetryListener(journal.listener("counter"))
+                    .build();
+            for (int i = 0; i < 30; i++) {
+                retryer.call(() -> 1);
+            }
+        }
+
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            List<JournalRecord> records = reader.read();
+            assertEquals(12, records.size());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(18L + i, records.get(i).getSequence());
+            }
+        }
+    }
+
+    @Test
+    public void testDictionaryOverflow() throws Exception {
+        try (AttemptJournal journal = AttemptJournal.create(directory, 2, 8, 64)) {
+            Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                    .retryIfException()
+                    .withStopStrategy(StopStrategies.stopAfterAttempt(1))
+                    .withRetryListener(journal.listener("a-retryer-name-long-enough-to-fill-the-dictionary"))
+                    .build();
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                throw new UnsupportedOperationException();
+            }));
+        }
+
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            JournalRecord record = reader.read().get(0);
+            assertEquals("a-retryer-name-long-enough-to-fill-the-dictionary", record.getRetryerName());
+            assertEquals("<unknown>", record.getExceptionClassName());
+        }
+    }
+
+    @Test
+    public void testConcurrentAppends() throws Exception {
+        int threads = 4;
+        int callsPerThread = 500;
+        try (AttemptJournal journal = AttemptJournal.create(directory, 2, threads * callsPerThread, 1024)) {
+            Retryer<Integer> retryer = RetryerBuilder.<Integer>newBuilder()
+                    .withRetryListener(journal.listener("concurrent"))
+                    .build();
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread worker = new Thread(() -> {
+                    for (int i = 0; i < callsPerThread; i++) {
+                        try {
+                            retryer.call(() -> 1);
+                        } catch (Exception e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            List<JournalRecord> records = reader.read();
+            assertEquals(threads * callsPerThread, records.size());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(i, records.get(i).getSequence());
+                assertEquals("concurrent", records.get(i).getRetryerName());
+            }
+        }
+    }
+
+    @Test
+    public void testRecordsAreTimestampedByTheJournal() throws Exception {
+        ManualTicker ticker = Tickers.manualTicker();
+        ticker.advance(365L, TimeUnit.DAYS);
+        try (AttemptJournal journal = AttemptJournal.create(directory, 2, 4, 256)) {
+            Retryer<Integer> retryer = RetryerBuilder.<Integer>newBuilder()
+                    .withTicker(ticker)
+                    .withRetryListener(journal.listener("virtual"))
+                    .build();
+            retryer.call(() -> 1);
+        }
+
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            JournalRecord record = reader.read().get(0);
+            assertTrue(Math.abs(System.currentTimeMillis() - record.getTimestampMillis()) < 60_000L);
+        }
+    }
+
+    @Test
+    public void testTornRecordsAreReported() throws Exception {
+        try (AttemptJournal journal = AttemptJournal.create(directory, 2, 4, 256)) {
+            Retryer<Integer> retryer = RetryerBuilder.<Integer>newBuilder()
+                    .withRetryListener(journal.listener("torn"))
+                    .build();
+            retryer.call(() -> 1);
+            retryer.call(() -> 2);
+        }
+        // a writer dying in the middle of the second record leaves its outcome unwritten
+        try (FileChannel channel = FileChannel.open(directory.resolve("attempts-0.journal"), StandardOpenOption.WRITE)) {
+            ByteBuffer outcome = ByteBuffer.allocate(4).order(ByteOrder.nativeOrder()).putInt(0, -1);
+            channel.write(outcome, 64L + 256L + 64L + 48L);
+        }
+
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            List<JournalRecord> records = reader.read();
+            assertEquals(1, records.size());
+            assertEquals(0L, records.get(0).getSequence());
+            assertEquals(1, reader.getTornRecordCount());
+        }
+    }
+
+    @Test
+    public void testInterruptedCallIsNotCountedTwice() throws Exception {
+        try (AttemptJournal journal = AttemptJournal.create(directory, 2, 16, 1024)) {
+            Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                    .retryIfException()
+                    .withBlockStrategy(sleepTime -> {
+                        throw new InterruptedException();
+                    })
+                    .withRetryListener(journal.listener("orders"))
+                    .build();
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                throw new IOException();
+            }));
+            assertTrue(Thread.interrupted());
+        }
+
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            List<JournalRecord> records = reader.read();
+            assertEquals(2, records.size());
+            assertEquals(JournalOutcome.RETRIED, records.get(0).getOutcome());
+            assertEquals(JournalOutcome.INTERRUPTED, records.get(1).getOutcome());
+            assertEquals(1L, records.get(1).getAttemptNumber());
+        }
+
+        PrintStream out = System.out;
+        ByteArrayOutputStream aggregate = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(aggregate, true, "UTF-8"));
+        try {
+            AttemptJournalReader.main(new String[]{directory.toString(), "aggregate"});
+        } finally {
+            System.setOut(out);
+        }
+        String[] row = aggregate.toString("UTF-8").split("\\R")[1].trim().split("\\s+");
+        // retryer, attempts, completed, retried, gaveUp, interrupted
+        assertEquals("orders", row[0]);
+        assertEquals("1", row[1]);
+        assertEquals("1", row[3]);
+        assertEquals("1", row[5]);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> AttemptJournal.create(directory, 1, 16, 64));
+        assertThrows(IllegalArgumentException.class, () -> AttemptJournal.create(directory, 2, 0, 64));
+        assertThrows(IllegalArgumentException.class, () -> AttemptJournal.create(directory, 2, 16, 60));
+        assertThrows(IOException.class, () -> new AttemptJournalReader(directory.resolve("missing")));
+    }
+}
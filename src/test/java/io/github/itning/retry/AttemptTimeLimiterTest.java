@@ -16,12 +16,18 @@
 
 package io.github.itning.retry;
 
+import io.github.itning.retry.strategy.limit.AdaptiveAttemptTimeLimit;
 import io.github.itning.retry.strategy.limit.AttemptTimeLimiters;
+import io.github.itning.retry.strategy.limit.LatencyPercentileEstimator;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -52,6 +58,81 @@ public class AttemptTimeLimiterTest {
         }
     }
 
+    @Test
+    public void testSameThreadAttemptTimeLimit() throws ExecutionException, RetryException {
+        Retryer<Void> sameThread = RetryerBuilder.<Void>newBuilder()
+                .withAttemptTimeLimiter(AttemptTimeLimiters.sameThreadTimeLimit(200, TimeUnit.MILLISECONDS))
+                .build();
+        try {
+            sameThread.call(new SleepyOut(0L));
+        } catch (ExecutionException e) {
+            fail("Should not timeout");
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+
+        long start = System.nanoTime();
+        try {
+            sameThread.call(new SleepyOut(10 * 1000L));
+            fail("Expected timeout exception");
+        } catch (ExecutionException e) {
+            // expected
+            assertEquals(TimeoutException.class, e.getCause().getClass());
+            assertEquals(InterruptedException.class, e.getCause().getCause().getClass());
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000L);
+    }
+
+    @Test
+    public void testLatencyPercentileEstimator() {
+        LatencyPercentileEstimator estimator = new LatencyPercentileEstimator(0.99D, 1_000_000L);
+        assertEquals(-1L, estimator.getPercentile());
+        for (long i = 1; i <= 10_000; i++) {
+            estimator.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        long p99 = TimeUnit.MICROSECONDS.toNanos(9_900);
+        assertTrue(Math.abs(estimator.getPercentile() - p99) < p99 * 0.13D, "p99 estimate was " + estimator.getPercentile());
+    }
+
+    @Test
+    public void testLatencyPercentileEstimatorForgetsOldOutliers() {
+        LatencyPercentileEstimator estimator = new LatencyPercentileEstimator(0.99D, 64L);
+        estimator.record(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 1; i < 64 * 4; i++) {
+            estimator.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertTrue(estimator.getPercentile() < TimeUnit.MILLISECONDS.toNanos(2), "p99 estimate was " + estimator.getPercentile());
+    }
+
+    @Test
+    public void testAdaptiveAttemptTimeLimit() throws Exception {
+        AdaptiveAttemptTimeLimit<Void> limiter = (AdaptiveAttemptTimeLimit<Void>) AttemptTimeLimiters.<Void>adaptiveTimeLimit(3D, 50, 5000, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(5), limiter.getCurrentTimeLimitNanos());
+        for (int i = 0; i < 128; i++) {
+            limiter.call(() -> null);
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), limiter.getCurrentTimeLimitNanos());
+
+        Retryer<Void> adaptive = RetryerBuilder.<Void>newBuilder()
+                .withAttemptTimeLimiter(limiter)
+                .build();
+        try {
+            adaptive.call(new SleepyOut(10 * 1000L));
+            fail("Expected timeout exception");
+        } catch (ExecutionException e) {
+            // expected
+            assertEquals(TimeoutException.class, e.getCause().getClass());
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testAdaptiveAttemptTimeLimitCannotShrinkItself() {
+        assertThrows(IllegalArgumentException.class, () -> AttemptTimeLimiters.adaptiveTimeLimit(0.5D, 50, 5000, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> AttemptTimeLimiters.adaptiveTimeLimit(Double.NaN, 50, 5000, TimeUnit.MILLISECONDS));
+        assertNotNull(AttemptTimeLimiters.adaptiveTimeLimit(1D, 50, 5000, TimeUnit.MILLISECONDS));
+    }
+
     static class SleepyOut implements Callable<Void> {
 
         final long sleepMs;
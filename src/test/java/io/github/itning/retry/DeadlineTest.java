@@ -0,0 +1,135 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiter;
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiters;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class DeadlineTest {
+
+    private static final ExecutorService EXECUTOR_SERVICE = Executors.newCachedThreadPool();
+
+    @Test
+    public void testBackoffPastDeadlineGivesUpImmediately() throws ExecutionException {
+        AtomicInteger attempts = new AtomicInteger();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(result -> result == null)
+                .withWaitStrategy(WaitStrategies.fixedWait(5, TimeUnit.SECONDS))
+                .build();
+        long start = System.nanoTime();
+        try {
+            retryer.call(() -> {
+                attempts.incrementAndGet();
+                return null;
+            }, 1, TimeUnit.SECONDS);
+            fail("RetryException expected");
+        } catch (RetryException e) {
+            assertEquals(1, e.getNumberOfFailedAttempts());
+        }
+        assertEquals(1, attempts.get());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000L);
+    }
+
+    @Test
+    public void testInFlightAttemptIsInterruptedAtDeadline() throws ExecutionException {
+        Retryer<Void> retryer = RetryerBuilder.<Void>newBuilder().build();
+        long start = System.nanoTime();
+        try {
+            retryer.call(() -> {
+                Thread.sleep(10_000L);
+                return null;
+            }, 200, TimeUnit.MILLISECONDS);
+            fail("RetryException expected");
+        } catch (RetryException e) {
+            assertTrue(e.getCause() instanceof InterruptedException);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000L);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testAttemptTimeLimitIsClampedToDeadline() throws ExecutionException {
+        Retryer<Void> retryer = RetryerBuilder.<Void>newBuilder()
+                .withAttemptTimeLimiter(AttemptTimeLimiters.fixedTimeLimit(10, TimeUnit.SECONDS, EXECUTOR_SERVICE))
+                .retryIfException()
+                .build();
+        long start = System.nanoTime();
+        try {
+            retryer.call(() -> {
+                Thread.sleep(10_000L);
+                return null;
+            }, 200, TimeUnit.MILLISECONDS);
+            fail("RetryException expected");
+        } catch (RetryException e) {
+            assertEquals(1, e.getNumberOfFailedAttempts());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000L);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testExpiredDeadlineFailsTheAttemptBeforeTheTimeLimiter() throws Exception {
+        AttemptTimeLimiter<Boolean> timeLimiter = AttemptTimeLimiters.fixedTimeLimit(10, TimeUnit.SECONDS, EXECUTOR_SERVICE);
+        Deadline expired = Deadline.after(0, TimeUnit.NANOSECONDS);
+        AttemptContext<Boolean> context = new AttemptContext<Boolean>() {
+            @Override
+            public long getAttemptNumber() {
+                return 1L;
+            }
+
+            @Override
+            public long getDelaySinceFirstAttempt() {
+                return 0L;
+            }
+
+            @Override
+            public Attempt<Boolean> getPreviousAttempt() {
+                return null;
+            }
+
+            @Override
+            public Deadline getDeadline() {
+                return expired;
+            }
+        };
+        assertThrows(TimeoutException.class, () -> timeLimiter.call(() -> true, context));
+
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder().withAttemptTimeLimiter(timeLimiter).build();
+        for (int i = 0; i < 100; i++) {
+            assertThrows(RetryException.class, () -> retryer.call(() -> true, Deadline.after(0, TimeUnit.NANOSECONDS)));
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testDeadlineIsReadableFromCallable() throws ExecutionException, RetryException {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withAttemptTimeLimiter(AttemptTimeLimiters.fixedTimeLimit(10, TimeUnit.SECONDS, EXECUTOR_SERVICE))
+                .build();
+        Deadline deadline = Deadline.after(5, TimeUnit.SECONDS);
+        assertTrue(retryer.call(() -> {
+            seen.set(Deadline.current());
+            return true;
+        }, deadline));
+        assertSame(deadline, seen.get());
+        assertNull(Deadline.current());
+
+        assertTrue(retryer.call(() -> {
+            seen.set(Deadline.current());
+            return true;
+        }));
+        assertNull(seen.get());
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.fault.FailureModels;
+import io.github.itning.retry.fault.FaultInjector;
+import io.github.itning.retry.fault.GilbertElliottFailureModel;
+import io.github.itning.retry.fault.InjectedFaultException;
+import io.github.itning.retry.fault.LatencyModel;
+import io.github.itning.retry.fault.LatencyModels;
+import io.github.itning.retry.strategy.block.BlockStrategies;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import io.github.itning.retry.ticker.ManualTicker;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FaultInjectorTest {
+
+    private static boolean[] outcomes(FaultInjector injector, int invocations) {
+        Callable<Boolean> callable = injector.wrap(() -> true);
+        boolean[] outcomes = new boolean[invocations];
+        for (int i = 0; i < invocations; i++) {
+            try {
+                outcomes[i] = callable.call();
+            } catch (Exception e) {
+                outcomes[i] = false;
+            }
+        }
+        return outcomes;
+    }
+
+    @Test
+    public void testBernoulliFailuresAreReproducible() {
+        FaultInjector injector = FaultInjector.newBuilder()
+                .withSeed(42L)
+                .withFailureModel(FailureModels.bernoulli(0.2))
+                .build();
+        boolean[] first = outcomes(injector, 10_000);
+        long failures = injector.getFailureCount();
+        assertTrue(failures > 1800L && failures < 2200L, String.valueOf(failures));
+
+        injector.reset();
+        assertArrayEquals(first, outcomes(injector, 10_000));
+        assertEquals(failures, injector.getFailureCount());
+
+        FaultInjector otherSeed = FaultInjector.newBuilder()
+                .withSeed(43L)
+                .withFailureModel(FailureModels.bernoulli(0.2))
+                .build();
+        assertFalse(Arrays.equals(first, outcomes(otherSeed, 10_000)));
+    }
+
+    @Test
+    public void testGilbertElliottFailuresComeInBursts() {
+        GilbertElliottFailureModel model = FailureModels.gilbertElliott(0.01, 0.1, 0.0, 1.0);
+        FaultInjector injector = FaultInjector.newBuilder()
+                .withSeed(7L)
+                .withFailureModel(model)
+                .build();
+        boolean[] outcomes = outcomes(injector, 100_000);
+        long failures = injector.getFailureCount();
+        long bursts = 0L;
+        for (int i = 0; i < outcomes.length; i++) {
+            if (!outcomes[i] && (i == 0 || outcomes[i - 1])) {
+                bursts++;
+            }
+        }
+        // outages last 10 invocations on average, one every 100 invocations
+        double meanBurst = (double) failures / bursts;
+        assertTrue(meanBurst > 8.0 && meanBurst < 12.0, String.valueOf(meanBurst));
+        assertTrue(failures > 7000L && failures < 11000L, String.valueOf(failures));
+    }
+
+    @Test
+    public void testExceptionsAndTimeouts() throws Exception {
+        FaultInjector injector = FaultInjector.newBuilder()
+                .withFailureModel(FailureModels.window(1, 2))
+                .withTimeouts(FailureModels.window(2, 3), 10, TimeUnit.MILLISECONDS)
+                .build();
+        Callable<String> callable = injector.wrap(() -> "ok");
+        assertEquals("ok", callable.call());
+        InjectedFaultException e = assertThrows(InjectedFaultException.class, callable::call);
+        assertEquals(1L, e.getInvocation());
+        long start = System.nanoTime();
+        assertThrows(TimeoutException.class, callable::call);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10L));
+        assertEquals("ok", callable.call());
+        assertEquals(4L, injector.getInvocationCount());
+        assertEquals(1L, injector.getFailureCount());
+        assertEquals(1L, injector.getTimeoutCount());
+
+        FaultInjector custom = FaultInjector.newBuilder()
+                .withFailureModel(FailureModels.always())
+                .withException(IOException::new)
+                .build();
+        assertThrows(IOException.class, () -> custom.wrap(() -> "ok").call());
+    }
+
+    @Test
+    public void testLatencyModels() {
+        LatencyModel uniform = LatencyModels.uniform(10, 20, TimeUnit.MILLISECONDS);
+        LatencyModel exponential = LatencyModels.exponential(5, TimeUnit.MILLISECONDS);
+        LatencyModel spiking = LatencyModels.spiking(1, 100, 0.01, TimeUnit.MILLISECONDS);
+        long exponentialTotal = 0L;
+        long spikes = 0L;
+        for (long i = 0; i < 100_000; i++) {
+            long latency = uniform.latencyNanos(i, 1L);
+            assertTrue(latency >= TimeUnit.MILLISECONDS.toNanos(10) && latency < TimeUnit.MILLISECONDS.toNanos(20));
+            exponentialTotal += exponential.latencyNanos(i, 1L);
+            if (spiking.latencyNanos(i, 1L) > TimeUnit.MILLISECONDS.toNanos(1)) {
+                spikes++;
+            }
+        }
+        double meanMillis = exponentialTotal / 100_000.0 / 1_000_000.0;
+        assertTrue(meanMillis > 4.8 && meanMillis < 5.2, String.valueOf(meanMillis));
+        assertTrue(spikes > 800L && spikes < 1200L, String.valueOf(spikes));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), LatencyModels.fixed(1, TimeUnit.SECONDS).latencyNanos(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> LatencyModels.uniform(20, 10, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> FailureModels.bernoulli(1.1));
+    }
+
+    @Test
+    public void testWithRetryerInVirtualTime() throws Exception {
+        ManualTicker ticker = new ManualTicker();
+        FaultInjector injector = FaultInjector.newBuilder()
+                .withFailureModel(FailureModels.window(0, 3))
+                .withLatencyModel(LatencyModels.fixed(2, TimeUnit.SECONDS))
+                .withException(IOException::new)
+                .withVirtualTime(ticker)
+                .build();
+        Retryer<String> retryer = RetryerBuilder.<String>newBuilder()
+                .retryIfExceptionOfType(IOException.class)
+                .withTicker(ticker)
+                .withBlockStrategy(BlockStrategies.virtualTimeBlockStrategy(ticker))
+                .withWaitStrategy(WaitStrategies.fixedWait(1, TimeUnit.SECONDS))
+                .withStopStrategy(StopStrategies.stopAfterAttempt(5))
+                .build();
+        long start = System.nanoTime();
+        assertEquals("ok", retryer.call(injector.wrap(() -> "ok")));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(4L, injector.getInvocationCount());
+        assertEquals(TimeUnit.SECONDS.toNanos(11), ticker.read());
+    }
+}
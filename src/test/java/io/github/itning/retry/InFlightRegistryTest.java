@@ -0,0 +1,95 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.diagnostics.InFlightCall;
+import io.github.itning.retry.diagnostics.InFlightRegistry;
+import io.github.itning.retry.diagnostics.InFlightSnapshot;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InFlightRegistryTest {
+
+    @Test
+    public void testEnterAndLeave() {
+        InFlightRegistry registry = new InFlightRegistry(1);
+        InFlightCall first = registry.enter("a", System.nanoTime());
+        InFlightCall second = registry.enter("a", System.nanoTime());
+        InFlightCall third = registry.enter("b", System.nanoTime());
+        assertEquals(3, registry.getCalls().size());
+        registry.leave(second);
+        assertEquals(2, registry.getCalls().size());
+        registry.leave(third);
+        registry.leave(first);
+        assertTrue(registry.getCalls().isEmpty());
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotOfRunningCalls() throws Exception {
+        InFlightRegistry registry = new InFlightRegistry();
+        CountDownLatch attempting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Retryer<Boolean> backingOff = RetryerBuilder.<Boolean>newBuilder()
+                .withName("backing-off")
+                .withInFlightRegistry(registry)
+                .retryIfResult(result -> !result)
+                .withWaitStrategy(WaitStrategies.fixedWait(5, TimeUnit.SECONDS))
+                .build();
+        Retryer<Boolean> attempt = RetryerBuilder.<Boolean>newBuilder()
+                .withName("attempting")
+                .withInFlightRegistry(registry)
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Boolean> first = executor.submit(backingOff.wrap(() -> false));
+            Future<Boolean> second = executor.submit(backingOff.wrap(() -> false));
+            Future<Boolean> third = executor.submit(attempt.wrap(() -> {
+                attempting.countDown();
+                return release.await(10, TimeUnit.SECONDS);
+            }));
+            attempting.await();
+
+            Map<String, InFlightSnapshot> snapshots = snapshotWhenBackingOff(registry, 2);
+            InFlightSnapshot snapshot = snapshots.get("backing-off");
+            assertEquals(2, snapshot.getCount());
+            assertEquals(2, snapshot.getBackingOff());
+            assertEquals(Integer.valueOf(2), snapshot.getCountByAttemptNumber().get(1L));
+            assertEquals(2, snapshot.getWakeUpHistogram()[3]);
+
+            InFlightSnapshot attemptingSnapshot = snapshots.get("attempting");
+            assertEquals(1, attemptingSnapshot.getCount());
+            assertEquals(0, attemptingSnapshot.getBackingOff());
+            assertTrue(attemptingSnapshot.getOldestCallAgeNanos() > 0L);
+
+            release.countDown();
+            assertTrue(third.get());
+            first.cancel(true);
+            second.cancel(true);
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertTrue(registry.getCalls().isEmpty());
+    }
+
+    private static Map<String, InFlightSnapshot> snapshotWhenBackingOff(InFlightRegistry registry, int expected) throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            Map<String, InFlightSnapshot> snapshots = registry.snapshot();
+            InFlightSnapshot snapshot = snapshots.get("backing-off");
+            if (snapshot != null && snapshot.getBackingOff() == expected) {
+                return snapshots;
+            }
+            Thread.sleep(5L);
+        }
+        fail("calls did not back off");
+        return null;
+    }
+}
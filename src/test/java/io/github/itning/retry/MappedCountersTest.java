@@ -0,0 +1,106 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.metrics.MappedCountersExporter;
+import io.github.itning.retry.metrics.MappedCountersReader;
+import io.github.itning.retry.metrics.RetryCounters;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedCountersTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testExportAndRead() throws Exception {
+        Path file = directory.resolve("retry-counters");
+        Retryer<Boolean> orders = RetryerBuilder.<Boolean>newBuilder()
+                .withName("orders")
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(3))
+                .build();
+        Retryer<Boolean> payments = RetryerBuilder.<Boolean>newBuilder()
+                .withName("payments-service-with-a-very-long-name-that-does-not-fit-in-a-record")
+                .retryIfResult(result -> !result)
+                .build();
+
+        try (MappedCountersExporter exporter = MappedCountersExporter.create(file, 4, 1, TimeUnit.HOURS);
+             MappedCountersReader reader = new MappedCountersReader(file)) {
+            exporter.register(orders);
+            exporter.register(payments);
+            assertThrows(IllegalArgumentException.class, () -> exporter.register(RetryerBuilder.<Boolean>newBuilder().build()));
+
+            assertThrows(RetryException.class, () -> orders.call(() -> {
+                throw new IOException();
+            }));
+            int[] counter = new int[1];
+            assertTrue(payments.call(() -> ++counter[0] == 2));
+            assertTrue(payments.call(() -> true));
+
+            List<RetryCounters> before = reader.read();
+            assertEquals(2, before.size());
+            assertEquals(0L, before.get(0).getCalls());
+
+            exporter.flush();
+            List<RetryCounters> counters = reader.read();
+            RetryCounters first = counters.get(0);
+            assertEquals("orders", first.getName());
+            assertEquals(1L, first.getCalls());
+            assertEquals(3L, first.getAttempts());
+            assertEquals(2L, first.getRetries());
+            assertEquals(1L, first.getGivenUp());
+            assertEquals(0L, first.getInFlight());
+            RetryCounters second = counters.get(1);
+            assertTrue("payments-service-with-a-very-long-name-that-does-not-fit-in-a-record".startsWith(second.getName()));
+            assertEquals(52, second.getName().length());
+            assertEquals(2L, second.getCalls());
+            assertEquals(3L, second.getAttempts());
+            assertEquals(2L, second.getCompleted());
+        }
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    public void testTornRecordsAreReported() throws Exception {
+        Path file = directory.resolve("retry-counters");
+        try (MappedCountersExporter exporter = MappedCountersExporter.create(file, 2, 1, TimeUnit.HOURS)) {
+            exporter.register(RetryerBuilder.<Boolean>newBuilder().withName("a").build());
+            exporter.register(RetryerBuilder.<Boolean>newBuilder().withName("b").build());
+        }
+        // an exporter dying in the middle of a flush leaves the sequence of the record odd
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putLong(0, 1L), 64L + 128L);
+        }
+
+        try (MappedCountersReader reader = new MappedCountersReader(file)) {
+            List<RetryCounters> counters = reader.read();
+            assertEquals(1, counters.size());
+            assertEquals("a", counters.get(0).getName());
+            assertEquals(1, reader.getTornRecordCount());
+        }
+    }
+
+    @Test
+    public void testCapacity() throws Exception {
+        Path file = directory.resolve("retry-counters");
+        try (MappedCountersExporter exporter = MappedCountersExporter.create(file, 1, 10, TimeUnit.MILLISECONDS)) {
+            exporter.register(RetryerBuilder.<Boolean>newBuilder().withName("a").build());
+            assertThrows(IllegalStateException.class, () -> exporter.register(RetryerBuilder.<Boolean>newBuilder().withName("b").build()));
+        }
+        Files.write(directory.resolve("garbage"), new byte[128]);
+        assertThrows(IOException.class, () -> new MappedCountersReader(directory.resolve("garbage")));
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.journal.AttemptJournal;
+import io.github.itning.retry.journal.AttemptJournalReader;
+import io.github.itning.retry.simulation.OutcomeTrace;
+import io.github.itning.retry.simulation.PolicyReplay;
+import io.github.itning.retry.simulation.ReplayPolicy;
+import io.github.itning.retry.simulation.ReplayReport;
+import io.github.itning.retry.simulation.ReplayedException;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PolicyReplayTest {
+    private static final String CSV = "# timeMillis,latencyMillis,result|exception,value\n"
+            + "0,10,result,200\n"
+            + "100,20,exception,java.io.IOException\n"
+            + "\n"
+            + "200,10,result,503\n"
+            + "300,10,result,200\n";
+
+    private static final Predicate<Attempt<String>> RETRY_IF_IO_EXCEPTION_OR_503 =
+            attempt -> attempt.hasException() ? attempt.getExceptionCause() instanceof IOException : "503".equals(attempt.getResult());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testReplay() throws Exception {
+        OutcomeTrace trace = OutcomeTrace.readCsv(new StringReader(CSV));
+        assertEquals(4, trace.size());
+        assertEquals(300L, trace.getDurationMillis());
+
+        ReplayReport report = PolicyReplay.replay(trace, new ReplayPolicy("fixed",
+                StopStrategies.stopAfterAttempt(3), WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS), RETRY_IF_IO_EXCEPTION_OR_503));
+        assertEquals("fixed", report.getPolicyName());
+        assertEquals(4L, report.getCalls());
+        assertEquals(4L, report.getSuccesses());
+        assertEquals(0L, report.getGiveUps());
+        assertEquals(7L, report.getAttempts());
+        assertEquals(1.0, report.getSuccessRate());
+        assertEquals(1.75, report.getLoadAmplification());
+        assertEquals(10L, report.getP50LatencyMillis());
+        assertEquals(240L, report.getP90LatencyMillis());
+        assertEquals(240L, report.getMaxLatencyMillis());
+        assertEquals(95L, report.getMeanLatencyMillis());
+
+        ReplayReport stopEarly = PolicyReplay.replay(trace, new ReplayPolicy("two attempts",
+                StopStrategies.stopAfterAttempt(2), WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS), RETRY_IF_IO_EXCEPTION_OR_503));
+        assertEquals(3L, stopEarly.getSuccesses());
+        assertEquals(1L, stopEarly.getGiveUps());
+        assertEquals(0.75, stopEarly.getSuccessRate());
+        assertEquals(130L, stopEarly.getMaxLatencyMillis());
+
+        ReplayReport noRetry = PolicyReplay.replay(trace, new ReplayPolicy("none",
+                StopStrategies.neverStop(), WaitStrategies.noWait(), attempt -> false));
+        assertEquals(4L, noRetry.getAttempts());
+        assertEquals(3L, noRetry.getSuccesses());
+        assertEquals(1L, noRetry.getFailures());
+        assertEquals(1.0, noRetry.getLoadAmplification());
+    }
+
+    @Test
+    public void testStopAfterDelayUsesVirtualTime() {
+        OutcomeTrace trace = OutcomeTrace.newBuilder()
+                .addException(0L, 0L, "com.example.DoesNotExistException")
+                .build();
+        List<Throwable> seen = new ArrayList<>();
+        ReplayReport report = PolicyReplay.replay(trace, new ReplayPolicy("delay",
+                StopStrategies.stopAfterDelay(1, TimeUnit.SECONDS), WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS),
+                attempt -> seen.add(attempt.getExceptionCause())));
+        assertEquals(11L, report.getAttempts());
+        assertEquals(1L, report.getGiveUps());
+        assertEquals(1000L, report.getMaxLatencyMillis());
+        assertTrue(seen.get(0) instanceof ReplayedException);
+        assertEquals("com.example.DoesNotExistException", ((ReplayedException) seen.get(0)).getExceptionClassName());
+
+        ReplayReport never = PolicyReplay.replay(trace, new ReplayPolicy("never",
+                StopStrategies.neverStop(), WaitStrategies.noWait(), attempt -> true));
+        assertEquals(PolicyReplay.MAX_ATTEMPTS_PER_CALL, never.getAttempts());
+        assertEquals(1L, never.getGiveUps());
+    }
+
+    @Test
+    public void testSweep() throws Exception {
+        OutcomeTrace.Builder builder = OutcomeTrace.newBuilder();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 100 < 20) {
+                builder.addException(i * 10L, 5L, "java.io.IOException");
+            } else {
+                builder.addResult(i * 10L, 5L, "200");
+            }
+        }
+        OutcomeTrace trace = builder.build();
+        List<ReplayPolicy> policies = new ArrayList<>();
+        for (int attempts = 1; attempts <= 8; attempts++) {
+            policies.add(new ReplayPolicy("attempts=" + attempts, StopStrategies.stopAfterAttempt(attempts),
+                    WaitStrategies.exponentialWait(10, 1, TimeUnit.SECONDS), RETRY_IF_IO_EXCEPTION_OR_503));
+        }
+        List<ReplayReport> reports = PolicyReplay.sweep(trace, policies);
+        assertEquals(8, reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            assertEquals("attempts=" + (i + 1), reports.get(i).getPolicyName());
+            if (i > 0) {
+                assertTrue(reports.get(i).getSuccessRate() >= reports.get(i - 1).getSuccessRate());
+                assertTrue(reports.get(i).getLoadAmplification() >= reports.get(i - 1).getLoadAmplification());
+            }
+        }
+        assertEquals(0.8, reports.get(0).getSuccessRate(), 1e-9);
+        assertEquals(1.0, reports.get(7).getSuccessRate(), 1e-9);
+    }
+
+    @Test
+    public void testInvalidTraces() {
+        assertThrows(IOException.class, () -> OutcomeTrace.readCsv(new StringReader("0,10,result")));
+        assertThrows(IOException.class, () -> OutcomeTrace.readCsv(new StringReader("0,10,timeout,x")));
+        assertThrows(IOException.class, () -> OutcomeTrace.readCsv(new StringReader("10,1,result,a\n5,1,result,b")));
+        assertThrows(IllegalStateException.class, () -> OutcomeTrace.readCsv(new StringReader("# empty")));
+    }
+
+    @Test
+    public void testTraceFromJournal() throws Exception {
+        try (AttemptJournal journal = AttemptJournal.create(directory, 2, 16, 1024)) {
+            Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                    .retryIfException()
+                    .withRetryListener(journal.listener("orders"))
+                    .build();
+            int[] counter = new int[1];
+            retryer.call(() -> {
+                if (++counter[0] < 3) {
+                    throw new IOException();
+                }
+                return true;
+            });
+        }
+        try (AttemptJournalReader reader = new AttemptJournalReader(directory)) {
+            OutcomeTrace trace = OutcomeTrace.fromJournal(reader.read(), "orders");
+            assertEquals(3, trace.size());
+            ReplayReport report = PolicyReplay.replay(trace, new ReplayPolicy("replayed",
+                    StopStrategies.neverStop(), WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS), RETRY_IF_IO_EXCEPTION_OR_503));
+            assertEquals(3L, report.getSuccesses());
+            assertTrue(report.getAttempts() >= 3L);
+        }
+    }
+}
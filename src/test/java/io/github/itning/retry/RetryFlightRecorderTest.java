@@ -0,0 +1,137 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The tests run against <code>target/classes</code>, where the Java 11 version of
+ * {@link RetryFlightRecorder} is only found under <code>META-INF/versions/11</code>, so they
+ * load the library through a class loader giving that layer precedence, as a multi-release
+ * jar does on Java 11+.
+ */
+@EnabledForJreRange(min = JRE.JAVA_11)
+public class RetryFlightRecorderTest {
+    private static final String[] EVENTS = {
+            "io.github.itning.retry.RetryAttempt", "io.github.itning.retry.RetryBackoff",
+            "io.github.itning.retry.RetryCall", "io.github.itning.retry.RetryGiveUp"
+    };
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEventsAreRecorded(@TempDir Path directory) throws Exception {
+        try (URLClassLoader loader = multiReleaseClassLoader()) {
+            Function<Path, Set<String>> probe = (Function<Path, Set<String>>) loader.loadClass(Probe.class.getName())
+                    .getDeclaredConstructor().newInstance();
+            assertEquals(new TreeSet<>(Arrays.asList(EVENTS)), probe.apply(directory.resolve("retry.jfr")));
+        }
+    }
+
+    @Test
+    public void testBothVersionsHaveTheSameMethods() throws Exception {
+        try (URLClassLoader loader = multiReleaseClassLoader()) {
+            Class<?> java11 = loader.loadClass(RetryFlightRecorder.class.getName());
+            assertNotSame(RetryFlightRecorder.class, java11);
+            assertEquals(signatures(RetryFlightRecorder.class), signatures(java11));
+        }
+    }
+
+    private static Set<String> signatures(Class<?> type) {
+        Set<String> signatures = new TreeSet<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (!Modifier.isPrivate(method.getModifiers()) && !method.isSynthetic()) {
+                signatures.add(Modifier.toString(method.getModifiers()) + " " + method.getReturnType().getName() + " "
+                        + method.getName() + Arrays.toString(method.getParameterTypes()));
+            }
+        }
+        return signatures;
+    }
+
+    private static URLClassLoader multiReleaseClassLoader() throws IOException, URISyntaxException {
+        Path classes = Paths.get(RetryFlightRecorder.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path testClasses = Paths.get(RetryFlightRecorderTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        URL[] urls = {
+                classes.resolve("META-INF/versions/11/").toUri().toURL(), classes.toUri().toURL(), testClasses.toUri().toURL()
+        };
+        return new URLClassLoader(urls, RetryFlightRecorderTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.startsWith("io.github.itning.retry.")) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> type = findLoadedClass(name);
+                    if (type == null) {
+                        type = findClass(name);
+                    }
+                    if (resolve) {
+                        resolveClass(type);
+                    }
+                    return type;
+                }
+            }
+        };
+    }
+
+    /**
+     * Makes a call giving up after a backoff while recording, loaded by the multi-release class loader.
+     */
+    public static final class Probe implements Function<Path, Set<String>> {
+
+        @Override
+        public Set<String> apply(Path file) {
+            try (Recording recording = new Recording()) {
+                for (String event : EVENTS) {
+                    recording.enable(event).withThreshold(Duration.ZERO);
+                }
+                recording.start();
+                Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                        .withName("jfr")
+                        .retryIfResult(result -> result == null)
+                        .withStopStrategy(StopStrategies.stopAfterAttempt(2))
+                        .withWaitStrategy(WaitStrategies.fixedWait(1, TimeUnit.MILLISECONDS))
+                        .build();
+                try {
+                    retryer.call(() -> null);
+                    throw new IllegalStateException("the call should give up");
+                } catch (RetryException expected) {
+                    // the give-up is what is recorded
+                }
+                recording.stop();
+                recording.dump(file);
+                Set<String> recorded = new TreeSet<>();
+                for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                    if ("jfr".equals(event.getString("retryer"))) {
+                        recorded.add(event.getEventType().getName());
+                    }
+                }
+                return recorded;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
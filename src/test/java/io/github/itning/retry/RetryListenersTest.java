@@ -0,0 +1,330 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.listener.AsyncRetryListener;
+import io.github.itning.retry.listener.OverflowPolicy;
+import io.github.itning.retry.listener.RetryLifecycleListener;
+import io.github.itning.retry.listener.RetryListener;
+import io.github.itning.retry.listener.RetryListeners;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class RetryListenersTest {
+
+    @Test
+    public void testAsyncListenerDispatchesOnAnotherThread() throws Exception {
+        List<Long> attemptNumbers = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        AsyncRetryListener<Boolean> listener = RetryListeners.async(attempt -> {
+            attemptNumbers.add(attempt.getAttemptNumber());
+            threads.add(Thread.currentThread());
+        }, 16, OverflowPolicy.BLOCK);
+
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(result -> result == null)
+                .withRetryListener(listener)
+                .build();
+        int[] counter = new int[1];
+        assertTrue(retryer.call(() -> ++counter[0] <= 40 ? null : true));
+        listener.close();
+
+        assertEquals(40, attemptNumbers.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i + 1L, attemptNumbers.get(i));
+        }
+        assertFalse(threads.contains(Thread.currentThread()));
+        assertEquals(0L, listener.getDroppedCount());
+    }
+
+    @Test
+    public void testAsyncListenerSurvivesErrorsAndIdlePeriods() throws Exception {
+        AtomicInteger dispatched = new AtomicInteger();
+        AsyncRetryListener<Boolean> listener = RetryListeners.async(attempt -> {
+            if (dispatched.incrementAndGet() == 1) {
+                throw new Error("failing listener");
+            }
+        }, 4, OverflowPolicy.BLOCK);
+        Attempt<Boolean> attempt = new Retryer.ResultAttempt<>(null, 1L, 0L);
+        for (int i = 0; i < 100; i++) {
+            listener.onRetry(attempt);
+        }
+        Thread.sleep(50L);
+        listener.onRetry(attempt);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (dispatched.get() < 101 && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+        assertEquals(101, dispatched.get());
+        listener.close();
+        assertEquals(0L, listener.getDroppedCount());
+    }
+
+    @Test
+    public void testAsyncListenerDropsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncRetryListener<Boolean> listener = RetryListeners.async(attempt -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 4, OverflowPolicy.DROP);
+        Attempt<Boolean> attempt = new Retryer.ResultAttempt<>(null, 1L, 0L);
+        for (int i = 0; i < 20; i++) {
+            listener.onRetry(attempt);
+        }
+        assertTrue(listener.getDroppedCount() >= 20 - 4 - 1);
+        release.countDown();
+        listener.close();
+        listener.onRetry(attempt);
+        assertTrue(listener.getDroppedCount() >= 20 - 4);
+    }
+
+    @Test
+    public void testAsyncListenerSamplesWhenHalfFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Attempt<Boolean>> received = new CopyOnWriteArrayList<>();
+        AsyncRetryListener<Boolean> listener = new AsyncRetryListener<>(attempt -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(attempt);
+        }, 1024, OverflowPolicy.SAMPLE, 1_000_000);
+        Attempt<Boolean> attempt = new Retryer.ResultAttempt<>(null, 1L, 0L);
+        for (int i = 0; i < 2000; i++) {
+            listener.onRetry(attempt);
+        }
+        release.countDown();
+        listener.close();
+        assertTrue(received.size() <= 513 + 2, "received " + received.size());
+        assertEquals(2000L, received.size() + listener.getDroppedCount());
+    }
+
+    @Test
+    public void testAsyncListenerAccountsForEventsRacingClose() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            AtomicInteger received = new AtomicInteger();
+            AsyncRetryListener<Boolean> listener = RetryListeners.async(attempt -> received.incrementAndGet(), 64, OverflowPolicy.DROP);
+            Attempt<Boolean> attempt = new Retryer.ResultAttempt<>(null, 1L, 0L);
+            int published = 2000;
+            CountDownLatch started = new CountDownLatch(1);
+            Thread publisher = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < published; i++) {
+                    listener.onRetry(attempt);
+                }
+            });
+            publisher.start();
+            started.await();
+            listener.close();
+            publisher.join();
+            assertEquals(published, received.get() + listener.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void testAsyncListenerRejectsLifecycleListeners() {
+        assertThrows(IllegalArgumentException.class, () -> RetryListeners.async(new RecordingLifecycleListener(), 16, OverflowPolicy.DROP));
+    }
+
+    @Test
+    public void testLifecycleListenerOnCompletion() throws Exception {
+        RecordingLifecycleListener listener = new RecordingLifecycleListener();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(result -> result == null)
+                .withRetryListener(listener)
+                .build();
+        int[] counter = new int[1];
+        assertTrue(retryer.call(() -> ++counter[0] <= 2 ? null : true));
+
+        assertEquals(Arrays.asList("callStart",
+                "attemptStart 1", "attemptEnd 1", "retry 1",
+                "attemptStart 2", "attemptEnd 2", "retry 2",
+                "attemptStart 3", "attemptEnd 3", "complete 3"), listener.events);
+        for (int i = 1; i < listener.times.size(); i++) {
+            assertTrue(listener.times.get(i) >= listener.times.get(i - 1));
+        }
+    }
+
+    @Test
+    public void testLifecycleListenerOnGiveUp() {
+        RecordingLifecycleListener listener = new RecordingLifecycleListener();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(2))
+                .withRetryListener(listener)
+                .build();
+        assertThrows(RetryException.class, () -> retryer.call(() -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(Arrays.asList("callStart",
+                "attemptStart 1", "attemptEnd 1", "retry 1",
+                "attemptStart 2", "attemptEnd 2", "giveUp 2"), listener.events);
+    }
+
+    @Test
+    public void testLifecycleListenerOnInterrupted() {
+        RecordingLifecycleListener listener = new RecordingLifecycleListener();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(result -> result == null)
+                .withBlockStrategy(sleepTime -> {
+                    throw new InterruptedException();
+                })
+                .withRetryListener(listener)
+                .build();
+        assertThrows(RetryException.class, () -> retryer.call(() -> null));
+        assertTrue(Thread.interrupted());
+
+        assertEquals(Arrays.asList("callStart",
+                "attemptStart 1", "attemptEnd 1", "retry 1", "interrupted 1"), listener.events);
+    }
+
+    @Test
+    public void testAddAndRemoveListenerAtRuntime() throws Exception {
+        List<Long> attemptNumbers = new ArrayList<>();
+        RetryerBuilder<Boolean> builder = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(result -> result == null);
+        Retryer<Boolean> retryer = builder.build();
+        builder.withRetryListener(attempt -> fail("builder listeners must not leak into a built retryer"));
+
+        RetryListener<Boolean> listener = attempt -> attemptNumbers.add(attempt.getAttemptNumber());
+        retryer.addListener(listener);
+        int[] counter = new int[1];
+        assertTrue(retryer.call(() -> ++counter[0] % 3 == 0 ? true : null));
+        assertEquals(Arrays.asList(1L, 2L), attemptNumbers);
+
+        assertTrue(retryer.removeListener(listener));
+        assertFalse(retryer.removeListener(listener));
+        assertTrue(retryer.call(() -> ++counter[0] % 3 == 0 ? true : null));
+        assertEquals(Arrays.asList(1L, 2L), attemptNumbers);
+    }
+
+    @Test
+    public void testSampledListener() {
+        AtomicInteger count = new AtomicInteger();
+        RetryListener<Boolean> listener = RetryListeners.sampled(attempt -> count.incrementAndGet(), 10);
+        Attempt<Boolean> attempt = new Retryer.ResultAttempt<>(null, 1L, 0L);
+        for (int i = 0; i < 100_000; i++) {
+            listener.onRetry(attempt);
+        }
+        assertTrue(count.get() > 9_000 && count.get() < 11_000, "count " + count.get());
+
+        AtomicInteger all = new AtomicInteger();
+        RetryListener<Boolean> everyAttempt = RetryListeners.sampled(attempt1 -> all.incrementAndGet(), 1);
+        for (int i = 0; i < 100; i++) {
+            everyAttempt.onRetry(attempt);
+        }
+        assertEquals(100, all.get());
+        assertThrows(IllegalArgumentException.class, () -> RetryListeners.sampled(everyAttempt, 0));
+    }
+
+    @Test
+    public void testRateLimitedListener() {
+        AtomicInteger count = new AtomicInteger();
+        RetryListener<Boolean> listener = RetryListeners.rateLimited(attempt -> count.incrementAndGet(), 5);
+        Attempt<Boolean> attempt = new Retryer.ResultAttempt<>(null, 1L, 0L);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            listener.onRetry(attempt);
+        }
+        // the loop may straddle two one-second windows on a very slow machine
+        int max = System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1L) ? 10 : 10_000;
+        assertTrue(count.get() >= 5 && count.get() <= max, "count " + count.get());
+    }
+
+    @Test
+    public void testRateLimitedListenerLeasesPermitsPerThread() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        RetryListener<Boolean> listener = RetryListeners.rateLimited(attempt -> count.incrementAndGet(), 640);
+        Attempt<Boolean> attempt = new Retryer.ResultAttempt<>(null, 1L, 0L);
+        Thread[] threads = new Thread[4];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    listener.onRetry(attempt);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1L)) {
+            // each thread strands at most a lease of 10 permits, less the one it spent
+            assertTrue(count.get() >= 640 - threads.length * 9 && count.get() <= 640, "count " + count.get());
+        }
+    }
+
+    @Test
+    public void testFirstAndLastListener() {
+        RecordingLifecycleListener recording = new RecordingLifecycleListener();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(result -> result == null)
+                .withStopStrategy(StopStrategies.stopAfterAttempt(4))
+                .withRetryListener(RetryListeners.firstAndLast(recording))
+                .build();
+        assertThrows(RetryException.class, () -> retryer.call(() -> null));
+
+        assertEquals(Arrays.asList("callStart",
+                "attemptStart 1", "attemptEnd 1", "retry 1", "giveUp 4"), recording.events);
+    }
+
+    private static final class RecordingLifecycleListener implements RetryLifecycleListener<Boolean> {
+        private final List<String> events = new ArrayList<>();
+        private final List<Long> times = new ArrayList<>();
+
+        @Override
+        public void onCallStart(long startNanos) {
+            record("callStart", startNanos);
+        }
+
+        @Override
+        public void onAttemptStart(long attemptNumber, long startNanos) {
+            record("attemptStart " + attemptNumber, startNanos);
+        }
+
+        @Override
+        public void onAttemptEnd(Attempt<Boolean> attempt, long endNanos) {
+            record("attemptEnd " + attempt.getAttemptNumber(), endNanos);
+        }
+
+        @Override
+        public void onRetry(Attempt<Boolean> attempt) {
+            events.add("retry " + attempt.getAttemptNumber());
+        }
+
+        @Override
+        public void onComplete(Attempt<Boolean> attempt, long endNanos) {
+            record("complete " + attempt.getAttemptNumber(), endNanos);
+        }
+
+        @Override
+        public void onGiveUp(Attempt<Boolean> lastAttempt, long endNanos) {
+            record("giveUp " + lastAttempt.getAttemptNumber(), endNanos);
+        }
+
+        @Override
+        public void onInterrupted(Attempt<Boolean> lastAttempt, long endNanos) {
+            record("interrupted " + lastAttempt.getAttemptNumber(), endNanos);
+        }
+
+        private void record(String event, long nanos) {
+            events.add(event);
+            times.add(nanos);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinators;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyPlanTest {
+
+    @Test
+    public void testStopAfterAttempt() {
+        RetryPolicyPlan plan = RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(5))
+                .withWaitStrategy(WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS))
+                .plan(1, TimeUnit.SECONDS);
+        assertTrue(plan.isBounded());
+        assertEquals(1000L, plan.getAttemptTimeoutMillis());
+        assertEquals(5L, plan.getWorstCaseAttempts());
+        assertEquals(400L, plan.getWorstCaseSleepMillis());
+        assertEquals(5400L, plan.getWorstCaseLatencyMillis());
+    }
+
+    @Test
+    public void testStopAfterDelay() {
+        RetryPolicyPlan plan = RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterDelay(10, TimeUnit.SECONDS))
+                .withWaitStrategy(WaitStrategies.fixedWait(1, TimeUnit.SECONDS))
+                .plan(500, TimeUnit.MILLISECONDS);
+        // attempts failing at once start every second until the delay is reached
+        assertEquals(11L, plan.getWorstCaseAttempts());
+        assertEquals(10000L, plan.getWorstCaseSleepMillis());
+        // a retry just before the delay, after the longest sleep, then an attempt running for its timeout
+        assertEquals(10000L + 1000L + 500L, plan.getWorstCaseLatencyMillis());
+    }
+
+    @Test
+    public void testStopAfterDelayIsBoundedWhateverTheDraws() {
+        RetryPolicyPlan random = RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterDelay(10, TimeUnit.SECONDS))
+                .withWaitStrategy(WaitStrategies.randomWait(7900, TimeUnit.MILLISECONDS, 8500, TimeUnit.MILLISECONDS))
+                .plan(1, TimeUnit.SECONDS);
+        assertEquals(3L, random.getWorstCaseAttempts());
+        assertTrue(random.getWorstCaseLatencyMillis() >= 18_800L);
+        assertEquals(10000L + 8499L + 1000L, random.getWorstCaseLatencyMillis());
+
+        RetryPolicyPlan fastFailures = RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterDelay(10, TimeUnit.SECONDS))
+                .withWaitStrategy(WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS))
+                .plan(1, TimeUnit.SECONDS);
+        assertEquals(101L, fastFailures.getWorstCaseAttempts());
+        assertEquals(10000L + 100L + 1000L, fastFailures.getWorstCaseLatencyMillis());
+
+        assertThrows(IllegalStateException.class, () -> RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterDelay(10, TimeUnit.SECONDS))
+                .withWaitStrategy(WaitStrategies.randomWait(7900, TimeUnit.MILLISECONDS, 8500, TimeUnit.MILLISECONDS))
+                .withLatencySlo(15, 1, TimeUnit.SECONDS)
+                .build());
+    }
+
+    @Test
+    public void testRandomWaitAndCoordinationUseTheirMaximum() {
+        RetryPolicyPlan plan = RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(3))
+                .withWaitStrategy(WaitStrategies.join(WaitStrategies.randomWait(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS),
+                        WaitStrategies.fixedWait(1, TimeUnit.MILLISECONDS)))
+                .withWakeUpCoordinator(WakeUpCoordinators.slotted(10, 10, 100, TimeUnit.MILLISECONDS))
+                .plan(0, TimeUnit.MILLISECONDS);
+        assertEquals(3L, plan.getWorstCaseAttempts());
+        assertEquals(2 * (1999L + 1L + 101L), plan.getWorstCaseSleepMillis());
+        assertEquals(plan.getWorstCaseSleepMillis(), plan.getWorstCaseLatencyMillis());
+    }
+
+    @Test
+    public void testUnboundedPolicies() {
+        RetryPolicyPlan exponential = RetryerBuilder.newBuilder()
+                .withWaitStrategy(WaitStrategies.exponentialWait())
+                .plan(1, TimeUnit.SECONDS);
+        assertFalse(exponential.isBounded());
+        assertEquals(Long.MAX_VALUE, exponential.getWorstCaseAttempts());
+        assertEquals(Long.MAX_VALUE, exponential.getWorstCaseLatencyMillis());
+
+        RetryPolicyPlan noWait = RetryerBuilder.newBuilder().plan(0, TimeUnit.SECONDS);
+        assertFalse(noWait.isBounded());
+    }
+
+    @Test
+    public void testLatencySlo() {
+        assertThrows(IllegalStateException.class, () -> RetryerBuilder.newBuilder()
+                .withWaitStrategy(WaitStrategies.exponentialWait())
+                .withLatencySlo(30, 1, TimeUnit.SECONDS)
+                .build());
+        assertThrows(IllegalStateException.class, () -> RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(5))
+                .withWaitStrategy(WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS))
+                .withLatencySlo(5, 1, TimeUnit.SECONDS)
+                .build());
+        assertNotNull(RetryerBuilder.newBuilder()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(5))
+                .withWaitStrategy(WaitStrategies.fixedWait(100, TimeUnit.MILLISECONDS))
+                .withLatencySlo(6, 1, TimeUnit.SECONDS)
+                .build());
+        RetryerBuilder<Object> builder = RetryerBuilder.newBuilder().withLatencySlo(1, 1, TimeUnit.SECONDS);
+        assertThrows(IllegalStateException.class, () -> builder.withLatencySlo(2, 1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.spec.ReloadableRetryer;
+import io.github.itning.retry.spec.RetrySpec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetrySpecTest {
+
+    @Test
+    public void testParse() {
+        RetrySpec spec = RetrySpec.parse(" attempts = 5, wait=exponential(100ms, 10s) ,jitter=full,timeout=2s,retryOn=IOException|TimeoutException");
+        assertEquals("attempts=5,wait=exponential(100ms, 10s),jitter=full,timeout=2s,retryOn=IOException|TimeoutException", spec.toString());
+        RetryPolicyPlan plan = spec.toBuilder().plan(2, TimeUnit.SECONDS);
+        assertEquals(5L, plan.getWorstCaseAttempts());
+    }
+
+    @Test
+    public void testPlanOfWaits() {
+        assertEquals(400L, RetrySpec.parse("attempts=5,wait=fixed(100ms)").toBuilder().plan(0, TimeUnit.SECONDS).getWorstCaseSleepMillis());
+        assertEquals(100L + 150L + 200L, RetrySpec.parse("attempts=4,wait=incrementing(100ms,50ms)").toBuilder().plan(0, TimeUnit.SECONDS).getWorstCaseSleepMillis());
+        assertEquals(2L * 2 + 2L * 4 + 2L * 8, RetrySpec.parse("attempts=4,wait=exponential(2,1h)").toBuilder().plan(0, TimeUnit.SECONDS).getWorstCaseSleepMillis());
+        assertEquals(3L * 2000L, RetrySpec.parse("attempts=4,wait=random(1s,2s),jitter=equal").toBuilder().plan(0, TimeUnit.SECONDS).getWorstCaseSleepMillis(), 3L);
+        assertEquals(4L, RetrySpec.parse("attempts=10,maxDelay=1s,wait=fixed(400ms)").toBuilder().plan(0, TimeUnit.SECONDS).getWorstCaseAttempts());
+    }
+
+    @Test
+    public void testInvalidSpecs() {
+        String[] invalid = {
+                "attempts", "attempts=five", "attempts=0", "attempts=1,attempts=2", "retries=3",
+                "wait=sleep(1s)", "wait=fixed", "wait=fixed(1s,2s)", "wait=fixed(1 day)", "wait=fixed(s)",
+                "jitter=half", "timeout=2", "retryOn=NoSuchException", "retryOn=String"
+        };
+        for (String spec : invalid) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> RetrySpec.parse(spec), spec);
+            assertTrue(e.getMessage().startsWith("invalid retry spec \"" + spec + "\""), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testRetryOn() throws Exception {
+        Retryer<String> retryer = RetrySpec.parse("attempts=3,retryOn=IOException|java.util.concurrent.TimeoutException").<String>toBuilder().build();
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("done", retryer.call(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IOException();
+            }
+            if (calls.get() == 2) {
+                throw new TimeoutException();
+            }
+            return "done";
+        }));
+        assertEquals(3, calls.get());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> retryer.call(() -> {
+            throw new IllegalStateException();
+        }));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testSpecWithoutStopIsBounded() {
+        assertEquals(RetrySpec.DEFAULT_ATTEMPTS, RetrySpec.parse("").toBuilder().plan(0, TimeUnit.SECONDS).getWorstCaseAttempts());
+        assertEquals(RetrySpec.DEFAULT_ATTEMPTS, RetrySpec.parse("wait=fixed(10ms),timeout=1s").toBuilder().plan(0, TimeUnit.SECONDS).getWorstCaseAttempts());
+    }
+
+    @Test
+    public void testSlo() {
+        assertThrows(IllegalStateException.class, () -> RetrySpec.parse("attempts=20,wait=exponential(1s),slo=10s").toBuilder().build());
+        RetrySpec.parse("attempts=3,wait=fixed(1s),timeout=2s,slo=10s").toBuilder().build();
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        ReloadableRetryer<String> retryer = new ReloadableRetryer<>("name=payments,attempts=2");
+        assertEquals("payments", retryer.getSpec().getName());
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(RetryException.class, () -> retryer.call(() -> {
+            calls.incrementAndGet();
+            throw new IOException();
+        }));
+        assertEquals(2, calls.get());
+
+        assertThrows(IllegalArgumentException.class, () -> retryer.reload("attempts=zero"));
+        assertEquals("name=payments,attempts=2", retryer.getSpec().toString());
+
+        retryer.reload("name=payments,attempts=4");
+        calls.set(0);
+        assertThrows(RetryException.class, () -> retryer.call(() -> {
+            calls.incrementAndGet();
+            throw new IOException();
+        }));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void testCallInFlightKeepsItsPolicy() throws Exception {
+        ReloadableRetryer<Integer> retryer = new ReloadableRetryer<>("attempts=2");
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> inFlight = executor.submit(() -> retryer.call(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    firstAttempt.countDown();
+                    reloaded.await();
+                }
+                throw new IOException();
+            }));
+            firstAttempt.await();
+            retryer.reload("attempts=5");
+            reloaded.countDown();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> inFlight.get(10, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof RetryException);
+            assertEquals(2, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.listener.RetryLifecycleListener;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.trace.RecordingRetryTracer;
+import io.github.itning.retry.trace.RecordingRetryTracer.RecordedSpan;
+import io.github.itning.retry.trace.RetrySpan;
+import io.github.itning.retry.trace.RetryTracers;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryTracerTest {
+
+    @Test
+    public void testSpansOfCompletedCall() throws Exception {
+        RecordingRetryTracer tracer = RetryTracers.recording();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withName("orders")
+                .withTracer(tracer)
+                .retryIfException()
+                .retryIfResult(result -> !result)
+                .build();
+        int[] counter = new int[1];
+        assertTrue(retryer.call(() -> {
+            switch (++counter[0]) {
+                case 1:
+                    throw new IOException();
+                case 2:
+                    return false;
+                default:
+                    return true;
+            }
+        }));
+
+        List<RecordedSpan> spans = tracer.getSpans();
+        assertEquals(6, spans.size());
+        RecordedSpan call = spans.get(0);
+        assertEquals("call", call.getName());
+        assertEquals("orders", call.getRetryerName());
+        assertEquals(3L, call.getTags().get(RetrySpan.ATTEMPT_NUMBER));
+        assertEquals("completed", call.getTags().get(RetrySpan.OUTCOME));
+
+        assertEquals("attempt", spans.get(1).getName());
+        assertEquals(IOException.class.getName(), spans.get(1).getTags().get(RetrySpan.EXCEPTION_CLASS));
+        assertEquals("exception", spans.get(1).getTags().get(RetrySpan.REJECTION_REASON));
+        assertEquals("backoff", spans.get(2).getName());
+        assertEquals(0L, spans.get(2).getTags().get(RetrySpan.SLEEP_TIME));
+        assertEquals("attempt", spans.get(3).getName());
+        assertEquals("result", spans.get(3).getTags().get(RetrySpan.REJECTION_REASON));
+        assertEquals("backoff", spans.get(4).getName());
+        assertEquals(3L, spans.get(5).getTags().get(RetrySpan.ATTEMPT_NUMBER));
+        assertFalse(spans.get(5).getTags().containsKey(RetrySpan.REJECTION_REASON));
+        for (RecordedSpan span : spans) {
+            assertTrue(span.isEnded());
+            assertEquals(span == call ? null : call, span.getParent());
+        }
+    }
+
+    @Test
+    public void testCallSpanOfGiveUp() {
+        RecordingRetryTracer tracer = RetryTracers.recording();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withTracer(tracer)
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(2))
+                .build();
+        assertThrows(RetryException.class, () -> retryer.call(() -> {
+            throw new IOException();
+        }));
+
+        List<RecordedSpan> spans = tracer.getSpans();
+        assertEquals(4, spans.size());
+        assertEquals("stop strategy", spans.get(0).getTags().get(RetrySpan.OUTCOME));
+        assertEquals(2L, spans.get(0).getTags().get(RetrySpan.ATTEMPT_NUMBER));
+        assertTrue(spans.get(0).isEnded());
+    }
+
+    @Test
+    public void testSpansAndListenersEndWhenAStrategyThrows() {
+        RecordingRetryTracer tracer = RetryTracers.recording();
+        List<String> events = new ArrayList<>();
+        RetryLifecycleListener<Boolean> listener = new RetryLifecycleListener<Boolean>() {
+            @Override
+            public void onComplete(Attempt<Boolean> attempt, long endNanos) {
+                events.add("complete");
+            }
+
+            @Override
+            public void onGiveUp(Attempt<Boolean> lastAttempt, long endNanos) {
+                events.add("giveUp " + lastAttempt.getAttemptNumber());
+            }
+        };
+        Retryer<Boolean> throwingWait = RetryerBuilder.<Boolean>newBuilder()
+                .withTracer(tracer)
+                .retryIfException()
+                .withWaitStrategy(failedAttempt -> {
+                    throw new IllegalStateException("wait");
+                })
+                .withRetryListener(listener)
+                .build();
+        assertThrows(IllegalStateException.class, () -> throwingWait.call(() -> {
+            throw new IOException();
+        }));
+        assertEquals(Arrays.asList("giveUp 1"), events);
+        List<RecordedSpan> spans = tracer.getSpans();
+        assertEquals(2, spans.size());
+        assertEquals("aborted", spans.get(0).getTags().get(RetrySpan.OUTCOME));
+        assertEquals(1L, spans.get(0).getTags().get(RetrySpan.ATTEMPT_NUMBER));
+
+        Retryer<Boolean> throwingPredicate = RetryerBuilder.<Boolean>newBuilder()
+                .withTracer(tracer)
+                .retryIfResult(result -> {
+                    throw new IllegalStateException("predicate");
+                })
+                .withRetryListener(listener)
+                .build();
+        assertThrows(IllegalStateException.class, () -> throwingPredicate.call(() -> true));
+
+        Retryer<Boolean> throwingBlock = RetryerBuilder.<Boolean>newBuilder()
+                .withTracer(tracer)
+                .retryIfException()
+                .withBlockStrategy(sleepTime -> {
+                    throw new IllegalStateException("block");
+                })
+                .withRetryListener(listener)
+                .build();
+        assertThrows(IllegalStateException.class, () -> throwingBlock.call(() -> {
+            throw new IOException();
+        }));
+
+        assertEquals(Arrays.asList("giveUp 1", "giveUp 1", "giveUp 1"), events);
+        spans = tracer.getSpans();
+        assertEquals(2 + 2 + 3, spans.size());
+        assertEquals("backoff", spans.get(6).getName());
+        for (RecordedSpan span : spans) {
+            assertTrue(span.isEnded(), span.getName());
+        }
+    }
+}
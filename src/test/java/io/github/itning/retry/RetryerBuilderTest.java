@@ -535,6 +535,39 @@ public class RetryerBuilderTest {
         assertFalse(listenerTwo.get());
     }
 
+    @Test
+    public void testAttemptTimings() throws Exception {
+        final Map<Long, Attempt<Boolean>> attempts = new HashMap<>();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(Objects::isNull)
+                .withWaitStrategy(WaitStrategies.fixedWait(50L, TimeUnit.MILLISECONDS))
+                .withRetryListener(attempt -> attempts.put(attempt.getAttemptNumber(), attempt))
+                .build();
+        int[] counter = new int[1];
+        assertTrue(retryer.call(() -> {
+            Thread.sleep(20L);
+            return ++counter[0] == 3 ? true : null;
+        }));
+
+        Attempt<Boolean> first = attempts.get(1L);
+        Attempt<Boolean> second = attempts.get(2L);
+        assertTrue(first.getAttemptDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(20L));
+        assertEquals(first.getEndTimeNanos() - first.getStartTimeNanos(), first.getAttemptDurationNanos());
+        assertEquals(0L, first.getCumulativeBackoffNanos());
+        assertEquals(50L, first.getNextSleepTime());
+        assertEquals(second.getStartTimeNanos() - first.getEndTimeNanos(), second.getCumulativeBackoffNanos());
+        assertTrue(second.getCumulativeBackoffNanos() >= TimeUnit.MILLISECONDS.toNanos(50L));
+        assertTrue(second.getDelaySinceFirstAttempt() >= 90L);
+    }
+
+    @Test
+    public void testWithName() {
+        assertNull(RetryerBuilder.<Boolean>newBuilder().build().getName());
+        RetryerBuilder<Boolean> builder = RetryerBuilder.<Boolean>newBuilder().withName("payments");
+        assertEquals("payments", builder.build().getName());
+        assertThrows(IllegalStateException.class, () -> builder.withName("orders"));
+    }
+
     private void assertResultAttempt(Attempt actualAttempt, boolean expectedHasResult, Object expectedResult) {
         assertFalse(actualAttempt.hasException());
         assertEquals(expectedHasResult, actualAttempt.hasResult());
@@ -0,0 +1,92 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.jmx.RetryerMXBeans;
+import io.github.itning.retry.jmx.RetryerManagement;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryerMXBeanTest {
+
+    @Test
+    public void testPolicyOverride() {
+        RetryPolicyOverride override = RetryPolicyOverride.NONE;
+        assertFalse(override.shouldStop(new Retryer.ResultAttempt<>(null, 100L, 100_000L)));
+        assertEquals(1234L, override.adjustSleepTime(1234L));
+
+        override = override.withAttemptCap(3).withDelayCap(1000L).withWaitMultiplier(0.5d).withMaxWait(400L);
+        assertFalse(override.shouldStop(new Retryer.ResultAttempt<>(null, 2L, 999L)));
+        assertTrue(override.shouldStop(new Retryer.ResultAttempt<>(null, 3L, 0L)));
+        assertTrue(override.shouldStop(new Retryer.ResultAttempt<>(null, 1L, 1000L)));
+        assertEquals(300L, override.adjustSleepTime(600L));
+        assertEquals(400L, override.adjustSleepTime(1000L));
+        assertTrue(override.withRetriesDisabled(true).shouldStop(new Retryer.ResultAttempt<>(null, 1L, 0L)));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicyOverride.NONE.withWaitMultiplier(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicyOverride.NONE.withAttemptCap(-1));
+    }
+
+    @Test
+    public void testRegisterAndTune() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withName("inventory")
+                .retryIfException()
+                .withStopStrategy(StopStrategies.stopAfterAttempt(5))
+                .build();
+        int[] counter = new int[1];
+        try (RetryerManagement<Boolean> management = RetryerMXBeans.register(retryer, server)) {
+            assertTrue(server.isRegistered(management.getObjectName()));
+            assertEquals("io.github.itning.retry:type=Retryer,name=\"inventory\"", management.getObjectName().toString());
+            assertThrows(IllegalStateException.class, () -> RetryerMXBeans.register(retryer, server));
+
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                counter[0]++;
+                throw new IOException();
+            }));
+            assertEquals(5, counter[0]);
+            assertEquals(1L, server.getAttribute(management.getObjectName(), "Calls"));
+            assertEquals(5L, server.getAttribute(management.getObjectName(), "Attempts"));
+            assertEquals(4L, server.getAttribute(management.getObjectName(), "Retries"));
+            assertEquals(1L, server.getAttribute(management.getObjectName(), "GivenUp"));
+            assertEquals(0L, server.getAttribute(management.getObjectName(), "InFlight"));
+
+            server.setAttribute(management.getObjectName(), new Attribute("AttemptCap", 2));
+            counter[0] = 0;
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                counter[0]++;
+                throw new IOException();
+            }));
+            assertEquals(2, counter[0]);
+
+            // a cap never raises the limit of the stop strategy
+            server.setAttribute(management.getObjectName(), new Attribute("AttemptCap", 10));
+            counter[0] = 0;
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                counter[0]++;
+                throw new IOException();
+            }));
+            assertEquals(5, counter[0]);
+
+            server.setAttribute(management.getObjectName(), new Attribute("RetriesDisabled", true));
+            counter[0] = 0;
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                counter[0]++;
+                throw new IOException();
+            }));
+            assertEquals(1, counter[0]);
+
+            server.invoke(management.getObjectName(), "resetPolicyOverride", new Object[0], new String[0]);
+            assertSame(RetryPolicyOverride.NONE, retryer.getPolicyOverride());
+        }
+        assertEquals(0, server.queryNames(null, null).stream().filter(name -> name.getDomain().equals(RetryerMXBeans.DOMAIN)).count());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RetryerMXBeans.register(RetryerBuilder.<Boolean>newBuilder().build(), server));
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinators;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryerRegistryTest {
+
+    @Test
+    public void testRetryersAreCachedByName() throws Exception {
+        try (RetryerRegistry registry = RetryerRegistry.newBuilder()
+                .withDefaultSpec("attempts=3")
+                .withSpec("payments", "attempts=5,wait=fixed(1ms)")
+                .build()) {
+            Retryer<String> inventory = registry.retryer("inventory");
+            assertSame(inventory, registry.retryer("inventory"));
+            assertEquals("inventory", inventory.getName());
+
+            Retryer<String> payments = registry.retryer("payments");
+            AtomicInteger calls = new AtomicInteger();
+            assertThrows(RetryException.class, () -> payments.call(() -> {
+                calls.incrementAndGet();
+                throw new IOException();
+            }));
+            assertEquals(5, calls.get());
+
+            assertEquals(2, registry.getRetryers().size());
+            assertEquals("inventory", registry.getRetryers().keySet().iterator().next());
+        }
+    }
+
+    @Test
+    public void testDefaultsAndCustomizer() throws Exception {
+        AtomicInteger retries = new AtomicInteger();
+        try (RetryerRegistry registry = RetryerRegistry.newBuilder()
+                .withDefaults(builder -> builder.withWakeUpCoordinator(WakeUpCoordinators.noCoordination()))
+                .build()) {
+            Retryer<Integer> retryer = registry.retryer("counter", builder -> builder
+                    .retryIfResult(result -> result < 3)
+                    .withRetryListener(attempt -> retries.incrementAndGet()));
+            AtomicInteger value = new AtomicInteger();
+            assertEquals(3, retryer.call(value::incrementAndGet));
+            assertEquals(2, retries.get());
+            assertSame(retryer, registry.retryer("counter", builder -> fail("the retryer already exists")));
+        }
+    }
+
+    @Test
+    public void testSharedTimeLimiters() throws Exception {
+        try (RetryerRegistry registry = RetryerRegistry.newBuilder()
+                .withDefaultSpec("attempts=2,timeout=50ms")
+                .withAttemptThreads(2)
+                .build()) {
+            Retryer<String> sameThread = registry.retryer("same-thread");
+            assertThrows(RetryException.class, () -> sameThread.call(() -> {
+                Thread.sleep(10_000L);
+                return "late";
+            }));
+
+            Retryer<String> pooled = registry.retryer("pooled", builder -> builder.withAttemptTimeLimiter(registry.fixedTimeLimit(50, TimeUnit.MILLISECONDS)));
+            assertEquals("pooled", pooled.call(() -> Thread.currentThread().getName().startsWith("guava-retrying-registry-attempt-") ? "pooled" : "caller"));
+        }
+    }
+
+    @Test
+    public void testSaturatedAttemptExecutorRejectsAtOnce() throws Exception {
+        try (RetryerRegistry registry = RetryerRegistry.newBuilder()
+                .withDefaultSpec("attempts=1")
+                .withAttemptThreads(1)
+                .withAttemptQueueCapacity(0)
+                .build()) {
+            Retryer<String> slow = registry.retryer("slow", builder -> builder.withAttemptTimeLimiter(registry.fixedTimeLimit(10, TimeUnit.SECONDS)));
+            Retryer<String> fast = registry.retryer("fast", builder -> builder.withAttemptTimeLimiter(registry.fixedTimeLimit(5, TimeUnit.SECONDS)));
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Thread holder = new Thread(() -> {
+                try {
+                    slow.call(() -> {
+                        running.countDown();
+                        release.await();
+                        return "slow";
+                    });
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+            holder.start();
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            RetryException e = assertThrows(RetryException.class, () -> fast.call(() -> "fast"));
+            assertTrue(e.getLastFailedAttempt().getExceptionCause() instanceof RejectedExecutionException);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1L));
+
+            release.countDown();
+            holder.join();
+            assertEquals("fast", fast.call(() -> "fast"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> RetryerRegistry.newBuilder().withAttemptQueueCapacity(-1));
+    }
+
+    @Test
+    public void testInFlightRegistryIsShared() throws Exception {
+        try (RetryerRegistry registry = RetryerRegistry.newBuilder().build()) {
+            Retryer<Integer> retryer = registry.retryer("observed");
+            assertEquals(1, retryer.call(() -> registry.getInFlightRegistry().getCalls().size()));
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        RetryerRegistry registry = RetryerRegistry.newBuilder().build();
+        registry.retryer("before");
+        registry.close();
+        assertTrue(registry.isClosed());
+        assertTrue(registry.awaitTermination(10, TimeUnit.SECONDS));
+        assertNotNull(registry.retryer("before"));
+        assertThrows(IllegalStateException.class, () -> registry.retryer("after"));
+    }
+
+    @Test
+    public void testDefaultSpecIsBounded() {
+        try (RetryerRegistry registry = RetryerRegistry.newBuilder().build()) {
+            Retryer<String> retryer = registry.retryer("default");
+            AtomicInteger calls = new AtomicInteger();
+            long start = System.nanoTime();
+            assertThrows(RetryException.class, () -> retryer.call(() -> {
+                calls.incrementAndGet();
+                throw new IOException();
+            }));
+            assertEquals(3, calls.get());
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200L));
+        }
+    }
+
+    @Test
+    public void testRetryersOfAClosedRegistryFailFast() {
+        RetryerRegistry registry = RetryerRegistry.newBuilder()
+                .withDefaultSpec("attempts=1000,wait=fixed(10ms),timeout=1s")
+                .build();
+        Retryer<String> retryer = registry.retryer("closed");
+        registry.close();
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> retryer.call(() -> {
+            calls.incrementAndGet();
+            return "never";
+        }));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(0, calls.get());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1L));
+    }
+
+    @Test
+    public void testInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> RetryerRegistry.newBuilder().withDefaultSpec("name=shared"));
+        assertThrows(IllegalArgumentException.class, () -> RetryerRegistry.newBuilder().withSpec("payments", "name=inventory"));
+        RetryerRegistry.newBuilder().withSpec("payments", "name=payments");
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.simulation.ReplayPolicy;
+import io.github.itning.retry.simulation.ServiceModel;
+import io.github.itning.retry.simulation.StormReport;
+import io.github.itning.retry.simulation.StormSample;
+import io.github.itning.retry.simulation.StormSimulation;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StormSimulationTest {
+    private static final ReplayPolicy NO_RETRY = new ReplayPolicy("no retry",
+            StopStrategies.stopAfterAttempt(1), WaitStrategies.noWait(), Attempt::hasException);
+    private static final ReplayPolicy AGGRESSIVE = new ReplayPolicy("aggressive",
+            StopStrategies.stopAfterAttempt(5), WaitStrategies.noWait(), Attempt::hasException);
+
+    private static StormReport simulate(ReplayPolicy policy, ServiceModel service) {
+        return StormSimulation.newBuilder()
+                .withClients(50)
+                .withCallRate(10.0)
+                .withPolicy(policy)
+                .withService(service)
+                .withDuration(20, TimeUnit.SECONDS)
+                .withDrainTime(5, TimeUnit.SECONDS)
+                .withSeed(42L)
+                .build()
+                .run();
+    }
+
+    @Test
+    public void testHealthyService() {
+        StormReport report = simulate(AGGRESSIVE, ServiceModel.newBuilder()
+                .withServers(20)
+                .withServiceTime(10, TimeUnit.MILLISECONDS, false)
+                .build());
+        assertTrue(report.getCalls() > 9000L && report.getCalls() < 11000L, report.toString());
+        assertEquals(report.getCalls(), report.getAttempts());
+        assertEquals(report.getCalls(), report.getSuccesses());
+        assertEquals(0L, report.getUnfinished());
+        assertEquals(1.0, report.getAmplification());
+        assertEquals(25, report.getSamples().size());
+        assertEquals(10L, report.getSamples().get(1).getMeanLatencyMillis());
+    }
+
+    @Test
+    public void testCapacityDropAmplifiesLoad() throws Exception {
+        ServiceModel service = ServiceModel.newBuilder()
+                .withServers(20)
+                .withServiceTime(20, TimeUnit.MILLISECONDS, true)
+                .withQueueCapacity(100)
+                .withTimeout(200, TimeUnit.MILLISECONDS)
+                .withCapacityChange(10, TimeUnit.SECONDS, 5)
+                .build();
+        StormReport noRetry = simulate(NO_RETRY, service);
+        StormReport aggressive = simulate(AGGRESSIVE, service);
+
+        List<StormSample> samples = aggressive.getSamples();
+        StormSample before = samples.get(5);
+        StormSample after = samples.get(15);
+        assertTrue(before.getAmplification() < 1.1, String.valueOf(before.getAmplification()));
+        assertTrue(after.getAmplification() > 2.0, String.valueOf(after.getAmplification()));
+        assertTrue(after.getOfferedLoad() > 2 * before.getOfferedLoad());
+        assertTrue(after.getRejections() + after.getTimeouts() > 0L);
+        assertTrue(after.getGoodput() <= 300.0, String.valueOf(after.getGoodput()));
+        assertTrue(aggressive.getAttempts() > noRetry.getAttempts());
+        assertEquals(1.0, noRetry.getAmplification());
+        assertEquals(0L, aggressive.getUnfinished());
+
+        StringBuilder csv = new StringBuilder();
+        aggressive.writeCsv(csv);
+        assertEquals(samples.size() + 1, csv.toString().split("\n").length);
+    }
+
+    @Test
+    public void testDeterministicForASeed() {
+        ServiceModel service = ServiceModel.newBuilder()
+                .withServers(5)
+                .withServiceTime(20, TimeUnit.MILLISECONDS, true)
+                .withFailureProbability(0.1)
+                .build();
+        StormReport first = simulate(AGGRESSIVE, service);
+        StormReport second = simulate(AGGRESSIVE, service);
+        assertEquals(first.getAttempts(), second.getAttempts());
+        assertEquals(first.getSuccesses(), second.getSuccesses());
+        assertTrue(first.getAttempts() > first.getCalls());
+    }
+
+    @Test
+    public void testBuilderValidation() {
+        assertThrows(IllegalStateException.class, () -> StormSimulation.newBuilder().withPolicy(NO_RETRY).build());
+        assertThrows(IllegalArgumentException.class, () -> StormSimulation.newBuilder().withCallRate(0.0));
+        assertThrows(IllegalArgumentException.class, () -> ServiceModel.newBuilder().withFailureProbability(1.5));
+        assertThrows(IllegalArgumentException.class, () -> ServiceModel.newBuilder().withServers(-1));
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.diagnostics.InFlightRegistry;
+import io.github.itning.retry.diagnostics.InFlightSnapshot;
+import io.github.itning.retry.diagnostics.StuckAttempt;
+import io.github.itning.retry.diagnostics.StuckAttemptWatchdog;
+import io.github.itning.retry.ticker.ManualTicker;
+import io.github.itning.retry.ticker.Tickers;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StuckAttemptWatchdogTest {
+
+    @Test
+    public void testStuckAttemptIsReportedAndInterrupted() {
+        InFlightRegistry registry = new InFlightRegistry();
+        List<StuckAttempt> reports = new CopyOnWriteArrayList<>();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withName("stuck")
+                .withInFlightRegistry(registry)
+                .build();
+        long start = System.nanoTime();
+        try (StuckAttemptWatchdog ignored = new StuckAttemptWatchdog(registry, 100, TimeUnit.MILLISECONDS, reports::add, true)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> retryer.call(() -> {
+                Thread.sleep(10_000L);
+                return true;
+            }));
+            assertTrue(e.getCause() instanceof InterruptedException);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5L));
+
+        assertEquals(1, reports.size());
+        StuckAttempt report = reports.get(0);
+        assertEquals("stuck", report.getRetryerName());
+        assertEquals(1L, report.getAttemptNumber());
+        assertSame(Thread.currentThread(), report.getThread());
+        assertTrue(report.isInterrupted());
+        assertTrue(report.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(100L));
+        assertTrue(Arrays.stream(report.getStackTrace()).anyMatch(element -> element.getMethodName().equals("sleep")));
+    }
+
+    @Test
+    public void testStuckAttemptIsReportedOnce() throws Exception {
+        InFlightRegistry registry = new InFlightRegistry();
+        List<StuckAttempt> reports = new CopyOnWriteArrayList<>();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withInFlightRegistry(registry)
+                .build();
+        try (StuckAttemptWatchdog ignored = new StuckAttemptWatchdog(registry, 20, TimeUnit.MILLISECONDS, reports::add, false)) {
+            assertTrue(retryer.call(() -> {
+                Thread.sleep(300L);
+                return true;
+            }));
+        }
+        assertEquals(1, reports.size());
+        assertFalse(reports.get(0).isInterrupted());
+        assertFalse(Thread.interrupted());
+    }
+
+    @Test
+    public void testScanningSurvivesAFailingHandler() throws Exception {
+        InFlightRegistry registry = new InFlightRegistry();
+        List<StuckAttempt> reports = new CopyOnWriteArrayList<>();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withInFlightRegistry(registry)
+                .build();
+        try (StuckAttemptWatchdog ignored = new StuckAttemptWatchdog(registry, 20, TimeUnit.MILLISECONDS, report -> {
+            reports.add(report);
+            if (reports.size() == 1) {
+                throw new AssertionError("failing handler");
+            }
+        }, false)) {
+            for (int i = 0; i < 2; i++) {
+                assertTrue(retryer.call(() -> {
+                    Thread.sleep(300L);
+                    return true;
+                }));
+            }
+        }
+        assertEquals(2, reports.size());
+    }
+
+    @Test
+    public void testProgressIsTimedIndependentlyOfTheTicker() throws Exception {
+        InFlightRegistry registry = new InFlightRegistry();
+        List<StuckAttempt> reports = new CopyOnWriteArrayList<>();
+        ManualTicker ticker = Tickers.manualTicker();
+        ticker.advance(365L, TimeUnit.DAYS);
+        Retryer<Long> retryer = RetryerBuilder.<Long>newBuilder()
+                .withTicker(ticker)
+                .withInFlightRegistry(registry)
+                .build();
+        try (StuckAttemptWatchdog ignored = new StuckAttemptWatchdog(registry, 1, TimeUnit.SECONDS, reports::add, true)) {
+            long oldestCallAgeMillis = retryer.call(() -> {
+                Thread.sleep(400L);
+                InFlightSnapshot snapshot = registry.snapshot().get(null);
+                return TimeUnit.NANOSECONDS.toMillis(snapshot.getOldestCallAgeNanos());
+            });
+            assertTrue(oldestCallAgeMillis >= 400L && oldestCallAgeMillis < 1_000L);
+        }
+        assertTrue(reports.isEmpty());
+        assertFalse(Thread.interrupted());
+    }
+}
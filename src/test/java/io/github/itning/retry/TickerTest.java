@@ -0,0 +1,83 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.listener.RetryLifecycleListener;
+import io.github.itning.retry.strategy.block.BlockStrategies;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.wait.WaitStrategies;
+import io.github.itning.retry.ticker.CachedTicker;
+import io.github.itning.retry.ticker.ManualTicker;
+import io.github.itning.retry.ticker.Tickers;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickerTest {
+
+    @Test
+    public void testVirtualTime() {
+        ManualTicker ticker = Tickers.manualTicker();
+        List<Long> attemptStarts = new ArrayList<>();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfException()
+                .withTicker(ticker)
+                .withBlockStrategy(BlockStrategies.virtualTimeBlockStrategy(ticker))
+                .withWaitStrategy(WaitStrategies.fixedWait(10, TimeUnit.SECONDS))
+                .withStopStrategy(StopStrategies.stopAfterDelay(30, TimeUnit.SECONDS))
+                .withRetryListener(new RetryLifecycleListener<Boolean>() {
+                    @Override
+                    public void onAttemptStart(long attemptNumber, long startNanos) {
+                        attemptStarts.add(startNanos);
+                    }
+                })
+                .build();
+
+        long start = System.nanoTime();
+        RetryException e = assertThrows(RetryException.class, () -> retryer.call(() -> {
+            ticker.advance(1, TimeUnit.MILLISECONDS);
+            throw new IOException();
+        }));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5L));
+
+        assertEquals(4, e.getNumberOfFailedAttempts());
+        Attempt<?> last = e.getLastFailedAttempt();
+        assertEquals(30_004L, last.getDelaySinceFirstAttempt());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1L), last.getAttemptDurationNanos());
+        assertEquals(TimeUnit.SECONDS.toNanos(30L), last.getCumulativeBackoffNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30_004L), ticker.read());
+        assertEquals(4, attemptStarts.size());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10_001L), attemptStarts.get(1) - attemptStarts.get(0));
+    }
+
+    @Test
+    public void testVirtualTimeBlockStrategyHonoursInterruption() {
+        ManualTicker ticker = new ManualTicker(100L);
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> BlockStrategies.virtualTimeBlockStrategy(ticker).block(1000L));
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(100L, ticker.read());
+        assertThrows(IllegalArgumentException.class, () -> ticker.advance(-1L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCachedTicker() throws Exception {
+        try (CachedTicker ticker = Tickers.cachedTicker(1, TimeUnit.MILLISECONDS)) {
+            long first = ticker.read();
+            Thread.sleep(50L);
+            long second = ticker.read();
+            assertTrue(second > first);
+            assertTrue(second <= System.nanoTime());
+        }
+        assertThrows(IllegalArgumentException.class, () -> Tickers.cachedTicker(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testTickerCanOnlyBeSetOnce() {
+        RetryerBuilder<Object> builder = RetryerBuilder.newBuilder().withTicker(Tickers.systemTicker());
+        assertThrows(IllegalStateException.class, () -> builder.withTicker(Tickers.manualTicker()));
+    }
+}
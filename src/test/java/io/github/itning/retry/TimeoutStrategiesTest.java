@@ -0,0 +1,131 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiter;
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiters;
+import io.github.itning.retry.strategy.stop.StopStrategies;
+import io.github.itning.retry.strategy.timeout.TimeoutStrategies;
+import io.github.itning.retry.strategy.timeout.TimeoutStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TimeoutStrategiesTest {
+
+    @Test
+    public void testFixedTimeout() {
+        TimeoutStrategy strategy = TimeoutStrategies.fixedTimeout(1, TimeUnit.SECONDS);
+        assertEquals(1000L, strategy.computeTimeout(context(1)));
+        assertEquals(1000L, strategy.computeTimeout(context(5)));
+    }
+
+    @Test
+    public void testIncrementingTimeout() {
+        TimeoutStrategy strategy = TimeoutStrategies.incrementingTimeout(100L, 50L, 200L, TimeUnit.MILLISECONDS);
+        assertEquals(100L, strategy.computeTimeout(context(1)));
+        assertEquals(150L, strategy.computeTimeout(context(2)));
+        assertEquals(200L, strategy.computeTimeout(context(3)));
+        assertEquals(200L, strategy.computeTimeout(context(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testExponentialTimeout() {
+        TimeoutStrategy strategy = TimeoutStrategies.exponentialTimeout(100L, 2D, 1000L, TimeUnit.MILLISECONDS);
+        assertEquals(100L, strategy.computeTimeout(context(1)));
+        assertEquals(200L, strategy.computeTimeout(context(2)));
+        assertEquals(800L, strategy.computeTimeout(context(4)));
+        assertEquals(1000L, strategy.computeTimeout(context(5)));
+        assertEquals(1000L, strategy.computeTimeout(context(500)));
+    }
+
+    @Test
+    public void testTableTimeout() {
+        TimeoutStrategy strategy = TimeoutStrategies.tableTimeout(TimeUnit.MILLISECONDS, 50L, 200L, 1000L);
+        assertEquals(50L, strategy.computeTimeout(context(1)));
+        assertEquals(200L, strategy.computeTimeout(context(2)));
+        assertEquals(1000L, strategy.computeTimeout(context(3)));
+        assertEquals(1000L, strategy.computeTimeout(context(4)));
+    }
+
+    @Test
+    public void testSubMillisecondTimeoutsAreRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TimeoutStrategies.fixedTimeout(500L, TimeUnit.MICROSECONDS));
+        assertEquals("timeout must be at least 1 millisecond but is 500 MICROSECONDS", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> TimeoutStrategies.tableTimeout(TimeUnit.NANOSECONDS, 2_000_000L, 10L));
+        assertEquals(2L, TimeoutStrategies.tableTimeout(TimeUnit.MICROSECONDS, 2_000L).computeTimeout(context(1)));
+    }
+
+    @Test
+    public void testRetryerPassesAttemptContext() throws Exception {
+        List<Long> attemptNumbers = new ArrayList<>();
+        List<Attempt<Boolean>> previousAttempts = new ArrayList<>();
+        AttemptTimeLimiter<Boolean> limiter = new AttemptTimeLimiter<Boolean>() {
+            @Override
+            public Boolean call(Callable<Boolean> callable) throws Exception {
+                throw new AssertionError("context-less call should not be used");
+            }
+
+            @Override
+            public Boolean call(Callable<Boolean> callable, AttemptContext<Boolean> context) throws Exception {
+                attemptNumbers.add(context.getAttemptNumber());
+                previousAttempts.add(context.getPreviousAttempt());
+                return callable.call();
+            }
+        };
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withAttemptTimeLimiter(limiter)
+                .retryIfResult(result -> result == null)
+                .build();
+        int[] counter = new int[1];
+        assertTrue(retryer.call(() -> ++counter[0] < 3 ? null : true));
+        assertEquals(3, attemptNumbers.size());
+        assertEquals(1L, attemptNumbers.get(0));
+        assertEquals(3L, attemptNumbers.get(2));
+        assertNull(previousAttempts.get(0));
+        assertEquals(2L, previousAttempts.get(2).getAttemptNumber());
+    }
+
+    @Test
+    public void testEscalatingTimeLimit() throws Exception {
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .withAttemptTimeLimiter(AttemptTimeLimiters.escalatingTimeLimit(
+                        TimeoutStrategies.tableTimeout(TimeUnit.MILLISECONDS, 50L, 2000L)))
+                .retryIfExceptionOfType(TimeoutException.class)
+                .withStopStrategy(StopStrategies.stopAfterAttempt(2))
+                .build();
+        int[] counter = new int[1];
+        assertTrue(retryer.call(() -> {
+            counter[0]++;
+            Thread.sleep(200L);
+            return true;
+        }));
+        assertEquals(2, counter[0]);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    private static AttemptContext<Object> context(long attemptNumber) {
+        return new AttemptContext<Object>() {
+            @Override
+            public long getAttemptNumber() {
+                return attemptNumber;
+            }
+
+            @Override
+            public long getDelaySinceFirstAttempt() {
+                return 0L;
+            }
+
+            @Override
+            public Attempt<Object> getPreviousAttempt() {
+                return null;
+            }
+        };
+    }
+}
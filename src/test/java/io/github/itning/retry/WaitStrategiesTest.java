@@ -170,6 +170,40 @@ public class WaitStrategiesTest {
         assertEquals(29L, retryAfterWait.computeSleepTime(failedRetryAfterAttempt(42, 7227)));
     }
 
+    @Test
+    public void testFullJitter() {
+        WaitStrategy fullJitter = WaitStrategies.fullJitter(WaitStrategies.fixedWait(1000L, TimeUnit.MILLISECONDS));
+        Set<Long> times = Sets.newHashSet();
+        for (int i = 0; i < 100; i++) {
+            long time = fullJitter.computeSleepTime(failedAttempt(1, 6546L));
+            assertTrue(time >= 0L && time <= 1000L);
+            times.add(time);
+        }
+        assertTrue(times.size() > 1);
+        assertEquals(1000L, fullJitter.computeMaximumSleepTime(failedAttempt(1, 6546L)));
+    }
+
+    @Test
+    public void testEqualJitter() {
+        WaitStrategy equalJitter = WaitStrategies.equalJitter(WaitStrategies.fixedWait(1000L, TimeUnit.MILLISECONDS));
+        Set<Long> times = Sets.newHashSet();
+        for (int i = 0; i < 100; i++) {
+            long time = equalJitter.computeSleepTime(failedAttempt(1, 6546L));
+            assertTrue(time >= 500L && time <= 1000L);
+            times.add(time);
+        }
+        assertTrue(times.size() > 1);
+    }
+
+    @Test
+    public void testJitterOfTheLongestSleepTime() {
+        WaitStrategy longest = WaitStrategies.fixedWait(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(WaitStrategies.fullJitter(longest).computeSleepTime(failedAttempt(1, 6546L)) >= 0L);
+            assertTrue(WaitStrategies.equalJitter(longest).computeSleepTime(failedAttempt(1, 6546L)) >= Long.MAX_VALUE / 2L);
+        }
+    }
+
     public Attempt<Boolean> failedAttempt(long attemptNumber, long delaySinceFirstAttempt) {
         return new Retryer.ExceptionAttempt<Boolean>(new RuntimeException(), attemptNumber, delaySinceFirstAttempt);
     }
@@ -0,0 +1,108 @@
+package io.github.itning.retry;
+
+import io.github.itning.retry.strategy.wakeup.SlottedWakeUpCoordinator;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinator;
+import io.github.itning.retry.strategy.wakeup.WakeUpCoordinators;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class WakeUpCoordinatorTest {
+
+    @Test
+    public void testNoCoordination() {
+        assertEquals(500L, WakeUpCoordinators.noCoordination().coordinate(500L));
+    }
+
+    @Test
+    public void testSlottedNeverShortensSleepTime() {
+        WakeUpCoordinator coordinator = WakeUpCoordinators.slotted(10L, 1000, 1L, TimeUnit.SECONDS);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(coordinator.coordinate(250L) >= 250L);
+        }
+    }
+
+    @Test
+    public void testSlottedCapsRetriesPerSlot() {
+        WakeUpCoordinator coordinator = WakeUpCoordinators.slotted(1L, 2, 20L, TimeUnit.SECONDS);
+        long start = System.nanoTime();
+        Map<Long, Integer> perSlot = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long wakeUp = elapsed + coordinator.coordinate(0L);
+            perSlot.merge(wakeUp / 1000L, 1, Integer::sum);
+        }
+        assertTrue(perSlot.size() >= 10, "wake-ups should spread over at least 10 slots but were " + perSlot);
+        for (int count : perSlot.values()) {
+            assertTrue(count <= 3, "too many wake-ups in one slot " + perSlot);
+        }
+    }
+
+    @Test
+    public void testSlottedSpreadsOverflowOverTheWindow() {
+        WakeUpCoordinator coordinator = WakeUpCoordinators.slotted(100L, 1, 1000L, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 10; i++) {
+            coordinator.coordinate(1000L);
+        }
+        Set<Long> overflow = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long sleepTime = coordinator.coordinate(1000L);
+            assertTrue(sleepTime >= 1000L && sleepTime <= 2200L, "overflow must stay within the window but slept " + sleepTime);
+            overflow.add(sleepTime);
+        }
+        assertTrue(overflow.size() > 50, "overflow must not wake up at once but woke up at " + overflow);
+    }
+
+    @Test
+    public void testSlottedRejectsHugeWindows() {
+        assertThrows(IllegalArgumentException.class, () -> WakeUpCoordinators.slotted(1L, 1, TimeUnit.DAYS.toMillis(1L), TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new SlottedWakeUpCoordinator(1L, 1, 1 << 28));
+    }
+
+    @Test
+    public void testSlottedLeavesSleepsBeyondTheRingUnchanged() {
+        WakeUpCoordinator coordinator = WakeUpCoordinators.slotted(100L, 1, 200L, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1_000_000L, coordinator.coordinate(1_000_000L));
+        }
+        assertEquals(Long.MAX_VALUE, coordinator.coordinate(Long.MAX_VALUE));
+        coordinator.coordinate(102_400L);
+        assertTrue(coordinator.coordinate(0L) <= 100L, "a far wake-up must not defer a near one");
+    }
+
+    @Test
+    public void testRetryerUsesCoordinator() throws Exception {
+        AtomicInteger coordinated = new AtomicInteger();
+        AtomicInteger blocked = new AtomicInteger();
+        Retryer<Boolean> retryer = RetryerBuilder.<Boolean>newBuilder()
+                .retryIfResult(result -> result == null)
+                .withWakeUpCoordinator(sleepTime -> {
+                    coordinated.incrementAndGet();
+                    return sleepTime + 7L;
+                })
+                .withBlockStrategy(sleepTime -> {
+                    assertEquals(7L, sleepTime);
+                    blocked.incrementAndGet();
+                })
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        assertTrue(retryer.call(() -> calls.incrementAndGet() < 3 ? null : true));
+        assertEquals(2, coordinated.get());
+        assertEquals(2, blocked.get());
+    }
+
+    @Test
+    public void testBuilderFailsForSecondCoordinator() {
+        assertThrows(IllegalStateException.class, () -> RetryerBuilder.<Void>newBuilder()
+                .withWakeUpCoordinator(WakeUpCoordinators.noCoordination())
+                .withWakeUpCoordinator(WakeUpCoordinators.noCoordination()));
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.itning.retry.benchmark;
+
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiter;
+import io.github.itning.retry.strategy.limit.AttemptTimeLimiters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-attempt overhead of the time limiters when no attempt times out.
+ * <p></p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.itning.retry.benchmark.AttemptTimeLimiterBenchmark}
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AttemptTimeLimiterBenchmark {
+
+    private final Callable<Long> callable = System::nanoTime;
+
+    private ExecutorService executorService;
+    private AttemptTimeLimiter<Long> noTimeLimit;
+    private AttemptTimeLimiter<Long> fixedTimeLimit;
+    private AttemptTimeLimiter<Long> sameThreadTimeLimit;
+
+    @Setup
+    public void setUp() {
+        executorService = Executors.newCachedThreadPool();
+        noTimeLimit = AttemptTimeLimiters.noTimeLimit();
+        fixedTimeLimit = AttemptTimeLimiters.fixedTimeLimit(1, TimeUnit.SECONDS, executorService);
+        sameThreadTimeLimit = AttemptTimeLimiters.sameThreadTimeLimit(1, TimeUnit.SECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public Long noTimeLimit() throws Exception {
+        return noTimeLimit.call(callable);
+    }
+
+    @Benchmark
+    public Long fixedTimeLimit() throws Exception {
+        return fixedTimeLimit.call(callable);
+    }
+
+    @Benchmark
+    public Long sameThreadTimeLimit() throws Exception {
+        return sameThreadTimeLimit.call(callable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AttemptTimeLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.itning.retry.benchmark;
+
+import io.github.itning.retry.fault.FailureModels;
+import io.github.itning.retry.fault.FaultInjector;
+import io.github.itning.retry.fault.LatencyModels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the fault injection on invocations which are neither delayed nor
+ * failed, compared to calling the callable directly.
+ * <p></p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.itning.retry.benchmark.FaultInjectorBenchmark}
+ *
+ * @author itning
+ * @since 3.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FaultInjectorBenchmark {
+
+    private final Callable<Long> callable = System::nanoTime;
+
+    private final Callable<Long> noFaults = FaultInjector.newBuilder()
+            .build()
+            .wrap(callable);
+
+    private final Callable<Long> unlikelyFaults = FaultInjector.newBuilder()
+            .withFailureModel(FailureModels.bernoulli(0.000001))
+            .withLatencyModel(LatencyModels.spiking(0, 1, 0.000001, TimeUnit.MILLISECONDS))
+            .build()
+            .wrap(callable);
+
+    @Benchmark
+    public Long direct() throws Exception {
+        return callable.call();
+    }
+
+    @Benchmark
+    public Long noFaults() throws Exception {
+        return noFaults.call();
+    }
+
+    @Benchmark
+    public Long unlikelyFaults() throws Exception {
+        return unlikelyFaults.call();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FaultInjectorBenchmark.class.getSimpleName()).build()).run();
+    }
+}